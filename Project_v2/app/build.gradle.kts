@@ -30,6 +30,8 @@ android {
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
+        // java.time is used by DateCodec in :core and is only built in from API 26
+        isCoreLibraryDesugaringEnabled = true
     }
     buildFeatures {
         viewBinding = true
@@ -38,6 +40,8 @@ android {
 
 dependencies {
 
+    implementation(project(":core"))
+    coreLibraryDesugaring(libs.desugar.jdk.libs)
     implementation(libs.circleimageview)
     implementation (libs.cardview)
     implementation("com.google.firebase:firebase-storage:20.2.1")
@@ -14,6 +14,8 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.google.android.gms.tasks.Task;
 
 import org.junit.After;
@@ -45,24 +47,37 @@ public class EntrantListActivityTest {
         mockFirestore = mock(FirebaseFirestore.class);
         CollectionReference mockEventCollection = mock(CollectionReference.class);
         DocumentReference mockEventDocument = mock(DocumentReference.class);
-        Task<DocumentSnapshot> mockTask = mock(Task.class);
-        DocumentSnapshot mockSnapshot = mock(DocumentSnapshot.class);
+        CollectionReference mockEntrants = mock(CollectionReference.class);
+        Query mockWaitingQuery = mock(Query.class);
+        Query mockEmptyQuery = mock(Query.class);
+        Task<QuerySnapshot> mockWaitingTask = mock(Task.class);
+        Task<QuerySnapshot> mockEmptyTask = mock(Task.class);
+        QuerySnapshot mockWaitingSnapshot = mock(QuerySnapshot.class);
+        QuerySnapshot mockEmptySnapshot = mock(QuerySnapshot.class);
+        DocumentSnapshot user1 = mock(DocumentSnapshot.class);
+        DocumentSnapshot user2 = mock(DocumentSnapshot.class);
 
         // Set up mock Firestore behavior
         when(mockFirestore.collection("events")).thenReturn(mockEventCollection);
         when(mockEventCollection.document("3549864")).thenReturn(mockEventDocument);
-        when(mockEventDocument.get()).thenReturn(mockTask);
-
-        // Mock task result
-        when(mockTask.isSuccessful()).thenReturn(true);
-        when(mockTask.getResult()).thenReturn(mockSnapshot);
-
-        // Mock snapshot data
-        when(mockSnapshot.exists()).thenReturn(true);
-        when(mockSnapshot.get("entrantList.Waiting")).thenReturn(Arrays.asList("user1", "user2"));
-        when(mockSnapshot.get("entrantList.Selected")).thenReturn(Collections.emptyList());
-        when(mockSnapshot.get("entrantList.Cancelled")).thenReturn(Collections.emptyList());
-        when(mockSnapshot.get("entrantList.Attendee")).thenReturn(Collections.emptyList());
+        when(mockEventDocument.collection("entrants")).thenReturn(mockEntrants);
+        when(mockEntrants.whereEqualTo(eq("status"), any())).thenReturn(mockEmptyQuery);
+        when(mockEntrants.whereEqualTo("status", "Waiting")).thenReturn(mockWaitingQuery);
+        when(mockWaitingQuery.get()).thenReturn(mockWaitingTask);
+        when(mockEmptyQuery.get()).thenReturn(mockEmptyTask);
+
+        // Mock task results
+        when(mockWaitingTask.isSuccessful()).thenReturn(true);
+        when(mockWaitingTask.getResult()).thenReturn(mockWaitingSnapshot);
+        when(mockEmptyTask.isSuccessful()).thenReturn(true);
+        when(mockEmptyTask.getResult()).thenReturn(mockEmptySnapshot);
+
+        // Mock entrant documents: two waiting users and no entrants with any other status
+        when(user1.getId()).thenReturn("user1");
+        when(user2.getId()).thenReturn("user2");
+        when(mockWaitingSnapshot.getDocuments()).thenReturn(Arrays.asList(user1, user2));
+        when(mockWaitingSnapshot.size()).thenReturn(2);
+        when(mockEmptySnapshot.getDocuments()).thenReturn(Collections.emptyList());
     }
 
     @After
@@ -8,32 +8,35 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
 import com.example.projectv2.View.AdminEventOverlayDialog;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Adapter class for displaying a list of events in a RecyclerView for administrative purposes.
  * Each event is represented as an item in the RecyclerView.
  */
-public class AdminEventsAdapter extends RecyclerView.Adapter<AdminEventsAdapter.ViewHolder> {
+public class AdminEventsAdapter extends ListAdapter<Event, AdminEventsAdapter.ViewHolder> {
 
     private final Context context;
-    private final List<Event> eventList;
+    /** The most recently submitted list, which may still be waiting on its diff. */
+    private List<Event> submittedList = new ArrayList<>();
 
     /**
-     * Constructor for initializing the AdminEventsAdapter with the context and event list.
+     * Constructor for initializing the AdminEventsAdapter with the context. Events are
+     * supplied later through {@link #updateEventList(List)} and {@link #appendEvents(List)}.
      *
-     * @param context   the context in which the RecyclerView is being used
-     * @param eventList the list of events to display
+     * @param context the context in which the RecyclerView is being used
      */
-    public AdminEventsAdapter(Context context, List<Event> eventList) {
+    public AdminEventsAdapter(Context context) {
+        super(new EventDiffCallback());
         this.context = context;
-        this.eventList = eventList;
     }
 
     /**
@@ -59,7 +62,7 @@ public class AdminEventsAdapter extends RecyclerView.Adapter<AdminEventsAdapter.
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Event event = eventList.get(position);
+        Event event = getItem(position);
 
         // Populate the views with event data
         holder.eventName.setText(event.getName());
@@ -76,16 +79,6 @@ public class AdminEventsAdapter extends RecyclerView.Adapter<AdminEventsAdapter.
         });
     }
 
-    /**
-     * Returns the total number of events in the data list.
-     *
-     * @return the size of the event list
-     */
-    @Override
-    public int getItemCount() {
-        return eventList.size();
-    }
-
     /**
      * ViewHolder class that holds the views for displaying an event's details in the RecyclerView.
      */
@@ -107,13 +100,26 @@ public class AdminEventsAdapter extends RecyclerView.Adapter<AdminEventsAdapter.
     }
 
     /**
-     * Updates the event list in the adapter and refreshes the RecyclerView.
+     * Replaces the event list in the adapter. Only the rows that changed are rebound once
+     * the background diff completes.
      *
      * @param newEvents the new list of events to display
      */
     public void updateEventList(List<Event> newEvents) {
-        this.eventList.clear();
-        this.eventList.addAll(newEvents);
-        notifyDataSetChanged();
+        submittedList = new ArrayList<>(newEvents);
+        submitList(submittedList);
+    }
+
+    /**
+     * Appends a page of events to the end of the list. The page is added to the last
+     * submitted list, so it is not lost if an earlier diff has not finished yet.
+     *
+     * @param newEvents the events to append
+     */
+    public void appendEvents(List<Event> newEvents) {
+        List<Event> combined = new ArrayList<>(submittedList);
+        combined.addAll(newEvents);
+        submittedList = combined;
+        submitList(combined);
     }
 }
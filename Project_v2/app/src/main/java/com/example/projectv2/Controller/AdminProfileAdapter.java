@@ -6,20 +6,36 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.projectv2.Model.User;
 import com.example.projectv2.R;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter class for displaying a list of user profiles in a RecyclerView for administrative purposes.
  * Each user is represented as an item in the RecyclerView.
  */
-public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapter.ViewHolder> {
+public class AdminProfileAdapter extends ListAdapter<User, AdminProfileAdapter.ViewHolder> {
+
+    /** Matches users by device ID and rebinds a row only when the shown name changes. */
+    private static final DiffUtil.ItemCallback<User> DIFF_CALLBACK = new DiffUtil.ItemCallback<User>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+            return Objects.equals(oldItem.getDeviceID(), newItem.getDeviceID());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName());
+        }
+    };
 
-    private final List<User> userList;
     private final OnItemClickListener onItemClickListener;
 
     /**
@@ -35,13 +51,13 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
     }
 
     /**
-     * Constructor for initializing the AdminProfileAdapter with a list of users and a click listener.
+     * Constructor for initializing the AdminProfileAdapter with a click listener. Users are
+     * supplied later through {@link #updateUserList(List)}.
      *
-     * @param userList          the list of users to display
      * @param onItemClickListener a callback to handle click events on user items
      */
-    public AdminProfileAdapter(List<User> userList, OnItemClickListener onItemClickListener) {
-        this.userList = userList;
+    public AdminProfileAdapter(OnItemClickListener onItemClickListener) {
+        super(DIFF_CALLBACK);
         this.onItemClickListener = onItemClickListener;
     }
 
@@ -68,7 +84,7 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        User user = userList.get(position);
+        User user = getItem(position);
         holder.adminProfileName.setText(user.getName());
 
         // Set the click listener for user items
@@ -80,13 +96,13 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
     }
 
     /**
-     * Returns the total number of users in the data list.
+     * Replaces the user list in the adapter. Only the rows that changed are rebound once
+     * the background diff completes.
      *
-     * @return the size of the user list
+     * @param newUsers the new list of users to display
      */
-    @Override
-    public int getItemCount() {
-        return userList.size();
+    public void updateUserList(List<User> newUsers) {
+        submitList(new ArrayList<>(newUsers));
     }
 
     /**
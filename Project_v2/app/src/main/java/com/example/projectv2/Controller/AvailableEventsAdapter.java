@@ -5,7 +5,6 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.provider.Settings;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,37 +12,38 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.fragment.app.FragmentActivity;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
 import com.example.projectv2.View.EventLandingPageOrganizerActivity;
 import com.example.projectv2.View.EventLandingPageUserActivity;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Adapter class for displaying a list of available events in a RecyclerView on the home screen.
  * Handles loading event data, including images, and navigating to the appropriate event detail page based on the user's role.
  */
-public class AvailableEventsAdapter extends RecyclerView.Adapter<AvailableEventsAdapter.ViewHolder> {
+public class AvailableEventsAdapter extends ListAdapter<Event, AvailableEventsAdapter.ViewHolder> {
 
     private static final String TAG = "AvailableEventsAdapter";
-    private final List<Event> eventList;
     private final Context context;
     private final String userRole;
+    /** The most recently submitted list, which may still be waiting on its diff. */
+    private List<Event> submittedList = new ArrayList<>();
 
     /**
-     * Constructor for initializing the AvailableEventsAdapter with the context and list of events.
+     * Constructor for initializing the AvailableEventsAdapter with the context. Events are
+     * supplied later through {@link #updateEventList(List)} and {@link #appendEvents(List)}.
      *
-     * @param context   the context in which the RecyclerView is being used
-     * @param eventList the list of events to display
+     * @param context the context in which the RecyclerView is being used
      */
-    public AvailableEventsAdapter(Context context, List<Event> eventList) {
+    public AvailableEventsAdapter(Context context) {
+        super(new EventDiffCallback());
         this.context = context;
-        this.eventList = eventList;
 
         SharedPreferences preferences = context.getSharedPreferences("userPrefs", Context.MODE_PRIVATE);
         this.userRole = preferences.getString("userRole", "user"); // Default to "user" if role not found
@@ -73,39 +73,16 @@ public class AvailableEventsAdapter extends RecyclerView.Adapter<AvailableEvents
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Event event = eventList.get(position);
+        Event event = getItem(position);
 
         holder.eventName.setText(event.getName());
         holder.eventDate.setText(event.getDeadline());
-        holder.eventPrice.setText(event.getTicketPrice() != null && !event.getTicketPrice().equals("0") ? "$" + event.getTicketPrice() : "Free");
+        holder.eventPrice.setText(event.getDisplayPrice());
         holder.eventDescription.setText(event.getDetail());
 
-        // Fetch and display the event image
-        ImageController imageController = new ImageController();
-        imageController.retrieveImage(event.getName(), new ImageController.ImageRetrieveCallback() {
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                if (context instanceof FragmentActivity) {
-                    FragmentActivity activity = (FragmentActivity) context;
-                    if (!activity.isDestroyed() && !activity.isFinishing()) {
-                        Glide.with(context)
-                                .load(downloadUrl)
-                                .placeholder(R.drawable.placeholder_event) // Placeholder while loading
-                                .error(R.drawable.placeholder_event) // Placeholder if loading fails
-                                .centerCrop()
-                                .into(holder.backgroundImage); // Set the image in the ImageView
-                    } else {
-                        Log.w(TAG, "Activity is destroyed or finishing. Skipping image load.");
-                    }
-                }
-            }
-
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                Log.e(TAG, "Failed to retrieve image for event: " + event.getName(), e);
-                holder.backgroundImage.setImageResource(R.drawable.placeholder_event); // Fallback to placeholder
-            }
-        });
+        // The poster URL is stored on the event or cached, so binding makes no Storage call
+        PosterCache.getInstance(context).load(holder.backgroundImage,
+                event.getEventID(), event.getName(), event.getPosterUrl(), event.getPosterVersion());
 
         // Set up the click listener for navigation based on user role
         holder.itemView.setOnClickListener(v -> {
@@ -117,6 +94,7 @@ public class AvailableEventsAdapter extends RecyclerView.Adapter<AvailableEvents
             intent.putExtra("details", event.getDetail());
             intent.putExtra("rules", event.getRules());
             intent.putExtra("deadline", event.getDeadline());
+            intent.putExtra("deadlineAt", event.getDeadlineAt());
             intent.putExtra("startDate", event.getStartDate());
             intent.putExtra("price", event.getTicketPrice());
             intent.putExtra("eventID", event.getEventID());
@@ -124,29 +102,34 @@ public class AvailableEventsAdapter extends RecyclerView.Adapter<AvailableEvents
             String deviceID = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
             intent.putExtra("user", deviceID);
             intent.putExtra("owner", event.getOwner());
+            intent.putExtra("posterUrl", event.getPosterUrl());
+            intent.putExtra("posterVersion", event.getPosterVersion());
             context.startActivity(intent);
         });
     }
 
     /**
-     * Returns the total number of events in the data list.
+     * Replaces the event list in the adapter. Only the rows that changed are rebound once
+     * the background diff completes.
      *
-     * @return the size of the event list
+     * @param newEvents the new list of events to display
      */
-    @Override
-    public int getItemCount() {
-        return eventList.size();
+    public void updateEventList(List<Event> newEvents) {
+        submittedList = new ArrayList<>(newEvents);
+        submitList(submittedList);
     }
 
     /**
-     * Updates the event list in the adapter and refreshes the RecyclerView.
+     * Appends a page of events to the end of the list. The page is added to the last
+     * submitted list, so it is not lost if an earlier diff has not finished yet.
      *
-     * @param newEvents the new list of events to display
+     * @param newEvents the events to append
      */
-    public void updateEventList(List<Event> newEvents) {
-        this.eventList.clear();
-        this.eventList.addAll(newEvents);
-        notifyDataSetChanged();
+    public void appendEvents(List<Event> newEvents) {
+        List<Event> combined = new ArrayList<>(submittedList);
+        combined.addAll(newEvents);
+        submittedList = combined;
+        submitList(combined);
     }
 
     /**
@@ -1,26 +1,56 @@
 package com.example.projectv2.Controller;
 
+import android.annotation.SuppressLint;
 import android.content.Context;
+import android.provider.Settings;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Transaction;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DeadlineWorker is a background worker responsible for checking event deadlines
  * and moving users from the "Selected" entrant list to the "Cancelled" entrant list
  * in Firebase Firestore if the deadline has passed.
+ *
+ * <p>Only events whose {@code deadlineAt} timestamp has passed and whose {@code sweepDone}
+ * flag is still false are read, and each event is marked as swept once its selected
+ * entrants are cancelled, so a run only reads the events that expired since the last run.
+ * The query needs a composite index on {@code sweepDone} and {@code deadlineAt}.</p>
+ *
+ * <p>Every installed client schedules this worker, but only one of them sweeps at a time.
+ * A run first claims the {@link JobLease} {@code jobs/deadlineSweep}, and exits without
+ * reading any events while another device holds an unexpired lease. The lease and the
+ * deadline cutoff both use server time, so a device with a wrong clock neither sweeps
+ * events early nor takes over a live lease. Every write runs in a transaction that checks
+ * the lease first, so a device that has lost the lease stops at its next write. The
+ * holder stops before its lease runs out and leaves the remaining events to the next
+ * run. A failed run is retried by WorkManager with exponential backoff.</p>
  */
 public class DeadlineWorker extends Worker {
+    private static final String TAG = "DeadlineWorker";
+    private static final int PAGE_SIZE = 200;
+    /** The most writes Firestore accepts in a single transaction. */
+    private static final int MAX_BATCH_WRITES = 500;
+    /** How long a claimed lease keeps other devices from sweeping. */
+    private static final long LEASE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    /** Sweeping stops once less than this much of the lease is left. */
+    private static final long LEASE_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(2);
     private final FirebaseFirestore db;
+    private final EntrantRepository entrantRepository;
 
     /**
      * Constructor for DeadlineWorker.
@@ -31,76 +61,156 @@ public class DeadlineWorker extends Worker {
     public DeadlineWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
         db = FirebaseFirestore.getInstance();
+        entrantRepository = new EntrantRepository();
     }
 
     /**
-     * Performs the background task of checking event deadlines and updating the entrant lists.
+     * Sweeps every event whose deadline has passed and has not been swept yet.
      *
-     * @return The result of the worker's operation, which is always {@link Result#success()}.
+     * @return {@link Result#success()} once every expired event has been swept, or
+     * {@link Result#retry()} if a read or write failed.
      */
     @NonNull
     @Override
     public Result doWork() {
-        db.collection("events").get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            String deadline = document.getString("deadline");
-                            if (isDeadlinePassed(deadline)) {
-                                List<String> selectedList = (List<String>) document.get("entrantList.Selected");
-                                if (selectedList != null && !selectedList.isEmpty()) {
-                                    String eventId = document.getId();
-                                    moveUsersToCancelled(eventId, selectedList);
-                                }
-                            }
-                        }
-                    }
-                });
+        @SuppressLint("HardwareIds") String owner = Settings.Secure.getString(getApplicationContext().getContentResolver(),
+                Settings.Secure.ANDROID_ID);
+        JobLease lease = new JobLease(db, "deadlineSweep", owner, LEASE_MILLIS);
+        try {
+            if (!lease.claim()) {
+                Log.d(TAG, "Deadline sweep is leased to another device");
+                return Result.success();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Could not claim the deadline sweep lease", e);
+            return Result.retry();
+        }
 
-        return Result.success();
+        Query query = db.collection("events")
+                .whereEqualTo("sweepDone", false)
+                .whereLessThan("deadlineAt", lease.now())
+                .orderBy("deadlineAt")
+                .limit(PAGE_SIZE);
+        DocumentSnapshot last = null;
+        try {
+            while (true) {
+                Query page = last == null ? query : query.startAfter(last);
+                List<DocumentSnapshot> documents = Tasks.await(page.get()).getDocuments();
+                if (!sweepPage(documents, lease) || documents.size() < PAGE_SIZE) {
+                    return Result.success();
+                }
+                last = documents.get(documents.size() - 1);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Deadline sweep failed", e);
+            return Result.retry();
+        }
     }
 
     /**
-     * Checks if a given deadline has already passed.
+     * Moves the selected entrants of a page of expired events to the "Cancelled" list and
+     * marks the events as swept.
      *
-     * @param deadline The deadline date as a string in the format "dd-MM-yyyy".
-     * @return {@code true} if the deadline has passed; {@code false} otherwise.
+     * <p>Each event's move and its {@code sweepDone} flag are written in the same
+     * transaction, so an entrant is never left in both lists and an event is only marked
+     * once its move has committed. The selected entrants are found with a query and read
+     * again inside the transaction, and only those still selected are moved, so an entrant
+     * who accepts in the meantime is not cancelled and the counts stay right. Events share
+     * transactions up to the write limit, so a page of events with few selected entrants
+     * takes one or two commits. An event with too many selected entrants for one
+     * transaction is moved in several, and marked in the last. Events that have no counter
+     * shards yet are left for a run after they have been migrated.</p>
+     *
+     * @param events The expired events.
+     * @param lease  The sweep lease held by this device.
+     * @return Whether the whole page was swept, or false if the lease is running out.
+     * @throws Exception If a read or write fails, or the lease has been lost.
      */
-    private boolean isDeadlinePassed(String deadline) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy");
-            Date deadlineDate = sdf.parse(deadline);
-            Date currentDate = sdf.parse(sdf.format(new Date()));
+    private boolean sweepPage(List<DocumentSnapshot> events, JobLease lease) throws Exception {
+        List<Task<QuerySnapshot>> lookups = new ArrayList<>();
+        for (DocumentSnapshot event : events) {
+            lookups.add(event.getReference().collection("entrants")
+                    .whereEqualTo("status", EntrantRepository.SELECTED)
+                    .get());
+        }
+        Tasks.await(Tasks.whenAll(lookups));
 
-            return deadlineDate != null && currentDate.after(deadlineDate);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+        List<List<Sweep>> commits = new ArrayList<>();
+        List<Sweep> commit = new ArrayList<>();
+        int writes = 0;
+        for (int i = 0; i < events.size(); i++) {
+            DocumentSnapshot event = events.get(i);
+            Long version = event.getLong("schemaVersion");
+            if (version == null || version < EntrantRepository.COUNTERS_VERSION) {
+                Log.d(TAG, "Leaving event " + event.getId() + " until it is migrated");
+                continue;
+            }
+            List<DocumentSnapshot> selected = lookups.get(i).getResult().getDocuments();
+            int from = 0;
+            do {
+                int to = Math.min(from + EntrantRepository.ENTRANTS_PER_BATCH, selected.size());
+                Sweep sweep = new Sweep(event, selected.subList(from, to), to == selected.size());
+                int needed = EntrantRepository.writesFor(to - from) + (sweep.done ? 1 : 0);
+                if (writes + needed > MAX_BATCH_WRITES) {
+                    commits.add(commit);
+                    commit = new ArrayList<>();
+                    writes = 0;
+                }
+                commit.add(sweep);
+                writes += needed;
+                from = to;
+            } while (from < selected.size());
+        }
+        if (!commit.isEmpty()) {
+            commits.add(commit);
         }
+
+        for (List<Sweep> sweeps : commits) {
+            if (lease.remainingMillis() < LEASE_MARGIN_MILLIS) {
+                return false;
+            }
+            Tasks.await(db.runTransaction((Transaction.Function<Void>) transaction -> {
+                lease.check(transaction);
+                // Re-read the entrants, as any who accepted or left since the query keep their status
+                List<List<DocumentSnapshot>> stillSelected = new ArrayList<>();
+                for (Sweep sweep : sweeps) {
+                    List<DocumentSnapshot> current = new ArrayList<>(sweep.selected.size());
+                    for (DocumentSnapshot entrant : sweep.selected) {
+                        DocumentSnapshot fresh = transaction.get(entrant.getReference());
+                        if (EntrantRepository.SELECTED.equals(fresh.getString("status"))) {
+                            current.add(fresh);
+                        }
+                    }
+                    stillSelected.add(current);
+                }
+                for (int i = 0; i < sweeps.size(); i++) {
+                    Sweep sweep = sweeps.get(i);
+                    entrantRepository.stageStatuses(transaction, sweep.event.getId(), stillSelected.get(i),
+                            EntrantRepository.CANCELLED);
+                    if (sweep.done) {
+                        transaction.update(sweep.event.getReference(), "sweepDone", true);
+                    }
+                }
+                return null;
+            }));
+        }
+        Log.d(TAG, "Swept " + events.size() + " events in " + commits.size() + " commits");
+        return true;
     }
 
     /**
-     * Moves users from the "Selected" entrant list to the "Cancelled" entrant list
-     * for a specific event in Firestore.
-     *
-     * @param eventId      The ID of the event document in Firestore.
-     * @param selectedList The list of users to be moved.
+     * The part of an event's sweep written in one transaction.
      */
-    private void moveUsersToCancelled(String eventId, List<String> selectedList) {
-        db.collection("events").document(eventId)
-                .update("entrantList.Cancelled", FieldValue.arrayUnion(selectedList.toArray()))
-                .addOnSuccessListener(aVoid -> {
-                    db.collection("events").document(eventId)
-                            .update("entrantList.Selected", FieldValue.arrayRemove(selectedList.toArray()))
-                            .addOnSuccessListener(innerVoid -> {
-                                // Successfully moved users to the Cancelled list
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e("DeadlineWorker", "Failed to remove users from Selected list: ", e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("DeadlineWorker", "Failed to add users to Cancelled list: ", e);
-                });
+    private static class Sweep {
+        final DocumentSnapshot event;
+        final List<DocumentSnapshot> selected;
+        /** Whether this is the last part, which marks the event as swept. */
+        final boolean done;
+
+        Sweep(DocumentSnapshot event, List<DocumentSnapshot> selected, boolean done) {
+            this.event = event;
+            this.selected = selected;
+            this.done = done;
+        }
     }
 }
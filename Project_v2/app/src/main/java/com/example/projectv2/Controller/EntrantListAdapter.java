@@ -6,7 +6,6 @@
  */
 package com.example.projectv2.Controller;
 
-import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Context;
 import android.util.Log;
@@ -17,38 +16,52 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.projectv2.Model.Entrant;
 import com.example.projectv2.R;
 import com.example.projectv2.Utils.DBUtils;
 import com.example.projectv2.View.SendNotificationOverlay;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * EntrantListAdapter manages the display of a list of entrants in a RecyclerView.
  * Each item in the list includes an entrant name or ID with buttons to send a notification
  * or cancel the entrant's participation.
  */
-public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.EntrantViewHolder> {
+public class EntrantListAdapter extends ListAdapter<Entrant, EntrantListAdapter.EntrantViewHolder> {
+
+    /** Matches entrants by user ID and rebinds a row only when the shown name changes. */
+    private static final DiffUtil.ItemCallback<Entrant> DIFF_CALLBACK = new DiffUtil.ItemCallback<Entrant>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Entrant oldItem, @NonNull Entrant newItem) {
+            return Objects.equals(oldItem.getUserId(), newItem.getUserId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Entrant oldItem, @NonNull Entrant newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
 
     private final Context context;
-    private final List<String> entrantList;
-    private final List<String> documentIds;
-    private int currentlyVisiblePosition = RecyclerView.NO_POSITION;
+    /** The user ID of the entrant whose buttons are showing, kept by ID so it survives list updates. */
+    private String selectedUserId;
 
     /**
-     * Constructs an EntrantListAdapter with the specified context and entrant list.
+     * Constructs an EntrantListAdapter with the specified context. Entrants are supplied
+     * later through {@link #updateEntrantList(List)}.
      *
-     * @param context     the context in which the adapter is operating
-     * @param entrantList the list of entrant names or IDs to display
-     * @param documentIds the list of document IDs associated with each entrant
+     * @param context the context in which the adapter is operating
      */
-    public EntrantListAdapter(Context context, List<String> entrantList, List<String> documentIds) {
+    public EntrantListAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.entrantList = entrantList;
-        this.documentIds = documentIds;
     }
 
     /**
@@ -72,13 +85,14 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
      * @param position the position of the item within the adapter's data set
      */
     @Override
-    public void onBindViewHolder(@NonNull EntrantViewHolder holder, @SuppressLint("RecyclerView") int position) {
-        String entrant = entrantList.get(position);
-        String documentId = documentIds.get(position); // Get the document ID for this entrant
+    public void onBindViewHolder(@NonNull EntrantViewHolder holder, int position) {
+        Entrant item = getItem(position);
+        String entrant = item.getName();
+        String documentId = item.getUserId(); // Get the document ID for this entrant
         holder.entrantNameTextView.setText(entrant);
 
-        // Show or hide buttons based on the currently selected position
-        if (position == currentlyVisiblePosition) {
+        // Show or hide buttons based on the currently selected entrant
+        if (documentId.equals(selectedUserId)) {
             holder.sendNotificationButton.setVisibility(View.VISIBLE);
             holder.cancelEntrantButton.setVisibility(View.VISIBLE);
         } else {
@@ -88,12 +102,14 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
 
         // Handle item click to show buttons for the selected item
         holder.itemView.setOnClickListener(v -> {
-            int previousPosition = currentlyVisiblePosition;
-            currentlyVisiblePosition = position;
+            int previousPosition = positionOf(selectedUserId);
+            selectedUserId = documentId;
 
             // Notify the adapter about the changes to update the visibility of the buttons
-            notifyItemChanged(previousPosition);
-            notifyItemChanged(currentlyVisiblePosition);
+            if (previousPosition != RecyclerView.NO_POSITION) {
+                notifyItemChanged(previousPosition);
+            }
+            notifyItemChanged(holder.getBindingAdapterPosition());
 
             Log.d("EntrantListAdapter", "Item clicked: " + entrant + ", Document ID: " + documentId);
         });
@@ -133,22 +149,12 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
         });
     }
 
-    /**
-     * Returns the total number of entrants in the list.
-     *
-     * @return the total number of entrants
-     */
-    @Override
-    public int getItemCount() {
-        return entrantList.size();
-    }
-
     /**
      * Clears the currently selected item and updates the RecyclerView to hide any visible buttons.
      */
     public void clearSelection() {
-        int previousPosition = currentlyVisiblePosition;
-        currentlyVisiblePosition = RecyclerView.NO_POSITION;
+        int previousPosition = positionOf(selectedUserId);
+        selectedUserId = null;
 
         // Notify the adapter to update the visibility of buttons
         if (previousPosition != RecyclerView.NO_POSITION) {
@@ -157,17 +163,32 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
     }
 
     /**
-     * Updates the list of entrants in the adapter and notifies the RecyclerView to refresh the data.
+     * Replaces the list of entrants in the adapter. Only the rows that changed are rebound
+     * once the background diff completes.
+     *
+     * @param newEntrants the new list of entrants to display
+     */
+    public void updateEntrantList(List<Entrant> newEntrants) {
+        submitList(new ArrayList<>(newEntrants));
+    }
+
+    /**
+     * Returns the position of an entrant in the current list.
      *
-     * @param newEntrants    the new list of entrants to display
-     * @param newDocumentIds the new list of document IDs associated with the entrants
+     * @param userId the user ID of the entrant, or null
+     * @return the position of the entrant, or {@link RecyclerView#NO_POSITION} if it is not shown
      */
-    public void updateEntrantList(List<String> newEntrants, List<String> newDocumentIds) {
-        entrantList.clear();
-        documentIds.clear();
-        entrantList.addAll(newEntrants);
-        documentIds.addAll(newDocumentIds);
-        notifyDataSetChanged();
+    private int positionOf(String userId) {
+        if (userId == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        List<Entrant> entrants = getCurrentList();
+        for (int i = 0; i < entrants.size(); i++) {
+            if (userId.equals(entrants.get(i).getUserId())) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
     }
 
     /**
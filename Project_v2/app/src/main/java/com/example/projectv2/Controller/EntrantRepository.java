@@ -0,0 +1,665 @@
+package com.example.projectv2.Controller;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.projectv2.core.CounterShards;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Repository for event entrant membership.
+ *
+ * <p>Each entrant of an event has a document at {@code events/{eventId}/entrants/{userId}}
+ * with a {@code status} field, so checking a single user's status is one small document
+ * read no matter how many entrants the event has. Each status is also indexed per user at
+ * {@code Users/{userId}/memberships/{eventId}}, so a user's events can be listed with one
+ * query. Every status change should go through this class so the two stay in step. The
+ * event document itself is never written when an entrant joins or moves, so busy events
+ * do not queue every join behind one document; the organizer lists query the entrant
+ * documents by status instead. The {@code entrantList} arrays of events created before
+ * the entrant documents existed are only read, to migrate them.</p>
+ *
+ * <p>The size of each status list is kept in a {@link ShardedCounter} under
+ * {@code events/{eventId}/counters}, so concurrent joins write to different documents.
+ * An entrant is counted in the shard recorded as {@code shard} on its entrant document,
+ * and only once it has one, and each status change moves one count between status fields
+ * of that shard. Entrants who joined before the event had counter shards have no shard;
+ * they are counted when {@link #setStatus} next moves them or {@link #migrateCounters}
+ * reaches them, both of which read the entrant document in the transaction that gives it
+ * a shard, so no entrant is counted twice.
+ * The waiting list capacity is split into a slice per shard with {@link CounterShards},
+ * and a join checks and increments one shard inside a transaction, moving on to the next
+ * shard only when that one is full.</p>
+ */
+public class EntrantRepository {
+    private static final String TAG = "EntrantRepository";
+
+    public static final String WAITING = "Waiting";
+    public static final String SELECTED = "Selected";
+    public static final String CANCELLED = "Cancelled";
+    public static final String ATTENDEE = "Attendee";
+    public static final String[] STATUSES = {WAITING, SELECTED, CANCELLED, ATTENDEE};
+
+    /** Message of the error reported when joining a full waiting list. */
+    public static final String WAITING_LIST_FULL = "Waiting list is full. Try again later.";
+
+    /** Field of a counter shard holding its slice of the waiting list capacity. */
+    public static final String WAITING_LIMIT = "waitingLimit";
+
+    /** Returned as a shard index when the event has no counter shards yet. */
+    public static final int NO_SHARD = -1;
+
+    /** Schema version from which events have counter shards. */
+    public static final int COUNTERS_VERSION = 5;
+
+    /** Entrants written per batch. Each entrant takes two writes, leaving room under the 500 write limit. */
+    static final int ENTRANTS_PER_BATCH = 225;
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Callback interface for status lookups.
+     */
+    public interface StatusCallback {
+        void onStatusLoaded(@Nullable String status);
+        void onError(Exception e);
+    }
+
+    /**
+     * Constructs an EntrantRepository and initializes the Firestore instance.
+     */
+    public EntrantRepository() {
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the entrant document reference for a user in an event.
+     *
+     * @param eventId The ID of the event.
+     * @param userId  The ID of the user.
+     * @return The entrant document reference.
+     */
+    public DocumentReference entrantRef(String eventId, String userId) {
+        return db.collection("events").document(eventId).collection("entrants").document(userId);
+    }
+
+    /**
+     * Returns the membership index document reference for a user in an event.
+     *
+     * @param userId  The ID of the user.
+     * @param eventId The ID of the event.
+     * @return The membership document reference.
+     */
+    public DocumentReference membershipRef(String userId, String eventId) {
+        return db.collection("Users").document(userId).collection("memberships").document(eventId);
+    }
+
+    /**
+     * Returns the sharded counter holding the size of each status list of an event.
+     *
+     * @param eventId The ID of the event.
+     * @return The entrant counter.
+     */
+    public ShardedCounter countersOf(String eventId) {
+        return new ShardedCounter(db.collection("events").document(eventId).collection("counters"),
+                "entrants", ShardedCounter.DEFAULT_SHARDS);
+    }
+
+    /**
+     * Builds the fields of an entrant counter shard.
+     *
+     * @param shard     The index of the shard.
+     * @param numShards The number of shards.
+     * @param counts    The number of entrants of each status in the shard.
+     * @param limit     The capacity of the whole waiting list, or null if it is unlimited.
+     * @return The fields of the shard document.
+     */
+    public static Map<String, Object> counterShard(int shard, int numShards, Map<String, Long> counts,
+                                                   @Nullable Long limit) {
+        Map<String, Object> fields = new HashMap<>();
+        for (String status : STATUSES) {
+            Long count = counts.get(status);
+            fields.put(status, count != null ? count : 0L);
+        }
+        if (limit != null) {
+            fields.put(WAITING_LIMIT, CounterShards.slice(limit, numShards, shard));
+        }
+        return fields;
+    }
+
+    /**
+     * Adds the empty counter shards of a new event to a batch.
+     *
+     * @param batch   The batch to add the writes to.
+     * @param eventId The ID of the event.
+     * @param limit   The capacity of the waiting list, or null if it is unlimited.
+     */
+    public void stageCounters(WriteBatch batch, String eventId, @Nullable Long limit) {
+        ShardedCounter counters = countersOf(eventId);
+        for (int shard = 0; shard < counters.getNumShards(); shard++) {
+            counters.stageShard(batch, shard,
+                    counterShard(shard, counters.getNumShards(), Collections.emptyMap(), limit));
+        }
+    }
+
+    /**
+     * Finds a counter shard with room on the waiting list inside a transaction. Shards are
+     * read one at a time from the given one onwards, so a join only reads the shards it
+     * needs and only conflicts with joins that picked the same shard.
+     *
+     * @param transaction The transaction to read in.
+     * @param eventId     The ID of the event.
+     * @param start       The index of the first shard to try.
+     * @return The index of a shard with room, or {@link #NO_SHARD} if the event has no
+     *         counter shards yet.
+     * @throws FirebaseFirestoreException If a read fails, or with
+     *         {@link FirebaseFirestoreException.Code#FAILED_PRECONDITION} if every shard is full.
+     */
+    public int claimWaitingShard(Transaction transaction, String eventId, int start) throws FirebaseFirestoreException {
+        ShardedCounter counters = countersOf(eventId);
+        int shard = start;
+        for (int tried = 0; tried < counters.getNumShards(); tried++) {
+            DocumentSnapshot snapshot = transaction.get(counters.shardRef(shard));
+            if (!snapshot.exists()) {
+                return NO_SHARD;
+            }
+            Long limit = snapshot.getLong(WAITING_LIMIT);
+            if (limit == null || ShardedCounter.valueOf(snapshot, WAITING) < limit) {
+                return shard;
+            }
+            shard = CounterShards.next(shard, counters.getNumShards());
+        }
+        throw new FirebaseFirestoreException(WAITING_LIST_FULL, FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+    }
+
+    /**
+     * Checks the waiting list capacity of an event that has no counter shards yet, from
+     * the event document. The arrays are no longer updated, so this is only a best effort
+     * check for the short time before the event is migrated.
+     *
+     * @param transaction The transaction to read in.
+     * @param eventId     The ID of the event.
+     * @throws FirebaseFirestoreException If a read fails, the event does not exist, or with
+     *         {@link FirebaseFirestoreException.Code#FAILED_PRECONDITION} if the list is full.
+     */
+    public void checkLegacyCapacity(Transaction transaction, String eventId) throws FirebaseFirestoreException {
+        DocumentSnapshot event = transaction.get(db.collection("events").document(eventId));
+        if (!event.exists()) {
+            throw new FirebaseFirestoreException("Event not found.", FirebaseFirestoreException.Code.NOT_FOUND);
+        }
+        List<String> waiting = (List<String>) event.get("entrantList." + WAITING);
+        long limit = EventController.limitOf(event, "entrantLimit", "entrants", -1);
+        if (limit >= 0 && waiting != null && waiting.size() >= limit) {
+            throw new FirebaseFirestoreException(WAITING_LIST_FULL, FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+        }
+    }
+
+    /**
+     * Returns the query for every event membership of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The memberships query.
+     */
+    public Query membershipsOf(String userId) {
+        return db.collection("Users").document(userId).collection("memberships");
+    }
+
+    /**
+     * Returns the query for the entrants of an event with a given status. The results
+     * come back in user ID order.
+     *
+     * @param eventId The ID of the event.
+     * @param status  The status of the entrants.
+     * @return The entrants query.
+     */
+    public Query entrantsWithStatus(String eventId, String status) {
+        return db.collection("events").document(eventId).collection("entrants")
+                .whereEqualTo("status", status);
+    }
+
+    /**
+     * Fetches the status of a user in an event.
+     *
+     * @param eventId  The ID of the event.
+     * @param userId   The ID of the user.
+     * @param callback Callback receiving the status, or null if the user is not an entrant.
+     */
+    public void fetchStatus(String eventId, String userId, StatusCallback callback) {
+        entrantRef(eventId, userId).get()
+                .addOnSuccessListener(document -> callback.onStatusLoaded(
+                        document.exists() ? document.getString("status") : null))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching entrant status", e);
+                    callback.onError(e);
+                });
+    }
+
+    /**
+     * Counts the entrants of an event with a given status using a server-side
+     * aggregation, without downloading the entrant documents.
+     *
+     * @param eventId The ID of the event.
+     * @param status  The status to count.
+     * @return A task resolving to the number of entrants with the status.
+     */
+    public Task<Long> countStatus(String eventId, String status) {
+        return entrantsWithStatus(eventId, status)
+                .count()
+                .get(AggregateSource.SERVER)
+                .continueWith(task -> task.getResult().getCount());
+    }
+
+    /**
+     * Sets the status of a single entrant. The change runs in a transaction that moves the
+     * entrant's count between status fields of its counter shard, and moving a user onto
+     * a full waiting list fails with {@link FirebaseFirestoreException.Code#FAILED_PRECONDITION}.
+     *
+     * @param eventId The ID of the event.
+     * @param userId  The ID of the user.
+     * @param status  The new status, or null to remove the user from the event.
+     * @return A task that completes when the change is committed.
+     */
+    public Task<Void> setStatus(String eventId, String userId, @Nullable String status) {
+        DocumentReference entrant = entrantRef(eventId, userId);
+        ShardedCounter counters = countersOf(eventId);
+        return db.runTransaction((Transaction.Function<Void>) transaction -> {
+            DocumentSnapshot current = transaction.get(entrant);
+            String previous = current.exists() ? current.getString("status") : null;
+            if (Objects.equals(previous, status)) {
+                return null;
+            }
+
+            int from = shardOf(current);
+            int to;
+            if (WAITING.equals(status)) {
+                to = claimWaitingShard(transaction, eventId, from != NO_SHARD ? from : counters.randomShard());
+                if (to == NO_SHARD) {
+                    checkLegacyCapacity(transaction, eventId);
+                }
+            } else {
+                to = from != NO_SHARD ? from : counters.randomShard();
+                if (!transaction.get(counters.shardRef(to)).exists()) {
+                    to = NO_SHARD;
+                }
+            }
+
+            stageStatus(transaction, eventId, userId, status, to);
+            if (to != NO_SHARD) {
+                Map<Integer, Map<String, Long>> deltas = new HashMap<>();
+                // An entrant without a shard was never counted, so there is nothing to move
+                if (from != NO_SHARD) {
+                    addDelta(deltas, from, previous, -1);
+                }
+                addDelta(deltas, to, status, 1);
+                for (Map.Entry<Integer, Map<String, Long>> delta : deltas.entrySet()) {
+                    counters.increment(transaction, delta.getKey(), delta.getValue());
+                }
+            }
+            return null;
+        }).addOnFailureListener(e -> Log.e(TAG, "Error updating entrant " + userId + " of event " + eventId, e));
+    }
+
+    /**
+     * Sets the status of several entrants, removing them from every other list.
+     *
+     * <p>The users are moved in groups of up to {@link #ENTRANTS_PER_BATCH}, each in one
+     * transaction that reads the group's entrant documents and writes their new status
+     * with the counter changes it makes, so a user who joins, leaves or moves at the same
+     * time makes the transaction retry rather than the counts drift. A move of up to that
+     * many entrants is atomic. Larger moves run one group after another: each group is
+     * atomic, but the move as a whole is not. If a group fails, the groups before it stay
+     * committed, the rest are not written and the task fails. Calling this again with the
+     * same users finishes the move, as entrants that already have the new status are not
+     * counted twice. The capacity is not checked for bulk moves.</p>
+     *
+     * @param eventId The ID of the event.
+     * @param userIds The IDs of the users to move.
+     * @param status  The new status, or null to remove the users from the event.
+     * @return A task that completes when every group is committed, or fails at the first
+     * group that could not be committed.
+     */
+    public Task<Void> setStatuses(String eventId, Collection<String> userIds, @Nullable String status) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ShardedCounter counters = countersOf(eventId);
+        Task<Void> moves = Tasks.forResult(null);
+        for (int i = 0; i < ids.size(); i += ENTRANTS_PER_BATCH) {
+            List<String> group = ids.subList(i, Math.min(i + ENTRANTS_PER_BATCH, ids.size()));
+            moves = moves.onSuccessTask(done -> db.runTransaction((Transaction.Function<Void>) transaction -> {
+                boolean counted = transaction.get(counters.shardRef(0)).exists();
+                List<DocumentSnapshot> entrants = new ArrayList<>(group.size());
+                for (String userId : group) {
+                    entrants.add(transaction.get(entrantRef(eventId, userId)));
+                }
+                if (counted) {
+                    stageStatuses(transaction, eventId, entrants, status);
+                } else {
+                    for (DocumentSnapshot entrant : entrants) {
+                        stageStatus(transaction, eventId, entrant.getId(), status, NO_SHARD);
+                    }
+                }
+                return null;
+            }));
+        }
+        return moves.addOnFailureListener(e -> Log.e(TAG, "Error updating entrants of event " + eventId, e));
+    }
+
+    /**
+     * Adds the entrant document and membership index writes for a user to a transaction.
+     *
+     * @param transaction The transaction to add the writes to.
+     * @param eventId     The ID of the event.
+     * @param userId      The ID of the user.
+     * @param status      The status to record, or null to delete both documents.
+     * @param shard       The counter shard to record, or {@link #NO_SHARD} if the event has none.
+     */
+    private void stageStatus(Transaction transaction, String eventId, String userId, @Nullable String status,
+                             int shard) {
+        DocumentReference entrant = entrantRef(eventId, userId);
+        DocumentReference membership = membershipRef(userId, eventId);
+        if (status == null) {
+            transaction.delete(entrant);
+            transaction.delete(membership);
+        } else {
+            transaction.set(entrant, entrantData(userId, status, shard));
+            transaction.set(membership, membershipData(eventId, status));
+        }
+    }
+
+    /**
+     * Builds the fields of an entrant document.
+     *
+     * @param userId The ID of the user.
+     * @param status The status to record.
+     * @param shard  The counter shard of the entrant, or {@link #NO_SHARD} to leave it out.
+     * @return The fields of the entrant document.
+     */
+    private static Map<String, Object> entrantData(String userId, String status, int shard) {
+        Map<String, Object> entrantData = new HashMap<>();
+        entrantData.put("userId", userId);
+        entrantData.put("status", status);
+        entrantData.put("updatedAt", FieldValue.serverTimestamp());
+        if (shard != NO_SHARD) {
+            entrantData.put("shard", shard);
+        }
+        return entrantData;
+    }
+
+    /**
+     * Builds the fields of a membership index document.
+     *
+     * @param eventId The ID of the event.
+     * @param status  The status to record.
+     * @return The fields of the membership document.
+     */
+    private static Map<String, Object> membershipData(String eventId, String status) {
+        Map<String, Object> membershipData = new HashMap<>();
+        membershipData.put("eventId", eventId);
+        membershipData.put("status", status);
+        membershipData.put("updatedAt", FieldValue.serverTimestamp());
+        return membershipData;
+    }
+
+    /**
+     * Adds a status change for several entrants of an event to a transaction: each user's
+     * entrant and membership documents and the changes to the counter shards. The entrant
+     * documents give each user's current status and shard; reading them in the same
+     * transaction guards the counts against concurrent changes. New entrants are given a
+     * shard and counted, while existing entrants without a shard are left for
+     * {@link #migrateCounters}. The event must have counter shards. The transaction needs
+     * room for {@link #writesFor(int)} writes.
+     *
+     * @param transaction The transaction to add the writes to.
+     * @param eventId     The ID of the event.
+     * @param entrants    The entrant documents of the users to move.
+     * @param status      The new status, or null to remove the users from the event.
+     */
+    public void stageStatuses(Transaction transaction, String eventId, List<DocumentSnapshot> entrants,
+                              @Nullable String status) {
+        ShardedCounter counters = countersOf(eventId);
+        Map<Integer, Map<String, Long>> deltas = new HashMap<>();
+        for (DocumentSnapshot entrant : entrants) {
+            String previous = entrant.exists() ? entrant.getString("status") : null;
+            int shard = shardOf(entrant);
+            if (!entrant.exists()) {
+                shard = counters.randomShard();
+                addDelta(deltas, shard, status, 1);
+            } else if (shard != NO_SHARD && !Objects.equals(previous, status)) {
+                addDelta(deltas, shard, previous, -1);
+                addDelta(deltas, shard, status, 1);
+            }
+            stageStatus(transaction, eventId, entrant.getId(), status, shard);
+        }
+        for (Map.Entry<Integer, Map<String, Long>> delta : deltas.entrySet()) {
+            counters.increment(transaction, delta.getKey(), delta.getValue());
+        }
+    }
+
+    /**
+     * Returns the number of writes {@link #stageStatuses} uses for a move.
+     *
+     * @param entrants The number of entrants moved.
+     * @return The number of writes.
+     */
+    public static int writesFor(int entrants) {
+        return 2 * entrants + Math.min(entrants, ShardedCounter.DEFAULT_SHARDS);
+    }
+
+    /**
+     * Deletes every entrant of an event with the entrant's membership index document,
+     * then the event's counter shards. Entrants are deleted in batches of up to
+     * {@link #ENTRANTS_PER_BATCH}, each committed once the one before it has committed,
+     * and the counter shards go in the last batch, so a failure leaves the shards in place
+     * and calling again deletes the entrants that are left.
+     *
+     * @param eventId The ID of the event.
+     * @return A task that completes when every batch is committed.
+     */
+    public Task<Void> deleteEntrants(String eventId) {
+        ShardedCounter counters = countersOf(eventId);
+        return db.collection("events").document(eventId).collection("entrants").get()
+                .onSuccessTask(snapshot -> {
+                    List<WriteBatch> batches = new ArrayList<>();
+                    WriteBatch batch = db.batch();
+                    int staged = 0;
+                    for (DocumentSnapshot entrant : snapshot.getDocuments()) {
+                        batch.delete(entrant.getReference());
+                        batch.delete(membershipRef(entrant.getId(), eventId));
+                        if (++staged == ENTRANTS_PER_BATCH) {
+                            batches.add(batch);
+                            batch = db.batch();
+                            staged = 0;
+                        }
+                    }
+                    for (int shard = 0; shard < counters.getNumShards(); shard++) {
+                        batch.delete(counters.shardRef(shard));
+                    }
+                    batch.delete(db.collection("events").document(eventId).collection("counters").document("waiting"));
+                    batches.add(batch);
+
+                    Task<Void> commits = Tasks.forResult(null);
+                    for (WriteBatch next : batches) {
+                        commits = commits.onSuccessTask(done -> next.commit());
+                    }
+                    return commits;
+                }).addOnFailureListener(e -> Log.e(TAG, "Error deleting entrants of event " + eventId, e));
+    }
+
+    /**
+     * Copies the entrant arrays of a legacy event into entrant and membership documents.
+     * A user found in more than one array keeps the later status in the order Waiting,
+     * Selected, Cancelled, Attendee.
+     *
+     * <p>Users who already have an entrant document are left alone, as their document is
+     * newer than the arrays. Each group of up to {@link #ENTRANTS_PER_BATCH} users is read
+     * and written in one transaction that also checks the migration lease, and the groups
+     * are written one after another, so running the migration again only writes the
+     * documents that are still missing.</p>
+     *
+     * @param event The event document to migrate.
+     * @param lease The migration lease held by this device.
+     * @return A task that completes when every missing document is written.
+     */
+    public Task<Void> migrateEvent(DocumentSnapshot event, JobLease lease) {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (String status : STATUSES) {
+            List<String> ids = (List<String>) event.get("entrantList." + status);
+            if (ids != null) {
+                for (String id : ids) {
+                    statuses.put(id, status);
+                }
+            }
+        }
+
+        List<String> userIds = new ArrayList<>(statuses.keySet());
+        Task<Void> commits = Tasks.forResult(null);
+        for (int i = 0; i < userIds.size(); i += ENTRANTS_PER_BATCH) {
+            List<String> group = userIds.subList(i, Math.min(i + ENTRANTS_PER_BATCH, userIds.size()));
+            commits = commits.onSuccessTask(done -> db.runTransaction((Transaction.Function<Void>) transaction -> {
+                lease.check(transaction);
+                List<String> missing = new ArrayList<>();
+                for (String userId : group) {
+                    if (!transaction.get(entrantRef(event.getId(), userId)).exists()) {
+                        missing.add(userId);
+                    }
+                }
+                for (String userId : missing) {
+                    stageStatus(transaction, event.getId(), userId, statuses.get(userId), NO_SHARD);
+                }
+                return null;
+            }));
+        }
+        return commits;
+    }
+
+    /**
+     * Builds the counter shards of an event from its entrant documents.
+     *
+     * <p>The shards are first created with their slice of the waiting list capacity, merged
+     * so no count already made is lost, and the single waiting list counter document used
+     * before the counter was sharded is removed. From then on every entrant that joins or
+     * moves is counted as it goes. The entrants that have no shard yet are then given one
+     * and counted, a group of up to {@link #ENTRANTS_PER_BATCH} at a time, in transactions
+     * that re-read each entrant document, so an entrant given a shard by a concurrent
+     * change is not counted again. Every transaction checks the migration lease.</p>
+     *
+     * @param event The event document to migrate.
+     * @param lease The migration lease held by this device.
+     * @return A task that completes when every entrant is counted.
+     */
+    public Task<Void> migrateCounters(DocumentSnapshot event, JobLease lease) {
+        String eventId = event.getId();
+        ShardedCounter counters = countersOf(eventId);
+        long limit = EventController.limitOf(event, "entrantLimit", "entrants", -1);
+        Task<Void> shards = db.runTransaction((Transaction.Function<Void>) transaction -> {
+            lease.check(transaction);
+            for (int shard = 0; shard < counters.getNumShards(); shard++) {
+                // Adding nothing creates the status fields without touching counts made already
+                Map<String, Object> fields = new HashMap<>();
+                for (String status : STATUSES) {
+                    fields.put(status, FieldValue.increment(0));
+                }
+                if (limit >= 0) {
+                    fields.put(WAITING_LIMIT, CounterShards.slice(limit, counters.getNumShards(), shard));
+                }
+                transaction.set(counters.shardRef(shard), fields, SetOptions.merge());
+            }
+            transaction.delete(event.getReference().collection("counters").document("waiting"));
+            return null;
+        });
+
+        return shards.onSuccessTask(done -> event.getReference().collection("entrants").get())
+                .onSuccessTask(snapshot -> {
+                    List<DocumentReference> uncounted = new ArrayList<>();
+                    for (DocumentSnapshot entrant : snapshot.getDocuments()) {
+                        if (shardOf(entrant) == NO_SHARD) {
+                            uncounted.add(entrant.getReference());
+                        }
+                    }
+                    Task<Void> commits = Tasks.forResult(null);
+                    for (int i = 0; i < uncounted.size(); i += ENTRANTS_PER_BATCH) {
+                        List<DocumentReference> group = uncounted.subList(i, Math.min(i + ENTRANTS_PER_BATCH, uncounted.size()));
+                        commits = commits.onSuccessTask(previous -> countEntrants(group, counters, lease));
+                    }
+                    return commits;
+                });
+    }
+
+    /**
+     * Gives a group of entrants without a counter shard a shard, and counts them in it.
+     *
+     * @param entrants The entrant documents to count.
+     * @param counters The counter of the event.
+     * @param lease    The migration lease held by this device.
+     * @return A task that completes when the group is committed.
+     */
+    private Task<Void> countEntrants(List<DocumentReference> entrants, ShardedCounter counters, JobLease lease) {
+        return db.runTransaction((Transaction.Function<Void>) transaction -> {
+            lease.check(transaction);
+            List<DocumentSnapshot> current = new ArrayList<>(entrants.size());
+            for (DocumentReference entrant : entrants) {
+                current.add(transaction.get(entrant));
+            }
+            Map<Integer, Map<String, Long>> deltas = new HashMap<>();
+            for (DocumentSnapshot entrant : current) {
+                if (!entrant.exists() || shardOf(entrant) != NO_SHARD) {
+                    continue;
+                }
+                int shard = counters.randomShard();
+                transaction.update(entrant.getReference(), "shard", shard);
+                addDelta(deltas, shard, entrant.getString("status"), 1);
+            }
+            for (Map.Entry<Integer, Map<String, Long>> delta : deltas.entrySet()) {
+                counters.increment(transaction, delta.getKey(), delta.getValue());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Records a change to the count of one status in one shard.
+     *
+     * @param deltas The counter changes by shard, added to.
+     * @param shard  The index of the shard.
+     * @param status The status whose count changes, or null for no change.
+     * @param amount The amount to add to the count.
+     */
+    private static void addDelta(Map<Integer, Map<String, Long>> deltas, int shard, @Nullable String status,
+                                 long amount) {
+        if (status != null) {
+            deltas.computeIfAbsent(shard, key -> new HashMap<>()).merge(status, amount, Long::sum);
+        }
+    }
+
+    /**
+     * Returns the counter shard recorded on an entrant document.
+     *
+     * @param entrant The entrant document.
+     * @return The index of the shard, or {@link #NO_SHARD} if none is recorded.
+     */
+    private static int shardOf(DocumentSnapshot entrant) {
+        Long shard = entrant.getLong("shard");
+        return shard != null ? shard.intValue() : NO_SHARD;
+    }
+}
@@ -13,16 +13,25 @@ import android.net.Uri;
 import android.provider.Settings;
 import android.util.Log;
 import com.example.projectv2.Model.Event;
+import com.example.projectv2.Model.EventSummary;
+import com.example.projectv2.core.DateCodec;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -33,11 +42,25 @@ import java.util.Random;
 /**
  * Controller for handling event-related operations in Firestore, including
  * event creation, updating, fetching, and entrant list management.
+ *
+ * <p>List screens read from the {@code eventSummaries} collection, which holds only the
+ * fields an event card shows. Every write that changes one of those fields updates the
+ * summary in the same batch as the event.</p>
  */
 public class EventController {
+    /** Collection holding one lightweight summary document per event, for list screens. */
+    public static final String SUMMARIES = "eventSummaries";
+    /** Event fields copied into the summary documents. */
+    private static final String[] SUMMARY_FIELDS = {
+            "eventID", "owner", "name", "detail", "deadline", "startDate", "ticketPrice", "imageUri", "facility",
+            "deadlineAt", "startAt", "priceCents", "posterUrl", "posterVersion"
+    };
+    /** Firestore allows at most 30 values in a whereIn filter. */
+    private static final int WHERE_IN_LIMIT = 30;
     public FirebaseFirestore db;
     private final ArrayList<Event> eventList = new ArrayList<>();
     private final Context context;
+    private final EntrantRepository entrantRepository;
 
     /**
      * Callback interface for event-related operations to communicate results
@@ -58,6 +81,15 @@ public class EventController {
     public EventController(Context context) {
         this.context = context;
         db = FirebaseFirestore.getInstance();
+        entrantRepository = new EntrantRepository();
+    }
+
+    /**
+     * Callback interface for paged event loading.
+     */
+    public interface EventPageCallback {
+        void onPageLoaded(ArrayList<Event> events, DocumentSnapshot lastDocument, boolean hasMore);
+        void onError(Exception e);
     }
 
     /**
@@ -98,7 +130,7 @@ public class EventController {
             StorageReference storageRef = FirebaseStorage.getInstance()
                     .getReference("event_images/" + eventID + ".jpg");
 
-            storageRef.putFile(selectedImageUri).addOnSuccessListener(taskSnapshot ->
+            new ImageUploadPipeline(context).uploadPoster(selectedImageUri, storageRef).addOnSuccessListener(taskSnapshot ->
                     storageRef.getDownloadUrl().addOnSuccessListener(uri -> {
                         Log.d("EventController", "Image uploaded successfully: " + uri.toString());
                         saveEventToFirestore(owner, name, detail, rules, deadline, attendees, entrants,
@@ -149,25 +181,27 @@ private void saveEventToFirestore(String owner, String name, String detail, Stri
     eventMap.put("detail", detail);
     eventMap.put("rules", rules);
     eventMap.put("deadline", deadline);
+    eventMap.put("sweepDone", false);
     eventMap.put("attendees", attendees);
     eventMap.put("entrants", entrants);
     eventMap.put("startDate", startDate);
     eventMap.put("ticketPrice", ticketPrice);
+    // Typed copies of the entered values, for comparisons and indexed queries
+    eventMap.putAll(typedFields(deadline, attendees, entrants, startDate, ticketPrice));
     eventMap.put("geolocationEnabled", geolocationEnabled);
     eventMap.put("imageUri", imageUrl);
     eventMap.put("facility", facility);
     eventMap.put("eventID", eventID);
 
-    // Add entrant list structure
-    Map<String, Object> entrantListMap = new HashMap<>();
-    entrantListMap.put("Waiting", new ArrayList<>());
-    entrantListMap.put("Selected", new ArrayList<>());
-    entrantListMap.put("Cancelled", new ArrayList<>());
-    entrantListMap.put("Attendee", new ArrayList<>());
-    eventMap.put("entrantList", entrantListMap);
+    // New events are written in the current layout and need no migration
+    eventMap.put("schemaVersion", EventMigrationWorker.SCHEMA_VERSION);
 
-    db.collection("events").document(eventID)
-            .set(eventMap)
+    // Write the event and its list summary together so they never disagree
+    WriteBatch batch = db.batch();
+    batch.set(db.collection("events").document(eventID), eventMap);
+    batch.set(db.collection(SUMMARIES).document(eventID), summaryOf(eventMap));
+    entrantRepository.stageCounters(batch, eventID, limitOf(entrants));
+    batch.commit()
             .addOnSuccessListener(aVoid -> {
                 Log.d("EventController", "Event created successfully: " + eventID);
                 callback.onEventCreated(eventID);
@@ -189,43 +223,209 @@ private void saveEventToFirestore(String owner, String name, String detail, Stri
         Map<String, Object> updateData = new HashMap<>();
         updateData.put("imageUri", newImageUri.toString());
 
-        db.collection("events").document(eventId)
-                .set(updateData, SetOptions.merge())
+        WriteBatch batch = db.batch();
+        batch.set(db.collection("events").document(eventId), updateData, SetOptions.merge());
+        batch.set(db.collection(SUMMARIES).document(eventId), updateData, SetOptions.merge());
+        batch.commit()
                 .addOnSuccessListener(aVoid -> callback.onComplete(true))
                 .addOnFailureListener(e -> callback.onComplete(false));
     }
 
     /**
-     * Fetches a list of all events from Firestore and notifies the callback with the event data.
+     * Deletes an event with everything stored under it: its entrants and their membership
+     * index documents, its counter shards and its draw log, then the event and its list
+     * summary. The event is deleted last, so if any step fails the event is still listed
+     * and deleting it again removes what is left.
      *
-     * @param callback callback to handle the loaded events or errors
+     * @param eventId the ID of the event to delete
+     * @return a task that completes when the event and everything under it are deleted
      */
-    public void fetchEvents(EventCallback callback) {
-        db.collection("events")
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        eventList.clear();
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            String owner = document.getString("owner");
-                            String name = document.getString("name");
-                            String detail = document.getString("detail");
-                            String rules = document.getString("rules");
-                            String facility = document.getString("facility");
-                            String deadline = document.getString("deadline");
-                            String startDate = document.getString("startDate");
-                            String ticketPrice = document.getString("ticketPrice");
-                            String eventID = document.getString("eventID");
-                            Uri imageUri = document.getString("imageUri") != null ? Uri.parse(document.getString("imageUri")) : null;
-
-                            Event event = new Event(eventID, owner, name, detail, rules, deadline, startDate, ticketPrice, imageUri, facility);
-                            eventList.add(event);
+    public Task<Void> deleteEvent(String eventId) {
+        return entrantRepository.deleteEntrants(eventId)
+                .onSuccessTask(done -> db.collection("events").document(eventId)
+                        .collection(LotteryDrawEngine.DRAWS).get())
+                .onSuccessTask(draws -> {
+                    List<WriteBatch> batches = new ArrayList<>();
+                    WriteBatch batch = db.batch();
+                    int staged = 0;
+                    for (DocumentSnapshot draw : draws.getDocuments()) {
+                        batch.delete(draw.getReference());
+                        if (++staged == 498) {
+                            batches.add(batch);
+                            batch = db.batch();
+                            staged = 0;
                         }
-                        callback.onEventListLoaded(eventList);
-                    } else {
-                        Log.w("EventController", "Error getting documents.", task.getException());
-                        callback.onError(task.getException());
                     }
+                    batch.delete(db.collection("events").document(eventId));
+                    batch.delete(db.collection(SUMMARIES).document(eventId));
+                    batches.add(batch);
+
+                    Task<Void> commits = Tasks.forResult(null);
+                    for (WriteBatch next : batches) {
+                        commits = commits.onSuccessTask(ignored -> next.commit());
+                    }
+                    return commits;
+                });
+    }
+
+    /**
+     * Builds the list summary of an event from its fields.
+     *
+     * @param event the fields of the full event document
+     * @return the fields stored in the event's {@code eventSummaries} document
+     */
+    public static Map<String, Object> summaryOf(Map<String, Object> event) {
+        Map<String, Object> summary = new HashMap<>();
+        for (String field : SUMMARY_FIELDS) {
+            if (event.containsKey(field)) {
+                summary.put(field, event.get(field));
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Converts an event deadline into the moment it passes. A deadline is open for the
+     * whole of its day, so it passes at the start of the following day.
+     *
+     * @param deadline the deadline, formatted as dd-MM-yyyy
+     * @return the moment the deadline passes, or null if the deadline cannot be parsed
+     */
+    public static Timestamp deadlineAt(String deadline) {
+        long day = DateCodec.parseEpochDay(deadline);
+        if (day == DateCodec.INVALID) {
+            Log.w("EventController", "Unparseable deadline: " + deadline);
+            return null;
+        }
+        return new Timestamp(new Date(DateCodec.startOfDayMillis(day + 1, ZoneId.systemDefault())));
+    }
+
+    /**
+     * Converts an event start date into the start of that day.
+     *
+     * @param startDate the start date, formatted as dd-MM-yyyy
+     * @return the start of the day, or null if the date cannot be parsed
+     */
+    public static Timestamp startAt(String startDate) {
+        long day = DateCodec.parseEpochDay(startDate);
+        if (day == DateCodec.INVALID) {
+            Log.w("EventController", "Unparseable start date: " + startDate);
+            return null;
+        }
+        return new Timestamp(new Date(DateCodec.startOfDayMillis(day, ZoneId.systemDefault())));
+    }
+
+    /**
+     * Converts an entered ticket price into cents.
+     *
+     * @param ticketPrice the price, such as "12.5"; an empty price means the event is free
+     * @return the price in cents, or null if the price cannot be parsed
+     */
+    public static Long priceCents(String ticketPrice) {
+        if (ticketPrice == null) {
+            return null;
+        }
+        if (ticketPrice.trim().isEmpty()) {
+            return 0L;
+        }
+        try {
+            return new BigDecimal(ticketPrice.trim()).movePointRight(2)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            Log.w("EventController", "Unparseable ticket price: " + ticketPrice);
+            return null;
+        }
+    }
+
+    /**
+     * Converts an entered capacity into a number.
+     *
+     * @param limit the capacity, such as "20"
+     * @return the capacity, or null if it is empty or cannot be parsed
+     */
+    public static Long limitOf(String limit) {
+        if (limit == null || limit.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(limit.trim());
+        } catch (NumberFormatException e) {
+            Log.w("EventController", "Unparseable limit: " + limit);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a capacity from an event document, preferring the typed field and falling back
+     * to the entered string for events that have not been migrated yet.
+     *
+     * @param event       the event document
+     * @param field       the typed field, such as {@code attendeeLimit}
+     * @param legacyField the string field, such as {@code attendees}
+     * @param fallback    the value to use if neither field holds a number
+     * @return the capacity
+     */
+    public static long limitOf(DocumentSnapshot event, String field, String legacyField, long fallback) {
+        Long limit = event.getLong(field);
+        if (limit == null) {
+            Object legacy = event.get(legacyField);
+            limit = legacy instanceof Number ? Long.valueOf(((Number) legacy).longValue())
+                    : legacy instanceof String ? limitOf((String) legacy) : null;
+        }
+        return limit != null ? limit : fallback;
+    }
+
+    /**
+     * Builds the typed fields of an event from the values entered for it.
+     *
+     * @param deadline    the deadline, formatted as dd-MM-yyyy
+     * @param attendees   the number of attendees
+     * @param entrants    the number of entrants allowed
+     * @param startDate   the start date, formatted as dd-MM-yyyy
+     * @param ticketPrice the ticket price
+     * @return the {@code deadlineAt}, {@code startAt}, {@code priceCents},
+     * {@code attendeeLimit} and {@code entrantLimit} fields
+     */
+    public static Map<String, Object> typedFields(String deadline, String attendees, String entrants,
+                                                  String startDate, String ticketPrice) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("deadlineAt", deadlineAt(deadline));
+        fields.put("startAt", startAt(startDate));
+        fields.put("priceCents", priceCents(ticketPrice));
+        fields.put("attendeeLimit", limitOf(attendees));
+        fields.put("entrantLimit", limitOf(entrants));
+        return fields;
+    }
+
+    /**
+     * Fetches one page of events, ordered by document ID, and notifies the callback with
+     * the page and the cursor for the next page.
+     *
+     * @param after    the last document of the previous page, or null for the first page
+     * @param pageSize the maximum number of events in the page
+     * @param callback callback to handle the loaded page or errors
+     */
+    public void fetchEventsPage(DocumentSnapshot after, int pageSize, EventPageCallback callback) {
+        Query query = db.collection(SUMMARIES)
+                .orderBy(FieldPath.documentId())
+                .limit(pageSize);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+
+        query.get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    ArrayList<Event> page = new ArrayList<>(documents.size());
+                    for (DocumentSnapshot document : documents) {
+                        page.add(toEvent(document));
+                    }
+                    DocumentSnapshot last = documents.isEmpty() ? after : documents.get(documents.size() - 1);
+                    callback.onPageLoaded(page, last, documents.size() == pageSize);
+                })
+                .addOnFailureListener(e -> {
+                    Log.w("EventController", "Error getting event page.", e);
+                    callback.onError(e);
                 });
     }
 
@@ -237,28 +437,16 @@ private void saveEventToFirestore(String owner, String name, String detail, Stri
     public void fetchCreatedEvents(EventCallback callback) {
         @SuppressLint("HardwareIds") String deviceID = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
         Log.d("fetchCreatedEvents", "DeviceID => " + deviceID);
-        db.collection("events")
+        db.collection(SUMMARIES)
                 .whereEqualTo("owner", deviceID)
                 .get()
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         eventList.clear();
                         for (QueryDocumentSnapshot document : task.getResult()) {
-                            String owner = document.getString("owner");
-                            String name = document.getString("name");
-                            String detail = document.getString("detail");
-                            String rules = document.getString("rules");
-                            String facility = document.getString("facility");
-                            String deadline = document.getString("deadline");
-                            String startDate = document.getString("startDate");
-                            String ticketPrice = document.getString("ticketPrice");
-                            String eventID = document.getString("eventID");
-                            Uri imageUri = document.getString("imageUri") != null ? Uri.parse(document.getString("imageUri")) : null;
-
-                            Event event = new Event(eventID, owner, name, detail, rules, deadline, startDate, ticketPrice, imageUri, facility);
-                            eventList.add(event);
+                            eventList.add(toEvent(document));
                         }
-                        callback.onEventListLoaded(eventList);
+                        resolveWaitingCounts(eventList, callback);
                     } else {
                         Log.w("EventController", "Error getting documents.", task.getException());
                         callback.onError(task.getException());
@@ -267,105 +455,137 @@ private void saveEventToFirestore(String owner, String name, String detail, Stri
     }
 
     /**
-     * Fetches a list of events where the user (deviceID) is in any part of the entrantList from Firestore
+     * Resolves the waiting list size of each event once, with a count aggregation per
+     * event, and then notifies the callback. Events whose count fails keep a count of -1.
+     *
+     * @param events   the events to resolve counts for
+     * @param callback callback to handle the loaded events
+     */
+    private void resolveWaitingCounts(ArrayList<Event> events, EventCallback callback) {
+        List<Task<Long>> counts = new ArrayList<>(events.size());
+        for (Event event : events) {
+            counts.add(entrantRepository.countStatus(event.getEventID(), EntrantRepository.WAITING));
+        }
+        Tasks.whenAllComplete(counts).addOnCompleteListener(done -> {
+            for (int i = 0; i < events.size(); i++) {
+                Task<Long> count = counts.get(i);
+                if (count.isSuccessful()) {
+                    events.get(i).setWaitingCount(count.getResult().intValue());
+                } else {
+                    Log.w("EventController", "Error counting waiting list.", count.getException());
+                }
+            }
+            callback.onEventListLoaded(events);
+        });
+    }
+
+    /**
+     * Fetches a list of events where the user (deviceID) is an entrant with any status
      * and notifies the callback with the event data.
      *
+     * <p>The user's events are read from the {@code Users/{id}/memberships} index, and the
+     * matching events are then fetched by ID. Each event carries the user's status from
+     * the index, so the list needs no further reads.</p>
+     *
      * @param callback callback to handle the loaded events or errors
      */
     public void fetchRelatedEvents(EventCallback callback) {
         @SuppressLint("HardwareIds") String deviceID = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
         Log.d("fetchRelatedEvents", "DeviceID => " + deviceID);
 
-        // Fetch all events from Firestore (filtering will be done client-side)
-        db.collection("events")
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        eventList.clear();
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            Map<String, List<String>> entrantList = (Map<String, List<String>>) document.get("entrantList");
-                            if (entrantList != null) {
-                                // Check all subfields of entrantList for the deviceID
-                                boolean isInEntrantList =
-                                        (entrantList.get("Waiting") != null && entrantList.get("Waiting").contains(deviceID)) ||
-                                                (entrantList.get("Attendee") != null && entrantList.get("Attendee").contains(deviceID)) ||
-                                                (entrantList.get("Selected") != null && entrantList.get("Selected").contains(deviceID)) ||
-                                                (entrantList.get("Cancelled") != null && entrantList.get("Cancelled").contains(deviceID));
-
-                                if (isInEntrantList) {
-                                    String owner = document.getString("owner");
-                                    String name = document.getString("name");
-                                    String detail = document.getString("detail");
-                                    String rules = document.getString("rules");
-                                    String facility = document.getString("facility");
-                                    String deadline = document.getString("deadline");
-                                    String startDate = document.getString("startDate");
-                                    String ticketPrice = document.getString("ticketPrice");
-                                    String eventID = document.getString("eventID");
-                                    Uri imageUri = document.getString("imageUri") != null ? Uri.parse(document.getString("imageUri")) : null;
-
-                                    Event event = new Event(eventID, owner, name, detail, rules, deadline, startDate, ticketPrice, imageUri, facility);
-                                    eventList.add(event);
-                                }
-                            }
-                        }
-                        callback.onEventListLoaded(eventList);
-                    } else {
-                        Log.w("EventController", "Error getting documents.", task.getException());
-                        callback.onError(task.getException());
+        entrantRepository.membershipsOf(deviceID).get()
+                .addOnSuccessListener(memberships -> {
+                    Map<String, String> statuses = new HashMap<>();
+                    for (DocumentSnapshot membership : memberships) {
+                        statuses.put(membership.getId(), membership.getString("status"));
                     }
+                    fetchEventsByIds(new ArrayList<>(statuses.keySet()), statuses, callback);
+                })
+                .addOnFailureListener(e -> {
+                    Log.w("EventController", "Error getting memberships.", e);
+                    callback.onError(e);
                 });
     }
 
-
     /**
-     * Checks if an entrant can be added to an event, and if so, adds the entrant's details.
-     * If the entrant list reaches its limit, an error is reported.
+     * Fetches the events with the given IDs, in chunks of at most
+     * {@link #WHERE_IN_LIMIT} IDs per query.
      *
-     * @param eventId      the ID of the event to add the entrant to
-     * @param name         the name of the entrant
-     * @param email        the email of the entrant
-     * @param phoneNumber  the phone number of the entrant
-     * @param callback     callback to handle success or error
+     * @param eventIds the IDs of the events to fetch
+     * @param statuses the user's entrant status for each event ID
+     * @param callback callback to handle the loaded events or errors
      */
-    public void checkAndAddEntrant(String eventId, String name, String email, String phoneNumber, EventCallback callback) {
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        List<Map<String, String>> currentWaitingList = (List<Map<String, String>>) documentSnapshot.get("entrantList.Waiting");
-                        int entrantsLimit = documentSnapshot.getLong("entrants").intValue();
-
-                        if (currentWaitingList == null) {
-                            currentWaitingList = new ArrayList<>();
-                        }
+    private void fetchEventsByIds(List<String> eventIds, Map<String, String> statuses, EventCallback callback) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (int i = 0; i < eventIds.size(); i += WHERE_IN_LIMIT) {
+            List<String> chunk = eventIds.subList(i, Math.min(i + WHERE_IN_LIMIT, eventIds.size()));
+            queries.add(db.collection(SUMMARIES).whereIn(FieldPath.documentId(), chunk).get());
+        }
 
-                        if (currentWaitingList.size() < entrantsLimit) {
-                            Map<String, String> userDetails = new HashMap<>();
-                            userDetails.put("name", name);
-                            userDetails.put("email", email);
-                            userDetails.put("phoneNumber", phoneNumber);
-
-                            db.collection("events").document(eventId)
-                                    .update("entrantList.Waiting", FieldValue.arrayUnion(userDetails))
-                                    .addOnSuccessListener(aVoid -> {
-                                        Log.d("EventController", "User with details added to Waiting List successfully.");
-                                        callback.onEventCreated(eventId);
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.e("EventController", "Error adding user to Waiting List: " + e.getMessage());
-                                        callback.onError(e);
-                                    });
-                        } else {
-                            Log.d("EventController", "Entrant limit reached. No more users can join.");
-                            callback.onError(new Exception("Entrant limit reached. No more users can join."));
+        Tasks.<QuerySnapshot>whenAllSuccess(queries)
+                .addOnSuccessListener(results -> {
+                    eventList.clear();
+                    for (QuerySnapshot result : results) {
+                        for (DocumentSnapshot document : result.getDocuments()) {
+                            Event event = toEvent(document);
+                            event.setEntrantStatus(statuses.get(document.getId()));
+                            eventList.add(event);
                         }
-                    } else {
-                        Log.e("EventController", "Event not found.");
-                        callback.onError(new Exception("Event not found."));
                     }
+                    callback.onEventListLoaded(eventList);
                 })
                 .addOnFailureListener(e -> {
-                    Log.e("EventController", "Error fetching event data: " + e.getMessage());
+                    Log.w("EventController", "Error getting documents.", e);
+                    callback.onError(e);
+                });
+    }
+
+    /**
+     * Maps an event summary document to an {@link Event}. Summaries carry no rules, so
+     * the event's rules are left null for the detail screens to load.
+     *
+     * @param document the event summary document
+     * @return the event
+     */
+    private Event toEvent(DocumentSnapshot document) {
+        EventSummary summary = document.toObject(EventSummary.class);
+        Uri imageUri = summary.getImageUri() != null ? Uri.parse(summary.getImageUri()) : null;
+
+        Event event = new Event(summary.getEventID(), summary.getOwner(), summary.getName(), summary.getDetail(), null,
+                summary.getDeadline(), summary.getStartDate(), summary.getTicketPrice(), imageUri, summary.getFacility());
+        if (summary.getDeadlineAt() != null) {
+            event.setDeadlineAt(summary.getDeadlineAt().toDate().getTime());
+        }
+        if (summary.getStartAt() != null) {
+            event.setStartAt(summary.getStartAt().toDate().getTime());
+        }
+        if (summary.getPriceCents() != null) {
+            event.setPriceCents(summary.getPriceCents());
+        }
+        event.setPosterUrl(summary.getPosterUrl());
+        event.setPosterVersion(summary.getPosterVersion());
+        return event;
+    }
+
+    /**
+     * Checks if an entrant can be added to an event, and if so, adds them to the waiting
+     * list. The join goes through {@link EntrantRepository#setStatus}, which reads the
+     * user's entrant document in the same transaction as the capacity check, so joining
+     * again while already waiting changes nothing and is never counted twice. The join
+     * writes the user's entrant and membership documents and one counter shard, never the
+     * event document. If the entrant list reaches its limit, an error is reported.
+     *
+     * @param eventId  the ID of the event to add the entrant to
+     * @param userId   the ID of the user joining
+     * @param callback callback to handle success or error
+     */
+    public void checkAndAddEntrant(String eventId, String userId, EventCallback callback) {
+        entrantRepository.setStatus(eventId, userId, EntrantRepository.WAITING)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("EventController", "User " + userId + " added to Waiting List successfully.");
+                    callback.onEventCreated(eventId);
+                }).addOnFailureListener(e -> {
+                    Log.e("EventController", "Error adding user to Waiting List: " + e.getMessage());
                     callback.onError(e);
                 });
     }
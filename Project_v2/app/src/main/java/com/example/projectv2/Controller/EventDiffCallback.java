@@ -0,0 +1,55 @@
+package com.example.projectv2.Controller;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.projectv2.Model.Event;
+
+import java.util.Objects;
+
+/**
+ * DiffUtil callback shared by the event list adapters.
+ *
+ * <p>Events are matched by event ID, and a matched event is only rebound when one of the
+ * fields shown on an event card has changed. The diff is computed on a background thread
+ * by {@link androidx.recyclerview.widget.ListAdapter}, so a refresh only touches the rows
+ * that actually changed.</p>
+ */
+public class EventDiffCallback extends DiffUtil.ItemCallback<Event> {
+
+    /**
+     * Checks whether two events represent the same event.
+     *
+     * @param oldItem the event in the old list
+     * @param newItem the event in the new list
+     * @return true if both events have the same event ID
+     */
+    @Override
+    public boolean areItemsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+        return Objects.equals(oldItem.getEventID(), newItem.getEventID());
+    }
+
+    /**
+     * Checks whether an event's displayed fields are unchanged.
+     *
+     * @param oldItem the event in the old list
+     * @param newItem the event in the new list
+     * @return true if every field shown on the event card is equal
+     */
+    @Override
+    public boolean areContentsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+        return Objects.equals(oldItem.getName(), newItem.getName())
+                && Objects.equals(oldItem.getOwner(), newItem.getOwner())
+                && Objects.equals(oldItem.getDetail(), newItem.getDetail())
+                && Objects.equals(oldItem.getDeadline(), newItem.getDeadline())
+                && Objects.equals(oldItem.getStartDate(), newItem.getStartDate())
+                && Objects.equals(oldItem.getTicketPrice(), newItem.getTicketPrice())
+                && Objects.equals(oldItem.getImageUri(), newItem.getImageUri())
+                && Objects.equals(oldItem.getEntrantStatus(), newItem.getEntrantStatus())
+                && oldItem.getDeadlineAt() == newItem.getDeadlineAt()
+                && oldItem.getPriceCents() == newItem.getPriceCents()
+                && Objects.equals(oldItem.getPosterUrl(), newItem.getPosterUrl())
+                && oldItem.getPosterVersion() == newItem.getPosterVersion()
+                && oldItem.getWaitingCount() == newItem.getWaitingCount();
+    }
+}
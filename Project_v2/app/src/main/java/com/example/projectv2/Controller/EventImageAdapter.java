@@ -1,6 +1,5 @@
 package com.example.projectv2.Controller;
 
-import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Context;
 import android.util.Log;
@@ -12,33 +11,46 @@ import android.widget.ImageView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.projectv2.R;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Adapter for displaying a list of event images in a RecyclerView. Each item displays an image
  * and a delete button to remove the image from the event.
  */
-public class EventImageAdapter extends RecyclerView.Adapter<EventImageAdapter.ImageViewHolder> {
+public class EventImageAdapter extends ListAdapter<String, EventImageAdapter.ImageViewHolder> {
 
     private static final String TAG = "EventImageAdapter";
+    private static final DiffUtil.ItemCallback<String> DIFF_CALLBACK = new DiffUtil.ItemCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
     private final Context context;
-    private final List<String> imageFilenames; // List of filenames
     private final ImageController imageController;
 
     /**
-     * Constructs an EventImageAdapter with the specified context and list of image filenames.
+     * Constructs an EventImageAdapter with the specified context. Image filenames are
+     * supplied later through {@link #updateImageList(List)}.
      *
-     * @param context        the context in which the adapter is operating
-     * @param imageFilenames the list of image filenames to display
+     * @param context the context in which the adapter is operating
      */
-    public EventImageAdapter(Context context, List<String> imageFilenames) {
+    public EventImageAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.imageFilenames = imageFilenames; // Assume placeholders are already filtered
         this.imageController = new ImageController(); // Initialize ImageController
     }
 
@@ -63,8 +75,8 @@ public class EventImageAdapter extends RecyclerView.Adapter<EventImageAdapter.Im
      * @param position the position of the item in the RecyclerView
      */
     @Override
-    public void onBindViewHolder(@NonNull ImageViewHolder holder, @SuppressLint("RecyclerView") int position) {
-        String filename = imageFilenames.get(position);
+    public void onBindViewHolder(@NonNull ImageViewHolder holder, int position) {
+        String filename = getItem(position);
 
         // Check if context is a valid Activity and not destroyed before loading images
         if (context instanceof Activity && ((Activity) context).isDestroyed()) {
@@ -72,22 +84,13 @@ public class EventImageAdapter extends RecyclerView.Adapter<EventImageAdapter.Im
             return;
         }
 
-        // Fetch and display the image
-        imageController.getDownloadUrl(filename, new ImageController.ImageRetrieveCallback() {
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                Glide.with(context)
-                        .load(downloadUrl)
-                        .placeholder(R.drawable.placeholder_event)
-                        .into(holder.imageView);
-            }
-
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                Log.e(TAG, "Failed to fetch image: " + filename, e);
-                holder.imageView.setImageResource(R.drawable.placeholder_event); // Set placeholder
-            }
-        });
+        // Load the thumbnail that fits the grid cell, without a download URL lookup
+        Glide.with(context)
+                .load(new StorageImage(filename))
+                .placeholder(R.drawable.placeholder_event)
+                .error(R.drawable.placeholder_event)
+                .centerCrop()
+                .into(holder.imageView);
 
         // Handle delete button click
         holder.deleteButton.setOnClickListener(v -> {
@@ -99,10 +102,10 @@ public class EventImageAdapter extends RecyclerView.Adapter<EventImageAdapter.Im
                 public void onDeleteSuccess() {
                     Log.d(TAG, "Image deleted: " + filename);
 
-                    // Update the UI
-                    imageFilenames.remove(position);
-                    notifyItemRemoved(position);
-                    notifyItemRangeChanged(position, imageFilenames.size());
+                    // Remove the image from the current list, wherever it is by now
+                    List<String> remaining = new ArrayList<>(getCurrentList());
+                    remaining.remove(filename);
+                    submitList(remaining);
 
                     Toast.makeText(context, "Image deleted successfully.", Toast.LENGTH_SHORT).show();
                 }
@@ -117,13 +120,13 @@ public class EventImageAdapter extends RecyclerView.Adapter<EventImageAdapter.Im
     }
 
     /**
-     * Returns the total number of images in the list.
+     * Replaces the image list in the adapter. Only the rows that changed are rebound once
+     * the background diff completes.
      *
-     * @return the total number of images
+     * @param newFilenames the new list of image filenames to display
      */
-    @Override
-    public int getItemCount() {
-        return imageFilenames.size();
+    public void updateImageList(List<String> newFilenames) {
+        submitList(new ArrayList<>(newFilenames));
     }
 
     /**
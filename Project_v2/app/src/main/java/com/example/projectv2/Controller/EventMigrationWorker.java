@@ -0,0 +1,257 @@
+package com.example.projectv2.Controller;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.provider.Settings;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventMigrationWorker is a one-time background worker that brings event documents
+ * written in an older layout up to date.
+ *
+ * <p>The migration runs once for the whole database, not once per install. Its progress is
+ * kept on the {@link JobLease} document {@code jobs/eventMigration}: a run first reads the
+ * {@code version} recorded there, and an install that finds the current version marks
+ * itself done after that single read. Otherwise the run claims the lease, and exits while
+ * another device holds it; that device finishes the migration and later runs find it
+ * done.</p>
+ *
+ * <p>The lease holder reads events a page at a time in document ID order. Each event
+ * records the layout it was written in as {@code schemaVersion}, and events below
+ * {@link #SCHEMA_VERSION} are upgraded. Every write runs in a transaction that checks the
+ * lease, so a device that has lost the lease stops at its next write. The event's fields
+ * and version are written together once the event has been re-read in the same
+ * transaction, so an event is never upgraded twice. The worker is safe to run more than
+ * once, as events that are already up to date are skipped.</p>
+ *
+ * <ul>
+ *     <li>Version 1: entrants are copied from the {@code entrantList} arrays into the
+ *     {@code entrants} subcollection and the users' {@code memberships} index.</li>
+ *     <li>Version 2: a list summary is written to {@code eventSummaries}.</li>
+ *     <li>Version 3: the deadline is stored as a {@code deadlineAt} timestamp with a
+ *     {@code sweepDone} flag, for {@link DeadlineWorker}.</li>
+ *     <li>Version 4: the start date, ticket price and capacities are stored as typed
+ *     {@code startAt}, {@code priceCents}, {@code attendeeLimit} and {@code entrantLimit}
+ *     fields, and the typed dates and price are copied into the summary.</li>
+ *     <li>Version 5: the entrant counts are built into sharded counter documents, each
+ *     entrant is given a counter shard, and the single waiting list counter is removed.</li>
+ * </ul>
+ */
+public class EventMigrationWorker extends Worker {
+    private static final String TAG = "EventMigrationWorker";
+    /** The layout version written by the current app for new events. */
+    public static final int SCHEMA_VERSION = 5;
+    private static final int PAGE_SIZE = 50;
+    /** Name of the migration's lease document under {@code jobs}. */
+    private static final String JOB = "eventMigration";
+    /** How long a claimed lease keeps other devices from migrating. */
+    private static final long LEASE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    /** The lease is renewed once less than this much of it is left. */
+    private static final long LEASE_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    private static final String PREFS = "migrationPrefs";
+    private static final String KEY_VERSION = "eventSchemaVersion";
+    private final FirebaseFirestore db;
+    private final EntrantRepository entrantRepository;
+
+    /**
+     * Constructor for EventMigrationWorker.
+     *
+     * @param context      The application context.
+     * @param workerParams Parameters for the worker.
+     */
+    public EventMigrationWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+        db = FirebaseFirestore.getInstance();
+        entrantRepository = new EntrantRepository();
+    }
+
+    /**
+     * Enqueues the migration unless this device has already seen it completed for the
+     * current schema version.
+     *
+     * @param context The context used to reach WorkManager and preferences.
+     */
+    public static void enqueueIfNeeded(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        if (prefs.getInt(KEY_VERSION, 0) >= SCHEMA_VERSION) {
+            return;
+        }
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(EventMigrationWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork("MigrateEvents", ExistingWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Migrates every event that is still in an older layout, unless the migration has
+     * already been completed or another device is running it.
+     *
+     * @return {@link Result#success()} once the migration is complete or running on another
+     * device, or {@link Result#retry()} if a read or write failed or the lease was lost.
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        @SuppressLint("HardwareIds") String owner = Settings.Secure.getString(getApplicationContext().getContentResolver(),
+                Settings.Secure.ANDROID_ID);
+        JobLease lease = new JobLease(db, JOB, owner, LEASE_MILLIS);
+        try {
+            Long done = Tasks.await(lease.document().get()).getLong("version");
+            if (done != null && done >= SCHEMA_VERSION) {
+                markDone();
+                return Result.success();
+            }
+            if (!lease.claim()) {
+                Log.d(TAG, "Event migration is running on another device");
+                return Result.success();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Could not start the event migration", e);
+            return Result.retry();
+        }
+
+        Query query = db.collection("events").orderBy(FieldPath.documentId()).limit(PAGE_SIZE);
+        DocumentSnapshot last = null;
+        try {
+            while (true) {
+                Query page = last == null ? query : query.startAfter(last);
+                QuerySnapshot snapshot = Tasks.await(page.get());
+                List<DocumentSnapshot> documents = snapshot.getDocuments();
+                for (DocumentSnapshot document : documents) {
+                    if (lease.remainingMillis() < LEASE_MARGIN_MILLIS && !lease.claim()) {
+                        Log.w(TAG, "Event migration lease was taken over");
+                        return Result.retry();
+                    }
+                    migrate(document, lease);
+                }
+                if (documents.size() < PAGE_SIZE) {
+                    Tasks.await(db.runTransaction((Transaction.Function<Void>) transaction -> {
+                        lease.check(transaction);
+                        transaction.update(lease.document(), "version", SCHEMA_VERSION);
+                        return null;
+                    }));
+                    markDone();
+                    return Result.success();
+                }
+                last = documents.get(documents.size() - 1);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Event migration failed", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Records on this device that the migration is complete for the current schema version,
+     * so it is not enqueued again.
+     */
+    private void markDone() {
+        getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE)
+                .edit().putInt(KEY_VERSION, SCHEMA_VERSION).apply();
+    }
+
+    /**
+     * Migrates a single event document. The entrant documents and counter shards are
+     * brought up to date first, then the event's own fields, its summary and its version
+     * are written together once the event has been re-read in the same transaction.
+     *
+     * @param document The event document.
+     * @param lease    The migration lease held by this device.
+     * @throws Exception If a write fails or the lease has been lost.
+     */
+    private void migrate(DocumentSnapshot document, JobLease lease) throws Exception {
+        if (versionOf(document) >= SCHEMA_VERSION) {
+            return;
+        }
+        if (versionOf(document) < 1) {
+            Tasks.await(entrantRepository.migrateEvent(document, lease));
+        }
+        if (versionOf(document) < 5) {
+            Tasks.await(entrantRepository.migrateCounters(document, lease));
+        }
+
+        DocumentReference summaryRef = db.collection(EventController.SUMMARIES).document(document.getId());
+        Tasks.await(db.runTransaction((Transaction.Function<Void>) transaction -> {
+            lease.check(transaction);
+            DocumentSnapshot event = transaction.get(document.getReference());
+            long version = versionOf(event);
+            if (version >= SCHEMA_VERSION) {
+                return null;
+            }
+            Map<String, Object> updates = new HashMap<>();
+            if (version < 2) {
+                transaction.set(summaryRef, EventController.summaryOf(event.getData()));
+            }
+            if (version < 3) {
+                // Expired events are left unswept so the next sweep cancels their selected entrants
+                updates.put("deadlineAt", EventController.deadlineAt(event.getString("deadline")));
+                updates.put("sweepDone", false);
+            }
+            if (version < 4) {
+                Map<String, Object> typed = EventController.typedFields(textOf(event, "deadline"),
+                        textOf(event, "attendees"), textOf(event, "entrants"),
+                        textOf(event, "startDate"), textOf(event, "ticketPrice"));
+                Map<String, Object> summary = new HashMap<>();
+                summary.put("deadlineAt", typed.get("deadlineAt"));
+                summary.put("startAt", typed.get("startAt"));
+                summary.put("priceCents", typed.get("priceCents"));
+                updates.putAll(typed);
+                transaction.set(summaryRef, summary, SetOptions.merge());
+            }
+            updates.put("schemaVersion", SCHEMA_VERSION);
+            transaction.update(document.getReference(), updates);
+            return null;
+        }));
+        Log.d(TAG, "Migrated event " + document.getId() + " to schema version " + SCHEMA_VERSION);
+    }
+
+    /**
+     * Returns the layout version an event was written in.
+     *
+     * @param document The event document.
+     * @return The schema version, or 0 if none is recorded.
+     */
+    private static long versionOf(DocumentSnapshot document) {
+        Long version = document.getLong("schemaVersion");
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Reads a field as text, whether it was stored as a string or a number.
+     *
+     * @param document The event document.
+     * @param field    The field to read.
+     * @return The field as text, or null if it is missing.
+     */
+    private static String textOf(DocumentSnapshot document, String field) {
+        Object value = document.get(field);
+        return value != null ? value.toString() : null;
+    }
+}
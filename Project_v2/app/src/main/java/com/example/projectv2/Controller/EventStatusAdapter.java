@@ -1,10 +1,7 @@
 package com.example.projectv2.Controller;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.Intent;
-import android.provider.Settings;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,40 +9,35 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.fragment.app.FragmentActivity;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.bumptech.glide.RequestManager;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
 import com.example.projectv2.View.EventLandingPageUserActivity;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for displaying a list of event statuses in a RecyclerView.
  */
-public class EventStatusAdapter extends RecyclerView.Adapter<EventStatusAdapter.ViewHolder> {
+public class EventStatusAdapter extends ListAdapter<Event, EventStatusAdapter.ViewHolder> {
 
     private static final String TAG = "EventStatusAdapter";
-    private final List<Event> eventList;
     private final Context context;
-    private final FirebaseFirestore db;
 
     /**
-     * Constructs an EventStatusAdapter with the specified context and list of events.
+     * Constructs an EventStatusAdapter with the specified context. Events are supplied later
+     * through {@link #updateEventList(List)}.
      *
-     * @param context   the context in which the adapter is operating
-     * @param eventList the list of events to display
+     * @param context the context in which the adapter is operating
      */
-    public EventStatusAdapter(Context context, List<Event> eventList) {
+    public EventStatusAdapter(Context context) {
+        super(new EventDiffCallback());
         this.context = context;
-        this.eventList = eventList;
-        db = FirebaseFirestore.getInstance();
+        setHasStableIds(true);
     }
 
     /**
@@ -71,139 +63,66 @@ public class EventStatusAdapter extends RecyclerView.Adapter<EventStatusAdapter.
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Event event = eventList.get(position);
-        String eventID = event.getEventID();
-
-        setTextStatus(eventID, status -> {
-            if (status == 0) {
-                holder.waiting.setVisibility(View.VISIBLE);
-            } else if (status == 1) {
-                holder.accepted.setVisibility(View.VISIBLE);
-            } else if (status == 2) {
-                holder.declined.setVisibility(View.VISIBLE);
-            }
-        });
+        Event event = getItem(position);
+
+        // The status was resolved when the list was loaded, so binding needs no reads
+        String status = event.getEntrantStatus();
+        holder.waiting.setVisibility(View.GONE);
+        holder.accepted.setVisibility(View.GONE);
+        holder.declined.setVisibility(View.GONE);
+        if (EntrantRepository.SELECTED.equals(status) || EntrantRepository.ATTENDEE.equals(status)) {
+            holder.accepted.setVisibility(View.VISIBLE);
+        } else if (EntrantRepository.CANCELLED.equals(status)) {
+            holder.declined.setVisibility(View.VISIBLE);
+        } else {
+            holder.waiting.setVisibility(View.VISIBLE);
+        }
 
         // Bind event data to UI elements
         holder.eventName.setText(event.getName());
         holder.eventDate.setText(event.getDeadline());
-        holder.eventPrice.setText(event.getTicketPrice() != null && !event.getTicketPrice().equals("0") ? "$" + event.getTicketPrice() : "Free");
+        holder.eventPrice.setText(event.getDisplayPrice());
 
         // Load event image
-        loadEventImage(event, holder.eventImage);
+        loadEventImage(event, holder);
 
         // Set OnClickListener to navigate to EventLandingPageOrganizerActivity
         holder.itemView.setOnClickListener(v -> navigateToEventDetails(event));
     }
 
     /**
-     * Returns the total number of events in the list.
+     * Returns a stable ID for the event at the given position, so rows keep their
+     * identity across list updates.
      *
-     * @return the total number of events
+     * @param position the position of the item in the RecyclerView
+     * @return the stable ID of the event
      */
     @Override
-    public int getItemCount() {
-        return eventList.size();
+    public long getItemId(int position) {
+        return getItem(position).getEventID().hashCode();
     }
 
     /**
-     * Updates the event list with a new list of events and notifies the adapter to refresh the view.
+     * Replaces the event list. Only the rows that changed are rebound once the background
+     * diff completes.
      *
      * @param newEvents the new list of events to display
      */
     public void updateEventList(List<Event> newEvents) {
-        this.eventList.clear();
-        this.eventList.addAll(newEvents);
-        notifyDataSetChanged();
-    }
-
-    /**
-     * Callback interface for fetching the status of an event.
-     */
-    public interface StatusCallback {
-        void onStatusFetched(int status);
-    }
-
-    /**
-     * Fetches the status of the current device for the specified event.
-     *
-     * @param eventID  the ID of the event to fetch the status for
-     * @param callback the callback to pass the status back to
-     */
-    private void setTextStatus(String eventID, StatusCallback callback) {
-        @SuppressLint("HardwareIds")
-        String deviceID = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
-
-        db.collection("events").document(eventID).get()
-                .addOnCompleteListener(task -> {
-                    int status = 0; // Default status
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        DocumentSnapshot document = task.getResult();
-                        Map<String, List<String>> entrantList = (Map<String, List<String>>) document.get("entrantList");
-
-                        if (entrantList != null) {
-                            if (entrantList.get("Waiting") != null && entrantList.get("Waiting").contains(deviceID)) {
-                                status = 0; // Waiting
-                            } else if ((entrantList.get("Selected") != null && entrantList.get("Selected").contains(deviceID)) ||
-                                    (entrantList.get("Attendee") != null && entrantList.get("Attendee").contains(deviceID))) {
-                                status = 1; // Selected or Attendee
-                            } else if (entrantList.get("Cancelled") != null && entrantList.get("Cancelled").contains(deviceID)) {
-                                status = 2; // Cancelled
-                            }
-                        }
-                    } else {
-                        Log.e("setTextStatus", "Error fetching document or document does not exist", task.getException());
-                    }
-
-                    // Pass the status back through the callback
-                    callback.onStatusFetched(status);
-                });
+        submitList(new ArrayList<>(newEvents));
     }
 
     /**
-     * Loads the image for the specified event into the provided ImageView.
+     * Loads the event's poster into the holder's ImageView. Glide cancels the previous
+     * load when the holder is rebound, and the poster URL is stored on the event or
+     * cached, so binding makes no Storage call.
      *
-     * @param event      the event to load the image for
-     * @param eventImage the ImageView to load the image into
+     * @param event  the event to load the image for
+     * @param holder the ViewHolder showing the event
      */
-    private void loadEventImage(Event event, ImageView eventImage) {
-        ImageController imageController = new ImageController();
-        String eventName = event.getName();
-
-        imageController.retrieveImage(eventName, new ImageController.ImageRetrieveCallback() {
-            /**
-             * Loads the image into the ImageView if the image retrieval is successful.
-             *
-             * @param downloadUrl the download URL of the image
-             */
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                if (context instanceof FragmentActivity) {
-                    FragmentActivity activity = (FragmentActivity) context;
-                    if (!activity.isDestroyed() && !activity.isFinishing()) {
-                        Glide.with(context)
-                                .load(downloadUrl)
-                                .placeholder(R.drawable.placeholder_event) // Placeholder while loading
-                                .error(R.drawable.placeholder_event) // Placeholder on error
-                                .centerCrop()
-                                .into(eventImage);
-                    } else {
-                        Log.w(TAG, "Activity is destroyed or finishing. Skipping image load.");
-                    }
-                }
-            }
-
-            /**
-             * Sets a fallback image if the image retrieval fails.
-             *
-             * @param e the exception that occurred during image retrieval
-             */
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                Log.e(TAG, "Failed to retrieve image for event: " + eventName, e);
-                eventImage.setImageResource(R.drawable.placeholder_event); // Set fallback image
-            }
-        });
+    private void loadEventImage(Event event, ViewHolder holder) {
+        PosterCache.getInstance(context).load(holder.eventImage,
+                event.getEventID(), event.getName(), event.getPosterUrl(), event.getPosterVersion());
     }
 
     /**
@@ -217,10 +136,13 @@ public class EventStatusAdapter extends RecyclerView.Adapter<EventStatusAdapter.
         intent.putExtra("details", event.getDetail());
         intent.putExtra("rules", event.getRules());
         intent.putExtra("deadline", event.getDeadline());
+        intent.putExtra("deadlineAt", event.getDeadlineAt());
         intent.putExtra("startDate", event.getStartDate());
         intent.putExtra("price", event.getTicketPrice());
         intent.putExtra("eventID", event.getEventID());
         intent.putExtra("owner", event.getOwner());
+        intent.putExtra("posterUrl", event.getPosterUrl());
+        intent.putExtra("posterVersion", event.getPosterVersion());
         if (event.getImageUri() != null) {
             intent.putExtra("imageUri", event.getImageUri().toString());
         }
@@ -1,9 +1,11 @@
 package com.example.projectv2.Controller;
 
+import android.content.Context;
 import android.net.Uri;
 import android.util.Log;
 import android.widget.Toast;
 
+import com.example.projectv2.core.ImageVariants;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 
@@ -53,20 +55,22 @@ public class ImageController {
     }
 
     /**
-     * Uploads an image to Firebase Storage with a filename based on the event name.
+     * Uploads an event poster to Firebase Storage, shrunk and re-encoded by
+     * {@link ImageUploadPipeline}, replacing any existing file at the path.
      *
+     * @param context   The context used to read the image.
      * @param imageUri  The URI of the image to be uploaded.
-     * @param filePath
+     * @param filePath  The Storage path to upload to.
      * @param callback  Callback for success or failure.
      */
-    public void uploadImage(Uri imageUri, String filePath, ImageUploadCallback callback) {
+    public void uploadImage(Context context, Uri imageUri, String filePath, ImageUploadCallback callback) {
         // Use the passed filePath directly
         StorageReference imageRef = storageReference.child(filePath);
 
         Log.d(TAG, "Uploading image to: " + filePath);
 
         // Upload the file, replacing any existing file at the path
-        imageRef.putFile(imageUri)
+        new ImageUploadPipeline(context).uploadPoster(imageUri, imageRef)
                 .addOnSuccessListener(taskSnapshot -> imageRef.getDownloadUrl().addOnSuccessListener(uri -> {
                     Log.d(TAG, "Image uploaded successfully: " + uri.toString());
                     callback.onUploadSuccess(uri.toString());
@@ -78,6 +82,44 @@ public class ImageController {
     }
 
 
+    /**
+     * Returns the Storage path of an event's poster, which is named after the event.
+     *
+     * @param eventName The name of the event.
+     * @return The path of the poster.
+     */
+    public static String posterPath(String eventName) {
+        // Replace special characters and spaces with underscores
+        String sanitizedEventName = eventName.trim()
+                .replaceAll("[/\\-?!@#$%^Z&*()]+", "_") // Replace special characters with underscores
+                .replaceAll("\\s+", "_");
+        return "event_posters/event_posters_" + sanitizedEventName + ".jpg";
+    }
+
+    /**
+     * Returns the Storage reference of an event's poster.
+     *
+     * @param eventName The name of the event.
+     * @return The reference of the poster.
+     */
+    public StorageReference posterReference(String eventName) {
+        return storageReference.child(posterPath(eventName));
+    }
+
+    /**
+     * Deletes the thumbnails of an image. Missing thumbnails are ignored.
+     *
+     * @param path The Storage path of the full size image.
+     */
+    public static void deleteVariants(String path) {
+        StorageReference root = FirebaseStorage.getInstance().getReference();
+        for (int size : ImageVariants.SIZES) {
+            String variant = ImageVariants.path(path, size);
+            root.child(variant).delete()
+                    .addOnFailureListener(e -> Log.d(TAG, "No thumbnail deleted at " + variant, e));
+        }
+    }
+
     /**
      * Retrieves the download URL of an image based on the event name.
      *
@@ -85,19 +127,12 @@ public class ImageController {
      * @param callback  Callback for success or failure.
      */
     public void retrieveImage(String eventName, ImageRetrieveCallback callback) {
-        // Construct file path: event_posters_<eventName>.jpg
         if (eventName == null || eventName.isEmpty()) {
             Log.e(TAG, "Event name is null or empty. Cannot retrieve image.");
             callback.onRetrieveFailure(new IllegalArgumentException("Event name cannot be null or empty."));
             return;
         }
-        // Replace special characters and spaces with underscores
-        String sanitizedEventName = eventName.trim()
-                .replaceAll("[/\\-?!@#$%^Z&*()]+", "_") // Replace special characters with underscores
-                .replaceAll("\\s+", "_");
-
-        // Construct the full file path using the sanitized name
-        String fileName = "event_posters/event_posters_" + sanitizedEventName + ".jpg";
+        String fileName = posterPath(eventName);
         StorageReference imageRef = storageReference.child(fileName);
 
         Log.d(TAG, "Retrieving image from: " + fileName);
@@ -132,6 +167,7 @@ public class ImageController {
                     imageRef.delete()
                             .addOnSuccessListener(aVoid -> {
                                 Log.d(TAG, "File deleted successfully: " + filename);
+                                deleteVariants(filename);
                                 callback.onDeleteSuccess();
                             })
                             .addOnFailureListener(e -> {
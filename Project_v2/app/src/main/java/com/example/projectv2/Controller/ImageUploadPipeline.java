@@ -0,0 +1,252 @@
+package com.example.projectv2.Controller;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import com.example.projectv2.core.ImageSizing;
+import com.example.projectv2.core.ImageVariants;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ImageUploadPipeline shrinks a picked image before it is uploaded to Firebase Storage.
+ *
+ * <p>Gallery images are often camera photos of several megabytes, which used to be uploaded
+ * as they were and then downloaded in full by every device showing them. The pipeline
+ * decodes the image at a power of two subsample, scales it to fit its target size, turns it
+ * upright, and encodes it as WebP. Re-encoding the pixels drops the EXIF metadata, including
+ * any location the photo was taken at. A thumbnail for each of {@link ImageVariants#SIZES}
+ * is cut from the same decoded image and stored under the path given by
+ * {@link ImageVariants#path}, so list rows can load a small copy. All of this runs on a
+ * background thread, and the resulting bytes are uploaded with
+ * {@link StorageReference#putBytes}.</p>
+ */
+public class ImageUploadPipeline {
+    private static final String TAG = "ImageUploadPipeline";
+
+    /** Largest width of an event poster. */
+    public static final int POSTER_WIDTH = 1080;
+    /** Largest height of an event poster. */
+    public static final int POSTER_HEIGHT = 1920;
+    /** Largest width and height of a profile picture. */
+    public static final int AVATAR_SIZE = 512;
+    /** WebP quality used for uploads. */
+    private static final int QUALITY = 80;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ImageUploadPipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ContentResolver resolver;
+
+    /**
+     * Constructs an ImageUploadPipeline that reads images through the given context.
+     *
+     * @param context Any context; its content resolver is used to open images.
+     */
+    public ImageUploadPipeline(Context context) {
+        this.resolver = context.getApplicationContext().getContentResolver();
+    }
+
+    /**
+     * Shrinks an image to fit an event poster and uploads it.
+     *
+     * @param source      The URI of the picked image.
+     * @param destination The Storage reference to upload to.
+     * @return A task that completes when the upload finishes.
+     */
+    public Task<UploadTask.TaskSnapshot> uploadPoster(Uri source, StorageReference destination) {
+        return upload(source, destination, POSTER_WIDTH, POSTER_HEIGHT);
+    }
+
+    /**
+     * Shrinks an image to fit a profile picture and uploads it.
+     *
+     * @param source      The URI of the picked image.
+     * @param destination The Storage reference to upload to.
+     * @return A task that completes when the upload finishes.
+     */
+    public Task<UploadTask.TaskSnapshot> uploadAvatar(Uri source, StorageReference destination) {
+        return upload(source, destination, AVATAR_SIZE, AVATAR_SIZE);
+    }
+
+    /**
+     * Shrinks an image to fit a bounding box, encodes it and its thumbnails as WebP and
+     * uploads them. A thumbnail that fails to upload is only logged, since loads fall back
+     * to the full image.
+     *
+     * @param source      The URI of the picked image.
+     * @param destination The Storage reference to upload to.
+     * @param maxWidth    The largest width of the uploaded image.
+     * @param maxHeight   The largest height of the uploaded image.
+     * @return A task that completes when every upload finishes, or fails if the image could
+     *         not be read or the full image could not be uploaded.
+     */
+    public Task<UploadTask.TaskSnapshot> upload(Uri source, StorageReference destination, int maxWidth, int maxHeight) {
+        return Tasks.call(executor, () -> encodeAll(decode(source, maxWidth, maxHeight)))
+                .onSuccessTask(encoded -> {
+                    StorageMetadata metadata = new StorageMetadata.Builder()
+                            .setContentType("image/webp")
+                            .build();
+                    UploadTask original = null;
+                    List<Task<?>> uploads = new ArrayList<>();
+                    for (Map.Entry<Integer, byte[]> entry : encoded.entrySet()) {
+                        String path = ImageVariants.path(destination.getPath(), entry.getKey());
+                        Log.d(TAG, "Uploading " + entry.getValue().length + " bytes to " + path);
+                        UploadTask upload = destination.getRoot().child(path).putBytes(entry.getValue(), metadata);
+                        if (entry.getKey() == ImageVariants.ORIGINAL) {
+                            original = upload;
+                        } else {
+                            upload.addOnFailureListener(e -> Log.w(TAG, "Error uploading " + path, e));
+                        }
+                        uploads.add(upload);
+                    }
+                    UploadTask result = original;
+                    return Tasks.whenAllComplete(uploads).continueWithTask(done -> result);
+                });
+    }
+
+    /**
+     * Decodes an image scaled to fit a bounding box and turned upright.
+     *
+     * @param source    The URI of the image.
+     * @param maxWidth  The largest width of the result.
+     * @param maxHeight The largest height of the result.
+     * @return The decoded image.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    Bitmap decode(Uri source, int maxWidth, int maxHeight) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(source)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not an image: " + source);
+        }
+
+        int orientation;
+        try (InputStream in = open(source)) {
+            orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        }
+        boolean sideways = orientation == ExifInterface.ORIENTATION_ROTATE_90
+                || orientation == ExifInterface.ORIENTATION_ROTATE_270;
+        // Bounds apply to the upright image, so they are swapped for a sideways one
+        int boundWidth = sideways ? maxHeight : maxWidth;
+        int boundHeight = sideways ? maxWidth : maxHeight;
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = ImageSizing.sampleSize(bounds.outWidth, bounds.outHeight, boundWidth, boundHeight);
+        Bitmap sampled;
+        try (InputStream in = open(source)) {
+            sampled = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (sampled == null) {
+            throw new IOException("Could not decode image: " + source);
+        }
+
+        int[] size = ImageSizing.fit(sampled.getWidth(), sampled.getHeight(), boundWidth, boundHeight);
+        Matrix matrix = new Matrix();
+        matrix.postScale((float) size[0] / sampled.getWidth(), (float) size[1] / sampled.getHeight());
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270);
+                break;
+            default:
+                break;
+        }
+        if (matrix.isIdentity()) {
+            return sampled;
+        }
+        Bitmap result = Bitmap.createBitmap(sampled, 0, 0, sampled.getWidth(), sampled.getHeight(), matrix, true);
+        if (result != sampled) {
+            sampled.recycle();
+        }
+        return result;
+    }
+
+    /**
+     * Encodes an image and a thumbnail of it for each of {@link ImageVariants#SIZES}, and
+     * recycles it.
+     *
+     * @param bitmap The full image.
+     * @return The encoded bytes keyed by size, with the full image under
+     *         {@link ImageVariants#ORIGINAL}.
+     */
+    Map<Integer, byte[]> encodeAll(Bitmap bitmap) {
+        Map<Integer, byte[]> encoded = new LinkedHashMap<>();
+        for (int size : ImageVariants.SIZES) {
+            int[] fitted = ImageSizing.fit(bitmap.getWidth(), bitmap.getHeight(), size, size);
+            Bitmap thumbnail = Bitmap.createScaledBitmap(bitmap, fitted[0], fitted[1], true);
+            if (thumbnail == bitmap) {
+                // Already small enough; encoding would recycle the full image
+                thumbnail = bitmap.copy(bitmap.getConfig(), false);
+            }
+            encoded.put(size, encode(thumbnail));
+        }
+        encoded.put(ImageVariants.ORIGINAL, encode(bitmap));
+        return encoded;
+    }
+
+    /**
+     * Encodes an image as lossy WebP and recycles it.
+     *
+     * @param bitmap The image to encode.
+     * @return The encoded bytes.
+     */
+    @SuppressWarnings("deprecation")
+    byte[] encode(Bitmap bitmap) {
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(format, QUALITY, out);
+        bitmap.recycle();
+        return out.toByteArray();
+    }
+
+    /**
+     * Opens an image for reading.
+     *
+     * @param source The URI of the image.
+     * @return A stream over the image.
+     * @throws FileNotFoundException If the image cannot be opened.
+     */
+    private InputStream open(Uri source) throws FileNotFoundException {
+        InputStream in = resolver.openInputStream(source);
+        if (in == null) {
+            throw new FileNotFoundException("Could not open image: " + source);
+        }
+        return in;
+    }
+}
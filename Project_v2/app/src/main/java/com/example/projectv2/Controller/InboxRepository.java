@@ -0,0 +1,254 @@
+package com.example.projectv2.Controller;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.projectv2.Model.Notification;
+import com.example.projectv2.core.DateCodec;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository for user notification inboxes.
+ *
+ * <p>Each notification a user receives is a document in {@code Users/{userId}/inbox}
+ * with a {@code sentAt} timestamp, so the notification screen can read the newest page
+ * without downloading the whole history, and reading a user's profile never pulls in
+ * their notifications. Notifications stored in the older {@code adminNotifList} and
+ * {@code organizerNotifList} arrays on the user document are moved into the inbox the
+ * first time the user's inbox is opened.</p>
+ */
+public class InboxRepository {
+    private static final String TAG = "InboxRepository";
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Callback interface for paged inbox loads.
+     */
+    public interface InboxPageCallback {
+        void onPageLoaded(List<DocumentSnapshot> notifications, DocumentSnapshot lastDocument, boolean hasMore);
+        void onError(Exception e);
+    }
+
+    /**
+     * Constructs an InboxRepository and initializes the Firestore instance.
+     */
+    public InboxRepository() {
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the inbox collection of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The inbox collection reference.
+     */
+    public CollectionReference inboxOf(String userId) {
+        return db.collection("Users").document(userId).collection("inbox");
+    }
+
+    /**
+     * Returns the query for a user's notifications, newest first.
+     *
+     * @param userId The ID of the user.
+     * @return The inbox query.
+     */
+    public Query newestFirst(String userId) {
+        return inboxOf(userId).orderBy("sentAt", Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Adds a new inbox document for a notification to a batch.
+     *
+     * @param batch        The batch to add the write to.
+     * @param notification The notification to store.
+     * @param eventID      The event the notification is about.
+     */
+    public void stageNotification(WriteBatch batch, Notification notification, String eventID) {
+        batch.set(inboxOf(notification.getSendTo()).document(), toData(notification, eventID));
+    }
+
+    /**
+     * Stores a single notification in its recipient's inbox.
+     *
+     * @param notification The notification to store.
+     * @param eventID      The event the notification is about.
+     * @return A task that completes when the notification is written.
+     */
+    public Task<Void> addNotification(Notification notification, String eventID) {
+        return inboxOf(notification.getSendTo()).document().set(toData(notification, eventID));
+    }
+
+    /**
+     * Loads a page of a user's notifications, newest first.
+     *
+     * @param userId   The ID of the user.
+     * @param after    The last document of the previous page, or null for the first page.
+     * @param pageSize The maximum number of notifications to load.
+     * @param callback Callback receiving the page.
+     */
+    public void fetchPage(String userId, @Nullable DocumentSnapshot after, int pageSize, InboxPageCallback callback) {
+        Query query = newestFirst(userId).limit(pageSize);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        query.get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    DocumentSnapshot last = documents.isEmpty() ? after : documents.get(documents.size() - 1);
+                    callback.onPageLoaded(documents, last, documents.size() == pageSize);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error loading inbox page", e);
+                    callback.onError(e);
+                });
+    }
+
+    /**
+     * Moves the notifications stored in a user's legacy arrays into their inbox and
+     * removes them from the arrays.
+     *
+     * <p>Each entry is written to a document whose ID is derived from the array it came
+     * from, its content and its time, so a retry after a failed move overwrites the
+     * documents it already wrote instead of adding copies. Only the entries that were
+     * moved are removed from the arrays, so entries added to the arrays during the move
+     * are kept for the next move.</p>
+     *
+     * @param user The user document.
+     * @return A task that completes when the move is committed, or at once if there is nothing to move.
+     */
+    public Task<Void> migrateLegacy(DocumentSnapshot user) {
+        List<Map<String, Object>> adminNotifs = (List<Map<String, Object>>) user.get("adminNotifList");
+        List<Map<String, Object>> orgNotifs = (List<Map<String, Object>>) user.get("organizerNotifList");
+        if ((adminNotifs == null || adminNotifs.isEmpty()) && (orgNotifs == null || orgNotifs.isEmpty())) {
+            return Tasks.forResult(null);
+        }
+
+        Map<String, Map<String, Object>> entries = new LinkedHashMap<>();
+        if (adminNotifs != null) {
+            for (Map<String, Object> notifData : adminNotifs) {
+                entries.put(legacyId("adminNotifList", notifData), legacyData(notifData, true, false));
+            }
+        }
+        if (orgNotifs != null) {
+            for (Map<String, Object> notifData : orgNotifs) {
+                entries.put(legacyId("organizerNotifList", notifData), legacyData(notifData, false, true));
+            }
+        }
+
+        // Each entry takes one write and removing the moved entries takes one more. They
+        // are only removed in the last batch, once every earlier batch has committed.
+        List<WriteBatch> batches = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int writes = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : entries.entrySet()) {
+            batch.set(inboxOf(user.getId()).document(entry.getKey()), entry.getValue());
+            if (++writes == 499) {
+                batches.add(batch);
+                batch = db.batch();
+                writes = 0;
+            }
+        }
+        Map<String, Object> moved = new HashMap<>();
+        if (adminNotifs != null && !adminNotifs.isEmpty()) {
+            moved.put("adminNotifList", FieldValue.arrayRemove(adminNotifs.toArray()));
+        }
+        if (orgNotifs != null && !orgNotifs.isEmpty()) {
+            moved.put("organizerNotifList", FieldValue.arrayRemove(orgNotifs.toArray()));
+        }
+        batch.update(user.getReference(), moved);
+        batches.add(batch);
+
+        Log.d(TAG, "Moving " + entries.size() + " legacy notifications into the inbox of " + user.getId());
+        Task<Void> commits = Tasks.forResult(null);
+        for (WriteBatch next : batches) {
+            commits = commits.onSuccessTask(done -> next.commit());
+        }
+        return commits;
+    }
+
+    /**
+     * Derives the inbox document ID of an entry from a legacy array. Equal entries from
+     * the same array get the same ID.
+     *
+     * @param array     The name of the array the entry came from.
+     * @param notifData The legacy entry.
+     * @return The inbox document ID.
+     */
+    private static String legacyId(String array, Map<String, Object> notifData) {
+        String key = array + "\n" + notifData.get("content") + "\n" + notifData.get("timeSent");
+        return "legacy_" + UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the inbox document for a notification.
+     *
+     * @param notification The notification.
+     * @param eventID      The event the notification is about.
+     * @return The fields of the inbox document.
+     */
+    private Map<String, Object> toData(Notification notification, String eventID) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("content", notification.getContent());
+        data.put("timeSent", notification.getTimeSent());
+        data.put("sentAt", FieldValue.serverTimestamp());
+        data.put("isAdmin", notification.isAdmin());
+        data.put("isOrganiser", notification.isOrganiser());
+        data.put("eventID", eventID);
+        return data;
+    }
+
+    /**
+     * Builds the inbox document for an entry from a legacy array, taking its timestamp
+     * from the stored time string.
+     *
+     * @param notifData   The legacy entry.
+     * @param isAdmin     Whether the entry came from the admin array.
+     * @param isOrganiser Whether the entry came from the organizer array.
+     * @return The fields of the inbox document.
+     */
+    private Map<String, Object> legacyData(Map<String, Object> notifData, boolean isAdmin, boolean isOrganiser) {
+        String timeSent = (String) notifData.get("timeSent");
+        Map<String, Object> data = new HashMap<>();
+        data.put("content", notifData.get("content"));
+        data.put("timeSent", timeSent);
+        data.put("sentAt", parseLegacyTime(timeSent));
+        data.put("isAdmin", isAdmin);
+        data.put("isOrganiser", isOrganiser);
+        return data;
+    }
+
+    /**
+     * Parses a legacy time string.
+     *
+     * @param timeSent The time string, formatted as dd-MM-yyyy HH:mm:ss.
+     * @return The matching timestamp, or the epoch if the string cannot be parsed.
+     */
+    private Timestamp parseLegacyTime(String timeSent) {
+        long millis = DateCodec.parseDateTimeMillis(timeSent, ZoneId.systemDefault());
+        if (millis == DateCodec.INVALID) {
+            Log.w(TAG, "Unparseable notification time: " + timeSent);
+            return new Timestamp(new Date(0));
+        }
+        return new Timestamp(new Date(millis));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.projectv2.Controller;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JobLease lets one device at a time run a background job that every installed client
+ * schedules.
+ *
+ * <p>The lease is the document {@code jobs/{name}}, holding the owning device, a token
+ * that is new on every claim, and the moment the lease expires. Claims merge these
+ * fields, so a job may keep its own state on the same document. Every time is server
+ * time: a claim first writes a server timestamp to the device's own clock document under
+ * the lease and reads it back, and the time since then is measured with the monotonic
+ * {@link SystemClock#elapsedRealtime()}, so a device with a wrong clock can neither steal
+ * a live lease nor overrun its own.</p>
+ *
+ * <p>The holder fences its writes by running them in transactions that begin with
+ * {@link #check(Transaction)}. The check reads the lease document, so a transaction
+ * commits only while this claim's token is still on it, and a device that has lost its
+ * lease cannot write after another device has taken over.</p>
+ *
+ * <p>Claims block, so they must be made off the main thread.</p>
+ */
+public class JobLease {
+    private final FirebaseFirestore db;
+    private final DocumentReference lease;
+    private final String owner;
+    private final long durationMillis;
+    private String token;
+    private long claimedAt;
+    private long claimedElapsed;
+
+    /**
+     * Constructs a JobLease for a named job.
+     *
+     * @param db             The Firestore instance.
+     * @param name           The name of the job, used as the lease document ID.
+     * @param owner          The ID of this device.
+     * @param durationMillis How long a claimed lease keeps other devices from the job.
+     */
+    public JobLease(FirebaseFirestore db, String name, String owner, long durationMillis) {
+        this.db = db;
+        this.lease = db.collection("jobs").document(name);
+        this.owner = owner;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Claims the lease for this device. The lease is granted if it does not exist, has
+     * expired, or is already held by this device, and is then extended for the lease
+     * duration from the current server time.
+     *
+     * @return Whether this device now holds the lease.
+     * @throws Exception If a read or write fails.
+     */
+    public boolean claim() throws Exception {
+        // Reading the monotonic clock first errs towards the lease running out early, never late
+        long elapsed = SystemClock.elapsedRealtime();
+        long now = serverTime();
+        String claimToken = UUID.randomUUID().toString();
+        boolean claimed = Tasks.await(db.runTransaction(transaction -> {
+            DocumentSnapshot current = transaction.get(lease);
+            Timestamp expiresAt = current.getTimestamp("expiresAt");
+            if (expiresAt != null && expiresAt.toDate().getTime() > now
+                    && !owner.equals(current.getString("owner"))) {
+                return false;
+            }
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("owner", owner);
+            data.put("token", claimToken);
+            data.put("expiresAt", new Timestamp(new Date(now + durationMillis)));
+            transaction.set(lease, data, SetOptions.merge());
+            return true;
+        }));
+        if (claimed) {
+            token = claimToken;
+            claimedAt = now;
+            claimedElapsed = elapsed;
+        }
+        return claimed;
+    }
+
+    /**
+     * Returns the lease document, on which the job may keep its own state.
+     *
+     * @return The lease document reference.
+     */
+    public DocumentReference document() {
+        return lease;
+    }
+
+    /**
+     * Returns the current server time, estimated from the time read at the last claim.
+     *
+     * @return The current server time.
+     */
+    public Timestamp now() {
+        return new Timestamp(new Date(nowMillis()));
+    }
+
+    /**
+     * Returns how much of the lease is left.
+     *
+     * @return The time left in milliseconds, or 0 if the lease is not held or has expired.
+     */
+    public long remainingMillis() {
+        if (token == null) {
+            return 0;
+        }
+        return Math.max(0, claimedAt + durationMillis - nowMillis());
+    }
+
+    /**
+     * Checks inside a transaction that this device still holds the lease. It reads the
+     * lease document, so it must come before the transaction's writes, and the transaction
+     * fails if another claim is made before it commits.
+     *
+     * @param transaction The transaction to read in.
+     * @throws FirebaseFirestoreException If the read fails, or with
+     *         {@link FirebaseFirestoreException.Code#ABORTED} if the lease has been lost.
+     */
+    public void check(Transaction transaction) throws FirebaseFirestoreException {
+        DocumentSnapshot current = transaction.get(lease);
+        if (token == null || !token.equals(current.getString("token")) || remainingMillis() == 0) {
+            throw new FirebaseFirestoreException("Lease " + lease.getId() + " is no longer held.",
+                    FirebaseFirestoreException.Code.ABORTED);
+        }
+    }
+
+    /**
+     * Reads the current server time by writing a server timestamp and reading it back.
+     *
+     * @return The server time in milliseconds.
+     * @throws Exception If the write or read fails.
+     */
+    private long serverTime() throws Exception {
+        DocumentReference clock = lease.collection("clocks").document(owner);
+        Tasks.await(clock.set(Collections.singletonMap("now", FieldValue.serverTimestamp())));
+        Timestamp now = Tasks.await(clock.get(Source.SERVER)).getTimestamp("now");
+        if (now == null) {
+            throw new FirebaseFirestoreException("Server time unavailable.",
+                    FirebaseFirestoreException.Code.UNAVAILABLE);
+        }
+        return now.toDate().getTime();
+    }
+
+    /**
+     * Returns the current server time in milliseconds.
+     *
+     * @return The server time read at the last claim plus the time elapsed since.
+     */
+    private long nowMillis() {
+        return claimedAt + SystemClock.elapsedRealtime() - claimedElapsed;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.projectv2.Controller;
+
+import android.util.Log;
+
+import com.example.projectv2.core.LotteryDraw;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LotteryDrawEngine selects winners from an event's waiting list and moves them to the
+ * selected list in a single Firestore transaction.
+ *
+ * <p>Winners are picked with {@link LotteryDraw}, which uses O(k) memory and O(k) time
+ * for k winners regardless of the size of the waiting list. Every draw uses a fresh seed
+ * from {@link SecureRandom}, so later draws cannot be predicted from earlier ones. The
+ * seed, the hash of the waiting list it was drawn from and the number of slots are
+ * appended to the event's {@code draws} log in the same transaction, so each draw can be
+ * audited and reproduced.</p>
+ *
+ * <p>Transactions cannot run queries, so the waiting list is read from the entrant
+ * documents first. The transaction then reads the counter shards to find the open slots
+ * and each winner's entrant document, and writes the winners' entrant and membership
+ * documents, the counter changes and the log entry together, so the counts the next draw
+ * reads always include this one. If a winner has left the waiting list since it was read,
+ * the draw is retried with a fresh waiting list. One draw selects at most
+ * {@link EntrantRepository#ENTRANTS_PER_BATCH} winners, to stay within the write limit of
+ * a transaction; drawing again fills any slots that are left.</p>
+ */
+public class LotteryDrawEngine {
+    private static final String TAG = "LotteryDrawEngine";
+    /** Subcollection of an event holding one log entry per draw. */
+    static final String DRAWS = "draws";
+    /** Number of times a draw is retried when its waiting list changes under it. */
+    private static final int MAX_ATTEMPTS = 3;
+    private final FirebaseFirestore db;
+    private final SecureRandom random;
+    private final EntrantRepository entrantRepository;
+
+    /**
+     * Callback interface for draw results.
+     */
+    public interface DrawCallback {
+        void onDrawComplete(List<String> selected, List<String> notSelected);
+        void onError(Exception e);
+    }
+
+    /**
+     * Constructs a LotteryDrawEngine and initializes the Firestore instance.
+     */
+    public LotteryDrawEngine() {
+        this.db = FirebaseFirestore.getInstance();
+        this.random = new SecureRandom();
+        this.entrantRepository = new EntrantRepository();
+    }
+
+    /**
+     * Draws winners for the given event until the attendee limit is reached and commits
+     * the Waiting to Selected move atomically.
+     *
+     * @param eventID  The ID of the event to draw for.
+     * @param callback Callback receiving the selected and not selected user IDs.
+     */
+    public void draw(String eventID, DrawCallback callback) {
+        draw(eventID, callback, MAX_ATTEMPTS);
+    }
+
+    /**
+     * Reads the waiting list and runs the draw transaction over it.
+     *
+     * @param eventID  The ID of the event to draw for.
+     * @param callback Callback receiving the selected and not selected user IDs.
+     * @param attempts The number of attempts left.
+     */
+    private void draw(String eventID, DrawCallback callback, int attempts) {
+        entrantRepository.entrantsWithStatus(eventID, EntrantRepository.WAITING).get()
+                .onSuccessTask(snapshot -> {
+                    List<String> waitingList = new ArrayList<>(snapshot.size());
+                    for (DocumentSnapshot entrant : snapshot.getDocuments()) {
+                        waitingList.add(entrant.getId());
+                    }
+                    return runDraw(eventID, waitingList);
+                })
+                .addOnSuccessListener(result -> {
+                    Log.d(TAG, "Draw committed for event " + eventID + ": " + result.get("selected").size() + " selected");
+                    callback.onDrawComplete(result.get("selected"), result.get("notSelected"));
+                })
+                .addOnFailureListener(e -> {
+                    if (e instanceof FirebaseFirestoreException
+                            && ((FirebaseFirestoreException) e).getCode() == FirebaseFirestoreException.Code.ABORTED
+                            && attempts > 1) {
+                        Log.d(TAG, "Waiting list of event " + eventID + " changed during the draw, retrying");
+                        draw(eventID, callback, attempts - 1);
+                        return;
+                    }
+                    Log.e(TAG, "Draw failed for event " + eventID, e);
+                    callback.onError(e);
+                });
+    }
+
+    /**
+     * Draws winners from a waiting list and moves them to the selected list in one
+     * transaction.
+     *
+     * @param eventID     The ID of the event to draw for.
+     * @param waitingList The IDs of the waiting entrants, in user ID order.
+     * @return A task resolving to the selected and not selected user IDs. It fails with
+     * {@link FirebaseFirestoreException.Code#ABORTED} if a winner is no longer waiting.
+     */
+    private Task<Map<String, List<String>>> runDraw(String eventID, List<String> waitingList) {
+        DocumentReference eventRef = db.collection("events").document(eventID);
+        ShardedCounter counters = entrantRepository.countersOf(eventID);
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot document = transaction.get(eventRef);
+            if (!document.exists()) {
+                throw new FirebaseFirestoreException("Event not found.",
+                        FirebaseFirestoreException.Code.NOT_FOUND);
+            }
+            if (waitingList.isEmpty()) {
+                throw new FirebaseFirestoreException("No users in the waiting list to select.",
+                        FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+            }
+
+            Map<String, Long> counts = counters.sum(transaction);
+            if (counts == null) {
+                throw new FirebaseFirestoreException("Event is still being updated. Try again later.",
+                        FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+            }
+            int slots = openSlots(document, counts);
+            if (slots <= 0) {
+                throw new FirebaseFirestoreException("Attendee limit reached!",
+                        FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+            }
+
+            long seed = random.nextLong();
+            List<String> selected = LotteryDraw.draw(waitingList,
+                    Math.min(slots, EntrantRepository.ENTRANTS_PER_BATCH), seed);
+            List<DocumentSnapshot> winners = new ArrayList<>(selected.size());
+            for (String id : selected) {
+                DocumentSnapshot entrant = transaction.get(entrantRepository.entrantRef(eventID, id));
+                if (!EntrantRepository.WAITING.equals(entrant.getString("status"))) {
+                    throw new FirebaseFirestoreException("Waiting list changed during the draw.",
+                            FirebaseFirestoreException.Code.ABORTED);
+                }
+                winners.add(entrant);
+            }
+            Set<String> selectedSet = new HashSet<>(selected);
+            List<String> notSelected = new ArrayList<>(waitingList.size() - selected.size());
+            for (String id : waitingList) {
+                if (!selectedSet.contains(id)) {
+                    notSelected.add(id);
+                }
+            }
+
+            entrantRepository.stageStatuses(transaction, eventID, winners, EntrantRepository.SELECTED);
+            // Seeds are no longer reused, so the old shared seed is dropped
+            transaction.update(eventRef, "drawSeed", FieldValue.delete());
+            transaction.set(eventRef.collection(DRAWS).document(),
+                    drawLogEntry(seed, waitingList, slots, selected.size()));
+
+            Map<String, List<String>> result = new HashMap<>();
+            result.put("selected", selected);
+            result.put("notSelected", notSelected);
+            return result;
+        });
+    }
+
+    /**
+     * Builds the draw log entry that records how a draw was made.
+     *
+     * @param seed     The seed of the draw.
+     * @param pool     The waiting list drawn from, in draw order.
+     * @param slots    The number of slots that were open.
+     * @param selected The number of winners drawn.
+     * @return The fields of the log entry.
+     */
+    private static Map<String, Object> drawLogEntry(long seed, List<String> pool, int slots, int selected) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("seed", seed);
+        entry.put("poolHash", LotteryDraw.poolHash(pool));
+        entry.put("poolSize", pool.size());
+        entry.put("slots", slots);
+        entry.put("selected", selected);
+        entry.put("drawnAt", FieldValue.serverTimestamp());
+        return entry;
+    }
+
+    /**
+     * Returns the number of attendee slots that are still free for an event.
+     *
+     * @param document The event document.
+     * @param counts   The totals of the entrant counter.
+     * @return The number of users that may still be selected.
+     */
+    private int openSlots(DocumentSnapshot document, Map<String, Long> counts) {
+        long attendeesLimit = EventController.limitOf(document, "attendeeLimit", "attendees", 0);
+        long taken = counts.getOrDefault(EntrantRepository.ATTENDEE, 0L)
+                + counts.getOrDefault(EntrantRepository.SELECTED, 0L);
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, attendeesLimit - taken));
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.projectv2.Controller;
 
 // services/NotificationService.java
-import android.app.Activity;
 import android.util.Log;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 
 import com.example.projectv2.ApiClient;
 import com.example.projectv2.Model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -25,66 +31,54 @@ import retrofit2.http.POST;
  */
 public class NotificationService {
 
+    private static final String TAG = "NotificationService";
+    /** The most writes Firestore accepts in a single batch. */
+    private static final int WRITES_PER_BATCH = 500;
+
+    /** Shared by every instance, so pushes from separate senders are coalesced together. */
+    private static PushBatcher pushBatcher;
+
     private final FirebaseFirestore db; // Firebase Firestore instance for database operations
+    private final UserDirectory userDirectory;
+    private final InboxRepository inboxRepository;
+
+    /**
+     * Callback interface for bulk sends.
+     */
+    public interface BulkSendCallback {
+        void onNotificationsSent(int delivered, int failed);
+        void onError(Exception e);
+    }
 
     /**
      * Constructs a NotificationService and initializes the Firestore database instance.
      */
     public NotificationService() {
         db = FirebaseFirestore.getInstance();
+        userDirectory = new UserDirectory();
+        inboxRepository = new InboxRepository();
     }
 
     /**
-     * Sends a notification by updating the Firestore database.
-     * Stores notification data in either organiser or admin arrays based on flags in the Notification object.
+     * Sends a notification by storing it in the recipient's inbox, and sends a push
+     * notification if the recipient has opted in to notifications of its kind.
      *
      * @param notification The notification to be sent and stored in Firestore
+     * @param eventID      The event ID to redirect the user to when the push notification is clicked
      */
-    public void sendNotification(Activity activity, Notification notification, String eventID) {
+    public void sendNotification(Notification notification, String eventID) {
         String userId = notification.getSendTo(); // Get document ID from sendTo attribute
-        Map<String, Object> notificationData = new HashMap<>();
-        notificationData.put("content", notification.getContent());
-        notificationData.put("timeSent", notification.getTimeSent());
-
-        // If the notification is for organisers, add to organiser_notif array
-        if (notification.isOrganiser()) {
-            db.collection("Users").document(userId)
-                    .update("organizerNotifList", FieldValue.arrayUnion(notificationData))
-                    .addOnSuccessListener(aVoid -> {
-//                        sendPushNotification(activity, userId, eventID, notification.getContent());
-                        Log.d("sendNotificationResult", "Notification sent to FireStore");
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.d("sendNotificationResult", "Notification not sent to FireStore" + e);
-                    });
-        }
-
-        // If the notification is for admins, add to adminNotifList array
-        if (notification.isAdmin()) {
-            db.collection("Users").document(userId)
-                    .update("adminNotifList", FieldValue.arrayUnion(notificationData))
-                    .addOnSuccessListener(aVoid -> {
-//                        sendPushNotification(activity, userId, eventID, notification.getContent());
-                        Log.d("sendNotificationResult", "Notification sent to FireStore");
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.d("sendNotificationResult", "Notification not sent to FireStore" + e);
-                    });
-        }
 
         db.collection("Users").document(userId)
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        Boolean adminNotif = documentSnapshot.getBoolean("adminNotif");
-                        Boolean orgNotif = documentSnapshot.getBoolean("organizerNotif");
-
-                        if (adminNotif && notification.isAdmin()) {
-                            sendPushNotification(activity, userId, eventID, notification.getContent());
-                            Log.d("sendNotificationResult", "Admin notification sent");
-                        } else if (orgNotif && notification.isOrganiser()) {
-                            Log.d("sendNotificationResult", "Organizer notification sent");
-                            sendPushNotification(activity, userId, eventID, notification.getContent());
+                        inboxRepository.addNotification(notification, eventID)
+                                .addOnSuccessListener(aVoid -> Log.d("sendNotificationResult", "Notification sent to FireStore"))
+                                .addOnFailureListener(e -> Log.d("sendNotificationResult", "Notification not sent to FireStore" + e));
+                        if (wantsPush(documentSnapshot, notification)) {
+                            Log.d("sendNotificationResult", "Push notification sent");
+                            sendPushNotification(documentSnapshot.getString("fcmToken"), eventID, notification.getContent());
                         }
 
                     } else {
@@ -97,61 +91,162 @@ public class NotificationService {
     }
 
     /**
-     * Sends a push notification to the user with the specified FCM token.
+     * Sends a list of notifications in bulk. Recipients are looked up with chunked queries
+     * through {@link UserDirectory}, inbox entries are committed in WriteBatches of up to
+     * {@value #WRITES_PER_BATCH} writes, and a push notification is sent for each entry
+     * once its batch has committed. Notifying 5,000 entrants this way takes about 170
+     * parallel queries and ten batch commits, instead of four round trips per entrant.
      *
-     * @param activity         The activity from which the notification is sent
-     * @param userId           The user ID to send the notification to
-     * @param eventID          The event ID to redirect the user to when the notification is clicked
-     * @param pushNotifContent The content of the push notification
+     * @param notifications The notifications to send.
+     * @param eventID       The event ID to redirect recipients to when a push notification is clicked.
+     * @param callback      Callback receiving the number of notifications delivered and failed.
      */
-    private void sendPushNotification (Activity activity, String userId, String eventID, String pushNotifContent) {
-        db.collection("Users")
-                .document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
+    public void sendNotifications(List<Notification> notifications, String eventID, BulkSendCallback callback) {
+        if (notifications.isEmpty()) {
+            callback.onNotificationsSent(0, 0);
+            return;
+        }
 
-                    if (documentSnapshot.exists()) {
+        Set<String> recipients = new LinkedHashSet<>();
+        for (Notification notification : notifications) {
+            recipients.add(notification.getSendTo());
+        }
 
-                        String fcmToken = documentSnapshot.getString("fcmToken");
+        userDirectory.fetchUsers(recipients)
+                .addOnSuccessListener(users -> {
+                    Map<String, DocumentSnapshot> usersById = new HashMap<>();
+                    for (DocumentSnapshot user : users) {
+                        usersById.put(user.getId(), user);
+                    }
 
-                        Log.d("fcmTokenResult", "FCM Token: " + fcmToken);
+                    List<Task<Void>> commits = new ArrayList<>();
+                    List<List<NotificationRequest>> pushesPerBatch = new ArrayList<>();
+                    List<Integer> batchSizes = new ArrayList<>();
+                    WriteBatch batch = db.batch();
+                    List<NotificationRequest> pushes = new ArrayList<>();
+                    int writes = 0;
+                    int undeliverable = 0;
+                    for (Notification notification : notifications) {
+                        DocumentSnapshot user = usersById.get(notification.getSendTo());
+                        if (user == null || !(notification.isAdmin() || notification.isOrganiser())) {
+                            undeliverable++;
+                            continue;
+                        }
+                        inboxRepository.stageNotification(batch, notification, eventID);
+                        if (wantsPush(user, notification)) {
+                            pushes.add(new NotificationRequest(user.getString("fcmToken"), eventID, notification.getContent()));
+                        }
+                        if (++writes == WRITES_PER_BATCH) {
+                            commits.add(batch.commit());
+                            pushesPerBatch.add(pushes);
+                            batchSizes.add(writes);
+                            batch = db.batch();
+                            pushes = new ArrayList<>();
+                            writes = 0;
+                        }
+                    }
+                    if (writes > 0) {
+                        commits.add(batch.commit());
+                        pushesPerBatch.add(pushes);
+                        batchSizes.add(writes);
+                    }
 
-                        PushNotificationService service = ApiClient.getClient().create(PushNotificationService.class);
+                    int skipped = undeliverable;
+                    Tasks.whenAllComplete(commits).addOnCompleteListener(done -> {
+                        int delivered = 0;
+                        int failed = skipped;
+                        for (int i = 0; i < commits.size(); i++) {
+                            if (commits.get(i).isSuccessful()) {
+                                delivered += batchSizes.get(i);
+                                sendPushNotifications(pushesPerBatch.get(i));
+                            } else {
+                                failed += batchSizes.get(i);
+                                Log.e(TAG, "Error committing notification batch", commits.get(i).getException());
+                            }
+                        }
+                        Log.d(TAG, "Bulk send finished: " + delivered + " delivered, " + failed + " failed");
+                        callback.onNotificationsSent(delivered, failed);
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error looking up notification recipients", e);
+                    callback.onError(e);
+                });
+    }
+
+    /**
+     * Checks whether a user has opted in to push notifications of the notification's kind.
+     *
+     * @param user         The recipient's user document.
+     * @param notification The notification.
+     * @return true if a push notification should be sent.
+     */
+    private boolean wantsPush(DocumentSnapshot user, Notification notification) {
+        return (notification.isAdmin() && Boolean.TRUE.equals(user.getBoolean("adminNotif")))
+                || (notification.isOrganiser() && Boolean.TRUE.equals(user.getBoolean("organizerNotif")));
+    }
 
-                        NotificationRequest request = new NotificationRequest(
-                                fcmToken,
-                                eventID,
-                                pushNotifContent
-                        );
+    /**
+     * Queues a push notification for the user with the specified FCM token. Pushes are
+     * coalesced by {@link PushBatcher} and shipped as multicast requests.
+     *
+     * @param fcmToken         The FCM token of the recipient's device
+     * @param eventID          The event ID to redirect the user to when the notification is clicked
+     * @param pushNotifContent The content of the push notification
+     */
+    private void sendPushNotification(String fcmToken, String eventID, String pushNotifContent) {
+        Log.d("fcmTokenResult", "FCM Token: " + fcmToken);
+        pushBatcher().enqueue(fcmToken, eventID, pushNotifContent);
+    }
 
-                        service.sendNotification(request).enqueue(new Callback<>() {
-                            @Override
-                            public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
-                                    Toast.makeText(activity, "Notifications sent!", Toast.LENGTH_SHORT).show();
-                            }
+    /**
+     * Queues the push notifications for a committed batch.
+     *
+     * @param requests The push notifications to send.
+     */
+    private void sendPushNotifications(List<NotificationRequest> requests) {
+        PushBatcher batcher = pushBatcher();
+        for (NotificationRequest request : requests) {
+            batcher.enqueue(request.token, request.eventID, request.body);
+        }
+    }
 
-                            @Override
-                            public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {
-                                Log.d("fcmTokenResult", "Error? " + t);
-                                    Toast.makeText(activity, "Failed to send notifications!", Toast.LENGTH_SHORT).show();
+    /**
+     * Returns the shared push batcher, creating it on first use. Each batch is posted to
+     * the {@code sendMulticast} endpoint, and the result is only logged, as callers are
+     * told about their notifications when the inbox entries are stored.
+     *
+     * @return The shared push batcher.
+     */
+    private static synchronized PushBatcher pushBatcher() {
+        if (pushBatcher == null) {
+            PushNotificationService service = ApiClient.getClient().create(PushNotificationService.class);
+            pushBatcher = new PushBatcher((tokens, eventID, body) ->
+                    service.sendMulticast(new MulticastRequest(tokens, eventID, body)).enqueue(new Callback<>() {
+                        @Override
+                        public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
+                            if (response.isSuccessful()) {
+                                Log.d(TAG, "Multicast push sent to " + tokens.size() + " devices");
+                            } else {
+                                Log.w(TAG, "Multicast push rejected: " + response.code());
                             }
-                        });
+                        }
 
-                    } else {
-                        Log.d("fcmTokenResult", "Document does not exist.");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.w("fcmTokenResult", "Error retrieving document", e);
-                });
+                        @Override
+                        public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {
+                            Log.w(TAG, "Multicast push failed", t);
+                        }
+                    }), PushBatcher.DEFAULT_WINDOW_MILLIS);
+        }
+        return pushBatcher;
     }
 
     /**
      * Interface for sending push notifications using Retrofit.
      */
     interface PushNotificationService {
-        @POST("sendNotification")
-        Call<Void> sendNotification(@Body NotificationRequest request);
+        @POST("sendMulticast")
+        Call<Void> sendMulticast(@Body MulticastRequest request);
     }
 
     /**
@@ -168,4 +263,19 @@ public class NotificationService {
             this.body = body;
         }
     }
+
+    /**
+     * Data class for sending one push notification to many devices.
+     */
+    static class MulticastRequest {
+        List<String> tokens;
+        String eventID;
+        String body;
+
+        MulticastRequest(List<String> tokens, String eventID, String body) {
+            this.tokens = tokens;
+            this.eventID = eventID;
+            this.body = body;
+        }
+    }
 }
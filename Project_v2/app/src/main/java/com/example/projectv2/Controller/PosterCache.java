@@ -0,0 +1,223 @@
+package com.example.projectv2.Controller;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.signature.ObjectKey;
+import com.example.projectv2.R;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PosterCache remembers the download URL of each event's poster, keyed by event ID.
+ *
+ * <p>Resolving a poster's download URL is a Storage metadata call, which used to be made
+ * every time an event card was bound. Resolved URLs are now stored as {@code posterUrl} on
+ * the event and its summary, so every device can load the poster directly, and are kept
+ * on this device in a least recently used cache that is written through to shared
+ * preferences. Events known to have no poster are remembered as well, so they are never
+ * looked up. Posters are loaded as a {@link StorageImage}, which downloads the thumbnail
+ * that fits the view straight from Storage. An event whose poster URL is not known yet has
+ * it resolved once in the background.</p>
+ *
+ * <p>An edited poster is uploaded to the same Storage path, so Glide caches posters with
+ * the event's {@code posterVersion} as their signature. Every upload stores a new version
+ * on the event and its summary, so every device downloads the new poster once and then
+ * caches it again.</p>
+ */
+public class PosterCache {
+    private static final String TAG = "PosterCache";
+    private static final String PREFS = "posterUrls";
+    private static final int MAX_ENTRIES = 500;
+    /** Stored for events that have no poster. */
+    private static final String NONE = "";
+
+    private static PosterCache instance;
+
+    private final SharedPreferences prefs;
+    private final LruCache<String, String> urls;
+    /** Poster versions uploaded or seen on this device, newer than an event passed in may know. */
+    private final LruCache<String, Long> versions = new LruCache<>(MAX_ENTRIES);
+    private final Set<String> pending = new HashSet<>();
+    private final FirebaseFirestore db;
+    private final ImageController imageController;
+
+    /**
+     * Returns the shared PosterCache, loading the stored URLs the first time.
+     *
+     * @param context Any context; the application context is kept.
+     * @return The shared PosterCache.
+     */
+    public static synchronized PosterCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new PosterCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private PosterCache(Context context) {
+        prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        urls = new LruCache<String, String>(MAX_ENTRIES) {
+            @Override
+            protected void entryRemoved(boolean evicted, String eventId, String oldUrl, String newUrl) {
+                if (evicted) {
+                    prefs.edit().remove(eventId).apply();
+                }
+            }
+        };
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                urls.put(entry.getKey(), (String) entry.getValue());
+            }
+        }
+        db = FirebaseFirestore.getInstance();
+        imageController = new ImageController();
+    }
+
+    /**
+     * Returns what Glide should load for an event's poster. This makes no Storage call
+     * when the poster URL is stored on the event or cached on this device.
+     *
+     * @param eventId   The ID of the event.
+     * @param eventName The name of the event, which names its poster file.
+     * @param posterUrl The poster URL stored on the event, if any.
+     * @return The poster as a {@link StorageImage}, the full size poster URL if the event
+     *         name is not known, or null if the event has no poster.
+     */
+    @Nullable
+    public Object modelFor(String eventId, @Nullable String eventName, @Nullable String posterUrl) {
+        if (posterUrl != null && !posterUrl.isEmpty()) {
+            if (!posterUrl.equals(urls.get(eventId))) {
+                store(eventId, posterUrl);
+            }
+        } else {
+            posterUrl = urls.get(eventId);
+        }
+        boolean named = eventName != null && !eventName.isEmpty();
+        if (posterUrl == null) {
+            if (!named) {
+                return null;
+            }
+            resolve(eventId, imageController.posterReference(eventName));
+        } else if (posterUrl.isEmpty()) {
+            return null;
+        } else if (!named) {
+            return posterUrl;
+        }
+        return new StorageImage(ImageController.posterPath(eventName));
+    }
+
+    /**
+     * Loads an event's poster into an image view, showing the placeholder while it loads
+     * and when the event has no poster. The poster is cached under the newer of the given
+     * version and the last version seen on this device.
+     *
+     * @param view          The image view to load into.
+     * @param eventId       The ID of the event.
+     * @param eventName     The name of the event, which names its poster file.
+     * @param posterUrl     The poster URL stored on the event, if any.
+     * @param posterVersion The poster version stored on the event, or 0 if it is not known.
+     */
+    public void load(ImageView view, String eventId, @Nullable String eventName, @Nullable String posterUrl,
+                     long posterVersion) {
+        Long seen = versions.get(eventId);
+        if (seen == null || seen < posterVersion) {
+            versions.put(eventId, posterVersion);
+        } else {
+            posterVersion = seen;
+        }
+        Glide.with(view)
+                .load(modelFor(eventId, eventName, posterUrl))
+                .signature(new ObjectKey(posterVersion))
+                .placeholder(R.drawable.placeholder_event)
+                .error(R.drawable.placeholder_event)
+                .centerCrop()
+                .into(view);
+    }
+
+    /**
+     * Records a newly uploaded poster for an event, on this device and on the event and its
+     * summary, with a new poster version so every device loads the new image.
+     *
+     * @param eventId   The ID of the event.
+     * @param posterUrl The download URL of the poster.
+     */
+    public void remember(String eventId, String posterUrl) {
+        long version = System.currentTimeMillis();
+        versions.put(eventId, version);
+        record(eventId, posterUrl, version);
+    }
+
+    /**
+     * Records a poster URL for an event, on this device and on the event and its summary.
+     *
+     * @param eventId   The ID of the event.
+     * @param posterUrl The download URL of the poster.
+     * @param version   The new poster version, or null to keep the current one.
+     */
+    private void record(String eventId, String posterUrl, @Nullable Long version) {
+        store(eventId, posterUrl);
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("posterUrl", posterUrl);
+        if (version != null) {
+            fields.put("posterVersion", version);
+        }
+        // Updates rather than merges, so a deleted event is not brought back
+        WriteBatch batch = db.batch();
+        batch.update(db.collection("events").document(eventId), fields);
+        batch.update(db.collection(EventController.SUMMARIES).document(eventId), fields);
+        batch.commit().addOnFailureListener(e -> Log.w(TAG, "Error storing poster URL for event " + eventId, e));
+    }
+
+    /**
+     * Resolves the download URL of an event's poster once and remembers it. A missing
+     * poster is remembered too, so it is not looked up again.
+     *
+     * @param eventId   The ID of the event.
+     * @param reference The Storage reference of the poster.
+     */
+    private void resolve(String eventId, StorageReference reference) {
+        if (!pending.add(eventId)) {
+            return;
+        }
+        reference.getDownloadUrl()
+                .addOnSuccessListener(uri -> {
+                    pending.remove(eventId);
+                    // The poster itself has not changed, so its version is kept
+                    record(eventId, uri.toString(), null);
+                })
+                .addOnFailureListener(e -> {
+                    pending.remove(eventId);
+                    if (e instanceof StorageException
+                            && ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                        store(eventId, NONE);
+                    } else {
+                        Log.w(TAG, "Error resolving poster for event " + eventId, e);
+                    }
+                });
+    }
+
+    /**
+     * Stores a poster URL on this device.
+     *
+     * @param eventId   The ID of the event.
+     * @param posterUrl The poster URL, or {@link #NONE} if the event has no poster.
+     */
+    private void store(String eventId, String posterUrl) {
+        urls.put(eventId, posterUrl);
+        prefs.edit().putString(eventId, posterUrl).apply();
+    }
+}
@@ -4,16 +4,26 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.provider.MediaStore;
 import android.util.Log;
 import android.widget.ImageView;
 import android.widget.Toast;
 
+import androidx.annotation.Nullable;
+
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.signature.ObjectKey;
+import com.example.projectv2.Model.User;
 import com.example.projectv2.Utils.DBUtils;
 import com.example.projectv2.Utils.ProfilePictureGenerator;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 
@@ -23,6 +33,7 @@ import com.example.projectv2.R;
  * Controller class for handling profile image operations in Firebase Storage.
  */
 public class ProfileImageController {
+    private static final String TAG = "ProfileImageController";
     private final Context context;
     private final FirebaseStorage storage;
     private final StorageReference storageRef;
@@ -53,7 +64,9 @@ public class ProfileImageController {
     }
 
     /**
-     * Uploads an image to Firebase Storage with a filename based on the user ID.
+     * Uploads an image to Firebase Storage with a filename based on the user ID, shrunk and
+     * re-encoded by {@link ImageUploadPipeline}, then records the new image and its version
+     * on the user.
      *
      * @param imageUri the URI of the image to be uploaded
      * @param userID   the user ID to use in the filename
@@ -61,60 +74,95 @@ public class ProfileImageController {
      */
     public void uploadImageToFirebase(Uri imageUri, String userID, ImageUploadCallback callback) {
         // Define the file path using userID
-        String filePath = "user_" + userID + ".jpg";
+        String filePath = fileName(userID);
         StorageReference fileRef = storageRef.child(filePath);
 
-        fileRef.putFile(imageUri)
-                .addOnSuccessListener(taskSnapshot ->
-                        fileRef.getDownloadUrl().addOnSuccessListener(callback::onSuccess)
-                )
+        new ImageUploadPipeline(context).uploadAvatar(imageUri, fileRef)
+                .continueWithTask(upload -> {
+                    if (!upload.isSuccessful()) {
+                        throw upload.getException();
+                    }
+                    return recordImage(userID, filePath);
+                })
+                .continueWithTask(record -> {
+                    if (!record.isSuccessful()) {
+                        Log.w(TAG, "Error recording profile image version", record.getException());
+                    }
+                    return fileRef.getDownloadUrl();
+                })
+                .addOnSuccessListener(callback::onSuccess)
                 .addOnFailureListener(callback::onFailure);
-        dbUtils.fetchUser(userID, user -> {
-            if(user!=null){
-                user.setProfileImage(filePath);
-                dbUtils.updateUser(userID,user);
-            }
-        });
-
     }
 
     /**
-     * Loads an image from Firebase Storage based on the user ID and sets it in the specified ImageView.
+     * Loads the profile image of a user into an ImageView, fetching the user first.
      *
      * @param userID    the user ID to use in the filename
      * @param imageView the ImageView in which to set the image
      */
     public void loadImage(String userID, ImageView imageView) {
         if (userID == null || imageView == null) {
-            Log.d("HUHUUUUU", "Invalid imageUrl or imageView");
+            Log.d(TAG, "Invalid userID or imageView");
+            return;
+        }
+        dbUtils.fetchUser(userID, user -> loadImage(userID, user, imageView));
+    }
+
+    /**
+     * Loads the profile image of a user who has already been fetched into an ImageView.
+     *
+     * <p>The image is loaded as a {@link StorageImage}, at the thumbnail that fits the view,
+     * and cached by Glide with the user's {@code profileImageVersion} as its signature, so a
+     * cached image is shown without any Storage call and a new or removed image is picked
+     * up as soon as the version changes. Users without an image get a generated picture of
+     * their initials.</p>
+     *
+     * @param userID    the user ID to use in the filename
+     * @param user      the user, or null if they could not be fetched
+     * @param imageView the ImageView in which to set the image
+     */
+    public void loadImage(String userID, @Nullable User user, ImageView imageView) {
+        if (userID == null || imageView == null) {
+            Log.d(TAG, "Invalid userID or imageView");
             return;
         }
 
         // Ensure context is valid and Activity is not destroyed
         if (context instanceof Activity && ((Activity) context).isDestroyed()) {
-            Log.e("ProfileImageController", "Activity is destroyed. Skipping image load.");
+            Log.e(TAG, "Activity is destroyed. Skipping image load.");
             return;
         }
-        String filePath = "user_" + userID + ".jpg";
-        StorageReference fileRef = storageRef.child(filePath);
-        fileRef.getDownloadUrl().addOnSuccessListener(uri -> {
-            Log.d("ProfileImageController", "Image URL: " + uri.toString());
-            Glide.with(context)
-                    .load(uri.toString())
-                    .placeholder(R.drawable.placeholder_profile_picture) // Optional placeholder
-                    .diskCacheStrategy(DiskCacheStrategy.NONE) // Disable caching
-                    .skipMemoryCache(true) // Skip memory cache
-                    .into(imageView);
-        }).addOnFailureListener(e -> {
-            Log.e("ProfileImageController", "Error loading image: " + e.getMessage());
-            dbUtils.fetchUser(userID, user -> {
-                if (user!=null){
-                    String userName = user.getName();
-            Bitmap genProfilePicture = ProfilePictureGenerator.generateProfilePicture( userName, 500);
-            this.loadImageUsingBitmap(genProfilePicture, imageView);}});
-        });
-
+        if (user == null) {
+            imageView.setImageResource(R.drawable.placeholder_profile_picture);
+            return;
+        }
+        if (user.getProfileImage().isEmpty()) {
+            loadGeneratedImage(user, imageView);
+            return;
+        }
+        // Drops any generated picture still being drawn for this view
+        imageView.setTag(R.id.generated_avatar_key, null);
+        Glide.with(context)
+                .load(new StorageImage(storageRef.child(fileName(userID)).getPath()))
+                .signature(new ObjectKey(user.getProfileImageVersion()))
+                .placeholder(R.drawable.placeholder_profile_picture) // Optional placeholder
+                .listener(new RequestListener<Drawable>() {
+                    @Override
+                    public boolean onLoadFailed(@Nullable GlideException e, Object model,
+                                                Target<Drawable> target, boolean isFirstResource) {
+                        Log.e(TAG, "Error loading image for user " + userID, e);
+                        // Loads cannot be started from inside a request callback
+                        imageView.post(() -> loadGeneratedImage(user, imageView));
+                        return true;
+                    }
 
+                    @Override
+                    public boolean onResourceReady(Drawable resource, Object model, Target<Drawable> target,
+                                                   DataSource dataSource, boolean isFirstResource) {
+                        return false;
+                    }
+                })
+                .into(imageView);
     }
 
     /**
@@ -125,19 +173,19 @@ public class ProfileImageController {
      */
     public void removeImage(String userID, ImageView imageView) {
         if (userID == null || imageView == null) {
-            Log.d("HUHUUUUU", "Invalid imageUrl or imageView");
+            Log.d(TAG, "Invalid userID or imageView");
             return;
         }
-        String filePath = "user_" + userID + ".jpg";
-        StorageReference fileRef = storageRef.child(filePath);
+        StorageReference fileRef = storageRef.child(fileName(userID));
         fileRef.delete().addOnSuccessListener(aVoid -> {
-            Log.d("ProfileImageController", "Image deleted successfully");
+            Log.d(TAG, "Image deleted successfully");
+            ImageController.deleteVariants(fileRef.getPath());
+            recordImage(userID, "").addOnFailureListener(e ->
+                    Log.w(TAG, "Error recording profile image version", e));
             dbUtils.fetchUser(userID, user -> {
                 if (user!=null){
                     Toast.makeText(context, "Image Deleted!", Toast.LENGTH_SHORT).show();
-                    String userName = user.getName();
-                    Bitmap genProfilePicture = ProfilePictureGenerator.generateProfilePicture( userName, 500);
-                    this.loadImageUsingBitmap(genProfilePicture, imageView);}});
+                    loadGeneratedImage(user, imageView);}});
         }).addOnFailureListener(e -> {
             Toast.makeText(context, "No Image To Delete!", Toast.LENGTH_SHORT).show();
         });
@@ -145,6 +193,31 @@ public class ProfileImageController {
 
     }
 
+    /**
+     * Records a user's profile image along with a new version, so every device drops its
+     * cached copy of the old image. The user document is updated rather than merged, so a
+     * deleted user is not brought back.
+     *
+     * @param userID       the ID of the user
+     * @param profileImage the file name of the new image, or an empty string if it was removed
+     * @return a task that completes when the user document is updated
+     */
+    public static Task<Void> recordImage(String userID, String profileImage) {
+        return FirebaseFirestore.getInstance().collection("Users").document(userID)
+                .update("profileImage", profileImage,
+                        "profileImageVersion", System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the file name of a user's profile image in the profile pictures folder.
+     *
+     * @param userID the ID of the user
+     * @return the file name of the image
+     */
+    public static String fileName(String userID) {
+        return "user_" + userID + ".jpg";
+    }
+
     /**
      * Callback interface for image upload operations.
      */
@@ -161,16 +234,27 @@ public class ProfileImageController {
      */
     public void loadImageUsingBitmap(Bitmap bitmap, ImageView imageView) {
         if (bitmap == null || imageView == null) {
-            Log.d("ProfileImageController", "Invalid bitmap or imageView");
+            Log.d(TAG, "Invalid bitmap or imageView");
             return;
         }
 
         Glide.with(context)
                 .load(bitmap)
                 .placeholder(R.drawable.placeholder_profile_picture) // Optional placeholder
-                .diskCacheStrategy(DiskCacheStrategy.NONE) // Disable disk caching
-                .skipMemoryCache(true) // Disable memory caching
                 .into(imageView);
     }
 
+    /**
+     * Shows a generated picture of a user's initials in an ImageView, drawn at the size of
+     * the view and cached by {@link ProfilePictureGenerator}.
+     *
+     * @param user      the user
+     * @param imageView the ImageView in which to load the picture
+     */
+    private void loadGeneratedImage(User user, ImageView imageView) {
+        // The cached picture is shared, so it is set directly rather than handed to Glide
+        Glide.with(context).clear(imageView);
+        ProfilePictureGenerator.load(imageView, user.getName());
+    }
+
 }
@@ -0,0 +1,60 @@
+package com.example.projectv2.Controller;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.module.AppGlideModule;
+
+import java.io.InputStream;
+
+/**
+ * Glide configuration for the app.
+ *
+ * <p>Registers {@link StorageImageLoader} so Firebase Storage images with thumbnails can
+ * be passed to {@code Glide.load}, and gives Glide a larger disk cache so posters survive
+ * across sessions. Glide evicts the least recently used images once the cache is full.</p>
+ */
+@GlideModule
+public final class ProjectGlideModule extends AppGlideModule {
+    /** Size of Glide's disk cache. */
+    private static final long DISK_CACHE_BYTES = 100L * 1024 * 1024;
+
+    /**
+     * Sets the disk cache size.
+     *
+     * @param context The application context.
+     * @param builder The Glide builder.
+     */
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_BYTES));
+    }
+
+    /**
+     * Registers the Storage image loader.
+     *
+     * @param context  The application context.
+     * @param glide    The Glide instance.
+     * @param registry The registry to add components to.
+     */
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        registry.append(StorageImage.class, InputStream.class, new StorageImageLoader.Factory());
+    }
+
+    /**
+     * Manifest modules are not used.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
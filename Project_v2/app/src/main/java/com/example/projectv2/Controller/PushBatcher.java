@@ -0,0 +1,139 @@
+package com.example.projectv2.Controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PushBatcher coalesces push notifications into multicast requests.
+ *
+ * <p>Pushes are collected for a short window after the first one is queued. Pushes with
+ * the same event ID and body are grouped together, and each group is shipped as multicast
+ * requests of at most {@link #MAX_TOKENS_PER_REQUEST} tokens. A lottery draw that notifies
+ * thousands of entrants with two different messages therefore goes out in a handful of
+ * requests. A group that fills up is shipped immediately, without waiting for the
+ * window to close.</p>
+ */
+public class PushBatcher {
+    /** The most tokens FCM accepts in a single multicast message. */
+    public static final int MAX_TOKENS_PER_REQUEST = 500;
+    /** How long pushes are collected before they are shipped. */
+    public static final long DEFAULT_WINDOW_MILLIS = 250;
+
+    private final Sender sender;
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Key, Set<String>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Ships one multicast request.
+     */
+    public interface Sender {
+        void send(List<String> tokens, String eventID, String body);
+    }
+
+    /**
+     * Constructs a PushBatcher that ships batches through the given sender.
+     *
+     * @param sender       The sender used for each multicast request.
+     * @param windowMillis How long to collect pushes before shipping them.
+     */
+    public PushBatcher(Sender sender, long windowMillis) {
+        this.sender = sender;
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PushBatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a push notification for the next batch. Null tokens are ignored.
+     *
+     * @param token   The FCM token of the recipient's device.
+     * @param eventID The event ID to redirect the recipient to.
+     * @param body    The content of the push notification.
+     */
+    public void enqueue(String token, String eventID, String body) {
+        if (token == null) {
+            return;
+        }
+        List<String> full = null;
+        Key key = new Key(eventID, body);
+        synchronized (this) {
+            Set<String> tokens = pending.get(key);
+            if (tokens == null) {
+                tokens = new LinkedHashSet<>();
+                pending.put(key, tokens);
+            }
+            tokens.add(token);
+            if (tokens.size() == MAX_TOKENS_PER_REQUEST) {
+                full = new ArrayList<>(tokens);
+                pending.remove(key);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            sender.send(full, eventID, body);
+        }
+    }
+
+    /**
+     * Ships every queued push now.
+     */
+    public void flush() {
+        Map<Key, Set<String>> batches;
+        synchronized (this) {
+            batches = new LinkedHashMap<>(pending);
+            pending.clear();
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+        for (Map.Entry<Key, Set<String>> batch : batches.entrySet()) {
+            List<String> tokens = new ArrayList<>(batch.getValue());
+            for (int i = 0; i < tokens.size(); i += MAX_TOKENS_PER_REQUEST) {
+                List<String> chunk = tokens.subList(i, Math.min(i + MAX_TOKENS_PER_REQUEST, tokens.size()));
+                sender.send(new ArrayList<>(chunk), batch.getKey().eventID, batch.getKey().body);
+            }
+        }
+    }
+
+    /**
+     * Groups pushes that can share one multicast message.
+     */
+    private static final class Key {
+        final String eventID;
+        final String body;
+
+        Key(String eventID, String body) {
+            this.eventID = eventID;
+            this.body = body;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(eventID, key.eventID) && Objects.equals(body, key.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventID, body);
+        }
+    }
+}
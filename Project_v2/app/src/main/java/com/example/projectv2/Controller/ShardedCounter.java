@@ -0,0 +1,204 @@
+package com.example.projectv2.Controller;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * ShardedCounter keeps a set of named counts split across several shard documents.
+ *
+ * <p>Firestore sustains about one write per second to a single document, so a count that
+ * every user updates would hold back busy events. Each shard is a document named
+ * {@code {name}_{index}} whose numeric fields are partial counts; a change is written to
+ * one shard with {@link FieldValue#increment(long)}, and the total of a field is the sum
+ * over every shard. Concurrent writers that pick different shards never touch the same
+ * document.</p>
+ */
+public class ShardedCounter {
+
+    /** Number of shards used when none is given. */
+    public static final int DEFAULT_SHARDS = 10;
+
+    private final CollectionReference collection;
+    private final String name;
+    private final int numShards;
+    private final Random random = new Random();
+
+    /**
+     * Constructs a ShardedCounter over shard documents in a collection.
+     *
+     * @param collection The collection holding the shard documents.
+     * @param name       The name of the counter, used as the shard document ID prefix.
+     * @param numShards  The number of shards, at least 1.
+     */
+    public ShardedCounter(CollectionReference collection, String name, int numShards) {
+        this.collection = collection;
+        this.name = name;
+        this.numShards = numShards;
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return The number of shards.
+     */
+    public int getNumShards() {
+        return numShards;
+    }
+
+    /**
+     * Returns the document reference of a shard.
+     *
+     * @param shard The index of the shard.
+     * @return The shard document reference.
+     */
+    public DocumentReference shardRef(int shard) {
+        return collection.document(name + "_" + shard);
+    }
+
+    /**
+     * Picks a shard at random, to spread writers over the shards.
+     *
+     * @return The index of a shard.
+     */
+    public int randomShard() {
+        return random.nextInt(numShards);
+    }
+
+    /**
+     * Adds the write that replaces a shard's fields to a batch.
+     *
+     * @param batch  The batch to add the write to.
+     * @param shard  The index of the shard.
+     * @param fields The fields of the shard.
+     */
+    public void stageShard(WriteBatch batch, int shard, Map<String, Object> fields) {
+        batch.set(shardRef(shard), fields);
+    }
+
+    /**
+     * Adds an increment of one or more fields of a shard to a batch.
+     *
+     * @param batch  The batch to add the write to.
+     * @param shard  The index of the shard.
+     * @param deltas The amount to add to each field.
+     */
+    public void increment(WriteBatch batch, int shard, Map<String, Long> deltas) {
+        batch.set(shardRef(shard), increments(deltas), SetOptions.merge());
+    }
+
+    /**
+     * Adds an increment of one or more fields of a shard to a transaction.
+     *
+     * @param transaction The transaction to add the write to.
+     * @param shard       The index of the shard.
+     * @param deltas      The amount to add to each field.
+     */
+    public void increment(Transaction transaction, int shard, Map<String, Long> deltas) {
+        transaction.set(shardRef(shard), increments(deltas), SetOptions.merge());
+    }
+
+    /**
+     * Reads every shard and sums their numeric fields.
+     *
+     * @return A task resolving to the total of each field, or to null if no shard exists.
+     */
+    public Task<Map<String, Long>> sum() {
+        List<Task<DocumentSnapshot>> reads = new ArrayList<>(numShards);
+        for (int shard = 0; shard < numShards; shard++) {
+            reads.add(shardRef(shard).get());
+        }
+        return Tasks.whenAllSuccess(reads).continueWith(task -> {
+            List<DocumentSnapshot> shards = new ArrayList<>(numShards);
+            for (Object shard : task.getResult()) {
+                shards.add((DocumentSnapshot) shard);
+            }
+            return totals(shards);
+        });
+    }
+
+    /**
+     * Reads every shard inside a transaction and sums their numeric fields. Any concurrent
+     * change to a shard makes the transaction retry, so this is meant for infrequent
+     * operations rather than for each increment.
+     *
+     * @param transaction The transaction to read in.
+     * @return The total of each field, or null if no shard exists.
+     * @throws FirebaseFirestoreException If a read fails.
+     */
+    @Nullable
+    public Map<String, Long> sum(Transaction transaction) throws FirebaseFirestoreException {
+        List<DocumentSnapshot> shards = new ArrayList<>(numShards);
+        for (int shard = 0; shard < numShards; shard++) {
+            shards.add(transaction.get(shardRef(shard)));
+        }
+        return totals(shards);
+    }
+
+    /**
+     * Returns a numeric field of a shard.
+     *
+     * @param shard The shard document.
+     * @param field The field to read.
+     * @return The value of the field, or 0 if it is missing.
+     */
+    public static long valueOf(DocumentSnapshot shard, String field) {
+        Long value = shard.getLong(field);
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Sums the numeric fields of the shards that exist.
+     *
+     * @param shards The shard documents.
+     * @return The total of each field, or null if no shard exists.
+     */
+    @Nullable
+    private static Map<String, Long> totals(List<DocumentSnapshot> shards) {
+        Map<String, Long> totals = null;
+        for (DocumentSnapshot shard : shards) {
+            if (!shard.exists()) {
+                continue;
+            }
+            if (totals == null) {
+                totals = new HashMap<>();
+            }
+            for (Map.Entry<String, Object> field : shard.getData().entrySet()) {
+                if (field.getValue() instanceof Number) {
+                    long value = ((Number) field.getValue()).longValue();
+                    totals.merge(field.getKey(), value, Long::sum);
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Builds the increment updates for a set of deltas.
+     *
+     * @param deltas The amount to add to each field.
+     * @return The field updates.
+     */
+    private static Map<String, Object> increments(Map<String, Long> deltas) {
+        Map<String, Object> updates = new HashMap<>();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            updates.put(delta.getKey(), FieldValue.increment(delta.getValue()));
+        }
+        return updates;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.projectv2.Controller;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.StreamDownloadTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Glide data fetcher that streams the bytes of a Firebase Storage reference, falling back
+ * to a second reference when the first does not exist. {@link StorageImageLoader} uses it
+ * to load a thumbnail, or the full image when the thumbnail has not been made.
+ */
+class StorageFetcher implements DataFetcher<InputStream> {
+    private static final String TAG = "StorageFetcher";
+    private final StorageReference reference;
+    @Nullable
+    private final StorageReference fallback;
+    private StreamDownloadTask task;
+    private InputStream stream;
+
+    /**
+     * Constructs a StorageFetcher.
+     *
+     * @param reference The reference to download.
+     * @param fallback  The reference to download if the first does not exist, or null.
+     */
+    StorageFetcher(StorageReference reference, @Nullable StorageReference fallback) {
+        this.reference = reference;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Starts the download and hands the stream to Glide once it opens.
+     *
+     * @param priority The priority of the load.
+     * @param callback Callback receiving the stream or the failure.
+     */
+    @Override
+    public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super InputStream> callback) {
+        fetch(reference, callback);
+    }
+
+    /**
+     * Downloads a reference, moving on to the fallback if it does not exist.
+     *
+     * @param target   The reference to download.
+     * @param callback Callback receiving the stream or the failure.
+     */
+    private void fetch(StorageReference target, DataCallback<? super InputStream> callback) {
+        task = target.getStream();
+        task.addOnSuccessListener(snapshot -> {
+            stream = snapshot.getStream();
+            callback.onDataReady(stream);
+        }).addOnFailureListener(e -> {
+            if (target != fallback && fallback != null && e instanceof StorageException
+                    && ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                fetch(fallback, callback);
+            } else {
+                callback.onLoadFailed(e);
+            }
+        });
+    }
+
+    /**
+     * Closes the stream once Glide has decoded it.
+     */
+    @Override
+    public void cleanup() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                Log.w(TAG, "Error closing stream for " + reference.getPath(), e);
+            }
+            stream = null;
+        }
+    }
+
+    /**
+     * Cancels the download if it is still running.
+     */
+    @Override
+    public void cancel() {
+        if (task != null && task.isInProgress()) {
+            task.cancel();
+        }
+    }
+
+    @NonNull
+    @Override
+    public Class<InputStream> getDataClass() {
+        return InputStream.class;
+    }
+
+    @NonNull
+    @Override
+    public DataSource getDataSource() {
+        return DataSource.REMOTE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.projectv2.Controller;
+
+import androidx.annotation.NonNull;
+
+import com.example.projectv2.core.ImageVariants;
+
+/**
+ * A Glide model for an image in Firebase Storage that has thumbnails.
+ *
+ * <p>Loading a StorageImage downloads the smallest thumbnail that covers the target view,
+ * as picked by {@link ImageVariants#pick}, or the full image for large views. Images
+ * uploaded before thumbnails existed are loaded in full instead. The model is loaded by
+ * {@link StorageImageLoader}.</p>
+ */
+public final class StorageImage {
+    private final String path;
+
+    /**
+     * Constructs a StorageImage for the full size image at a Storage path.
+     *
+     * @param path The Storage path of the full size image.
+     */
+    public StorageImage(@NonNull String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the Storage path of the full size image.
+     *
+     * @return The Storage path of the full size image.
+     */
+    @NonNull
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StorageImage && path.equals(((StorageImage) o).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "StorageImage{" + path + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.projectv2.Controller;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.signature.ObjectKey;
+import com.example.projectv2.core.ImageVariants;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.InputStream;
+
+/**
+ * Glide model loader that streams the thumbnail of a {@link StorageImage} that best fits
+ * the target view.
+ *
+ * <p>Glide passes the size of the target to the loader, which picks a thumbnail with
+ * {@link ImageVariants#pick} and downloads it straight from its Storage reference, falling
+ * back to the full image if the thumbnail does not exist. Loads are cached under the path
+ * that was asked for, so a small row and a full screen view of the same image are cached
+ * separately. The loader is registered in {@link ProjectGlideModule}.</p>
+ */
+public class StorageImageLoader implements ModelLoader<StorageImage, InputStream> {
+    private final StorageReference root = FirebaseStorage.getInstance().getReference();
+
+    /**
+     * Builds a load for the thumbnail that best fits the target size.
+     *
+     * @param image   The image to load.
+     * @param width   The target width, or a negative value if it is not known.
+     * @param height  The target height, or a negative value if it is not known.
+     * @param options The load options.
+     * @return The load data for the chosen thumbnail.
+     */
+    @Override
+    public LoadData<InputStream> buildLoadData(@NonNull StorageImage image, int width, int height,
+                                               @NonNull Options options) {
+        String path = ImageVariants.path(image.getPath(), ImageVariants.pick(width, height));
+        StorageReference original = root.child(image.getPath());
+        StorageReference reference = root.child(path);
+        return new LoadData<>(new ObjectKey(path), new StorageFetcher(reference, original));
+    }
+
+    /**
+     * Every Storage image can be loaded.
+     *
+     * @param image The Storage image.
+     * @return true
+     */
+    @Override
+    public boolean handles(@NonNull StorageImage image) {
+        return true;
+    }
+
+    /**
+     * Factory that registers the loader with Glide.
+     */
+    public static class Factory implements ModelLoaderFactory<StorageImage, InputStream> {
+
+        /**
+         * Creates the loader.
+         *
+         * @param factory The factory for other model loaders.
+         * @return A new StorageImageLoader.
+         */
+        @NonNull
+        @Override
+        public ModelLoader<StorageImage, InputStream> build(@NonNull MultiModelLoaderFactory factory) {
+            return new StorageImageLoader();
+        }
+
+        /**
+         * Nothing to release.
+         */
+        @Override
+        public void teardown() {
+        }
+    }
+}
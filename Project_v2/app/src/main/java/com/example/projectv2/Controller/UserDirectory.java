@@ -0,0 +1,172 @@
+package com.example.projectv2.Controller;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserDirectory looks up user documents in bulk.
+ *
+ * <p>IDs are fetched with {@code whereIn} queries on the document ID, at most
+ * {@link #WHERE_IN_LIMIT} IDs per query, and every query runs in parallel, so resolving
+ * 1,000 users takes 34 queries instead of 1,000 reads. Display names are kept in an
+ * in-memory LRU cache shared by every instance, so reopening a list only queries users
+ * that have not been seen recently.</p>
+ */
+public class UserDirectory {
+    private static final String TAG = "UserDirectory";
+    /** The most values Firestore accepts in a single {@code whereIn} filter. */
+    public static final int WHERE_IN_LIMIT = 30;
+    private static final int NAME_CACHE_SIZE = 1000;
+    private static final LruCache<String, String> nameCache = new LruCache<>(NAME_CACHE_SIZE);
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Callback interface for name lookups.
+     */
+    public interface NamesCallback {
+        void onNamesResolved(Map<String, String> names);
+        void onError(Exception e);
+    }
+
+    /**
+     * Constructs a UserDirectory and initializes the Firestore instance.
+     */
+    public UserDirectory() {
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Fetches the user documents for the given IDs. Users without a document are left out
+     * of the result.
+     *
+     * @param userIds The IDs of the users to fetch.
+     * @return A task resolving to the user documents, failing if any query fails.
+     */
+    public Task<List<DocumentSnapshot>> fetchUsers(Collection<String> userIds) {
+        return Tasks.<QuerySnapshot>whenAllSuccess(queryChunks(new ArrayList<>(new LinkedHashSet<>(userIds))))
+                .continueWith(task -> {
+                    List<DocumentSnapshot> users = new ArrayList<>();
+                    for (QuerySnapshot snapshot : task.getResult()) {
+                        for (DocumentSnapshot document : snapshot.getDocuments()) {
+                            cacheName(document);
+                            users.add(document);
+                        }
+                    }
+                    return users;
+                });
+    }
+
+    /**
+     * Resolves the display names of the given users, in the order the IDs were given.
+     * Users without a name are left out. If some queries fail, the names from the others
+     * are still returned; the callback only reports an error if nothing could be resolved.
+     *
+     * @param userIds  The IDs of the users.
+     * @param callback Callback receiving a map from user ID to display name.
+     */
+    public void resolveNames(List<String> userIds, NamesCallback callback) {
+        // The cache may evict names while this lookup runs, so the result is kept separately
+        Map<String, String> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            String name = nameCache.get(userId);
+            if (name != null) {
+                found.put(userId, name);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            callback.onNamesResolved(inOrder(userIds, found));
+            return;
+        }
+
+        List<Task<QuerySnapshot>> queries = queryChunks(missing);
+        Tasks.whenAllComplete(queries).addOnCompleteListener(done -> {
+            Exception failure = null;
+            for (Task<QuerySnapshot> query : queries) {
+                if (query.isSuccessful()) {
+                    for (DocumentSnapshot document : query.getResult().getDocuments()) {
+                        String name = cacheName(document);
+                        if (name != null) {
+                            found.put(document.getId(), name);
+                        }
+                    }
+                } else {
+                    failure = query.getException();
+                    Log.e(TAG, "Error resolving user names", failure);
+                }
+            }
+
+            Map<String, String> names = inOrder(userIds, found);
+            if (names.isEmpty() && failure != null) {
+                callback.onError(failure);
+            } else {
+                callback.onNamesResolved(names);
+            }
+        });
+    }
+
+    /**
+     * Starts one {@code whereIn} query per chunk of IDs.
+     *
+     * @param userIds The distinct IDs to query.
+     * @return The running queries.
+     */
+    private List<Task<QuerySnapshot>> queryChunks(List<String> userIds) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i += WHERE_IN_LIMIT) {
+            List<String> chunk = userIds.subList(i, Math.min(i + WHERE_IN_LIMIT, userIds.size()));
+            queries.add(db.collection("Users").whereIn(FieldPath.documentId(), chunk).get());
+        }
+        return queries;
+    }
+
+    /**
+     * Stores the display name of a user document in the cache, if it has one.
+     *
+     * @param document The user document.
+     * @return The display name, or null if the user has none.
+     */
+    private String cacheName(DocumentSnapshot document) {
+        String name = document.getString("name");
+        if (name != null) {
+            nameCache.put(document.getId(), name);
+        }
+        return name;
+    }
+
+    /**
+     * Orders resolved names by the given user IDs.
+     *
+     * @param userIds The IDs of the users.
+     * @param found   The resolved names by user ID.
+     * @return A map from user ID to display name for every resolved user, in the given order.
+     */
+    private static Map<String, String> inOrder(List<String> userIds, Map<String, String> found) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            String name = found.get(userId);
+            if (name != null) {
+                names.put(userId, name);
+            }
+        }
+        return names;
+    }
+}
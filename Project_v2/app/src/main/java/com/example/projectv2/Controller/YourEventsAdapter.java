@@ -1,11 +1,8 @@
 
 package com.example.projectv2.Controller;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.Intent;
-import android.provider.Settings;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,38 +10,34 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
 import com.example.projectv2.View.EventLandingPageOrganizerActivity;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for displaying a list of events created by the user in a RecyclerView.
  */
-public class YourEventsAdapter extends RecyclerView.Adapter<YourEventsAdapter.ViewHolder> {
+public class YourEventsAdapter extends ListAdapter<Event, YourEventsAdapter.ViewHolder> {
 
     private static final String TAG = "YourEventsAdapter";
-    private final List<Event> eventList;
     private final Context context;
-    private FirebaseFirestore db;
 
     /**
-     * Constructs a YourEventsAdapter with the specified context and list of events.
+     * Constructs a YourEventsAdapter with the specified context. Events are supplied later
+     * through {@link #updateEventList(List)}.
      *
-     * @param context   the context in which the adapter is operating
-     * @param eventList the list of events to display
+     * @param context the context in which the adapter is operating
      */
-    public YourEventsAdapter(Context context, List<Event> eventList) {
+    public YourEventsAdapter(Context context) {
+        super(new EventDiffCallback());
         this.context = context;
-        this.eventList = eventList;
-        db = FirebaseFirestore.getInstance();
+        setHasStableIds(true);
     }
 
     /**
@@ -66,125 +59,59 @@ public class YourEventsAdapter extends RecyclerView.Adapter<YourEventsAdapter.Vi
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Event event = eventList.get(position);
-        String eventID = event.getEventID();
+        Event event = getItem(position);
 
         // Bind event data to UI elements
         holder.eventName.setText(event.getName());
         holder.eventDate.setText(event.getDeadline());
-        holder.eventPrice.setText(event.getTicketPrice() != null && !event.getTicketPrice().equals("0") ? "$" + event.getTicketPrice() : "Free");
+        holder.eventPrice.setText(event.getDisplayPrice());
 
-        waitingNum(eventID, size -> {
-            holder.waitingNum.setText(size + " Waiting");
-        });
+        // The waiting count was resolved when the list was loaded, so binding needs no reads
+        int waitingCount = event.getWaitingCount();
+        holder.waitingNum.setText(waitingCount >= 0 ? waitingCount + " Waiting" : "");
 
         // Load event image
-        loadEventImage(event, holder.eventImage);
+        loadEventImage(event, holder);
 
         // Set OnClickListener to navigate to EventLandingPageOrganizerActivity
         holder.itemView.setOnClickListener(v -> navigateToEventDetails(event));
     }
 
     /**
-     * Returns the total number of events in the list.
+     * Returns a stable ID for the event at the given position, so rows keep their
+     * identity across list updates.
      *
-     * @return the total count of events
+     * @param position the position of the item within the list
+     * @return the stable ID of the event
      */
     @Override
-    public int getItemCount() {
-        return eventList.size();
+    public long getItemId(int position) {
+        return getItem(position).getEventID().hashCode();
     }
 
     /**
-     * Updates the event list and refreshes the adapter view.
+     * Replaces the event list. Only the rows that changed are rebound once the background
+     * diff completes.
      *
      * @param newEvents the new list of events to display
      */
     public void updateEventList(List<Event> newEvents) {
-        this.eventList.clear();
-        this.eventList.addAll(newEvents);
-        notifyDataSetChanged();
+        submitList(new ArrayList<>(newEvents));
     }
 
     /**
-     * Retrieves the number of users on the waiting list for the specified event.
+     * Loads the event's poster into the holder's ImageView. Glide cancels the previous
+     * load when the holder is rebound, and the poster URL is stored on the event or
+     * cached, so binding makes no Storage call.
      *
-     * @param eventID  the ID of the event to retrieve the waiting list for
-     * @param callback the callback to return the waiting list size
-     */
-    private void waitingNum(String eventID, WaitingListCallback callback) {
-        db.collection("events").document(eventID).get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        DocumentSnapshot document = task.getResult();
-                        // Retrieve the Waiting list
-                        List<String> waitingList = (List<String>) document.get("entrantList.Waiting");
-                        if (waitingList != null) {
-                            callback.onWaitingListSizeReceived(waitingList.size());
-                        } else {
-                            callback.onWaitingListSizeReceived(0); // No waiting list found
-                        }
-                    } else {
-                        Log.e("waitingNum", "Error fetching document or document does not exist", task.getException());
-                        callback.onWaitingListSizeReceived(-1); // Indicate an error
-                    }
-                });
-    }
-
-    /**
-     * Callback interface for returning the size of the waiting list.
+     * @param event  the event to load the image for
+     * @param holder the ViewHolder showing the event
      */
-    public interface WaitingListCallback {
-        void onWaitingListSizeReceived(int size);
+    private void loadEventImage(Event event, ViewHolder holder) {
+        PosterCache.getInstance(context).load(holder.eventImage,
+                event.getEventID(), event.getName(), event.getPosterUrl(), event.getPosterVersion());
     }
 
-    /**
-     * Loads the event image using the ImageController.
-     *
-     * @param event      the event whose image needs to be loaded
-     * @param eventImage the ImageView to display the image
-     */
-    private void loadEventImage(Event event, ImageView eventImage) {
-        ImageController imageController = new ImageController();
-        String eventName = event.getName();
-
-        imageController.retrieveImage(eventName, new ImageController.ImageRetrieveCallback() {
-            /**
-             * Loads the event image into the ImageView on successful retrieval.
-             *
-             * @param downloadUrl the download URL of the image
-             */
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                if (context instanceof androidx.fragment.app.FragmentActivity) {
-                    androidx.fragment.app.FragmentActivity activity = (androidx.fragment.app.FragmentActivity) context;
-                    if (!activity.isDestroyed() && !activity.isFinishing()) {
-                        Glide.with(context)
-                                .load(downloadUrl)
-                                .placeholder(R.drawable.placeholder_event) // Placeholder while loading
-                                .error(R.drawable.placeholder_event) // Placeholder on error
-                                .centerCrop()
-                                .into(eventImage);
-                    } else {
-                        Log.w(TAG, "Activity is destroyed or finishing. Skipping image load.");
-                    }
-                }
-            }
-
-            /**
-             * Sets a fallback image on failure to retrieve the event image.
-             *
-             * @param e the exception that occurred
-             */
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                Log.e(TAG, "Failed to retrieve image for event: " + eventName, e);
-                eventImage.setImageResource(R.drawable.placeholder_event); // Set fallback image
-            }
-        });
-    }
-
-
     /**
      * Navigates to EventLandingPageOrganizerActivity with the provided event details.
      *
@@ -196,10 +123,13 @@ public class YourEventsAdapter extends RecyclerView.Adapter<YourEventsAdapter.Vi
         intent.putExtra("details", event.getDetail());
         intent.putExtra("rules", event.getRules());
         intent.putExtra("deadline", event.getDeadline());
+        intent.putExtra("deadlineAt", event.getDeadlineAt());
         intent.putExtra("startDate", event.getStartDate());
         intent.putExtra("price", event.getTicketPrice());
         intent.putExtra("eventID", event.getEventID());
         intent.putExtra("owner", event.getOwner());
+        intent.putExtra("posterUrl", event.getPosterUrl());
+        intent.putExtra("posterVersion", event.getPosterVersion());
         if (event.getImageUri() != null) {
             intent.putExtra("imageUri", event.getImageUri().toString());
         }
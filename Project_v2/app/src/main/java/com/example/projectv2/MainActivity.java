@@ -33,6 +33,7 @@ import androidx.viewpager2.widget.ViewPager2;
 
 import com.example.projectv2.Utils.DBUtils;
 import com.example.projectv2.Controller.DeadlineWorker;
+import com.example.projectv2.Controller.EventMigrationWorker;
 import com.example.projectv2.Controller.EventsPagerAdapter;
 import com.example.projectv2.Controller.ProfileImageController;
 import com.example.projectv2.Model.User;
@@ -54,6 +55,7 @@ import com.google.android.material.tabs.TabLayoutMediator;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
+import androidx.work.BackoffPolicy;
 import androidx.work.ExistingPeriodicWorkPolicy;
 import androidx.work.OneTimeWorkRequest;
 import androidx.work.PeriodicWorkRequest;
@@ -102,20 +104,25 @@ public class MainActivity extends AppCompatActivity {
 
         // Deadline Execution
         OneTimeWorkRequest immediateWorkRequest = new OneTimeWorkRequest.Builder(
-                DeadlineWorker.class).build();
+                DeadlineWorker.class)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
         WorkManager.getInstance(this).enqueue(immediateWorkRequest);
 
         // Periodic work for subsequent executions
         PeriodicWorkRequest periodicWorkRequest = new PeriodicWorkRequest.Builder(
                 DeadlineWorker.class,
                 15, TimeUnit.MINUTES
-        ).build();
+        ).setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS).build();
         WorkManager.getInstance(this).enqueueUniquePeriodicWork(
                 "MoveExpiredUsers",
-                ExistingPeriodicWorkPolicy.REPLACE,
+                ExistingPeriodicWorkPolicy.KEEP,
                 periodicWorkRequest
         );
 
+        // One-time migration of events stored in an older layout
+        EventMigrationWorker.enqueueIfNeeded(this);
+
         drawerLayout = findViewById(R.id.homescreen_drawer_layout);
         profilePicture = findViewById(R.id.homescreen_profile_pic);
         ImageView notificationBell = findViewById(R.id.homescreen_notification_bell);
@@ -360,10 +367,9 @@ public class MainActivity extends AppCompatActivity {
                 TextView userNameTextView = headerView.findViewById(R.id.textView19);
                 userNameTextView.setText(userName);
                 if (!Objects.equals(userID, "")) {
-                    Log.d("HUHUUUUU",userID);
-                    profileImageController.loadImage(userID, profilePicture);
-                    Log.d("HUHUUUUU","Tried to call loadimage on profilePicture "+userID);
-                    profileImageController.loadImage(userID, profilePic);}
+                    // Reuses the fetched user; the second view is served from Glide's memory cache
+                    profileImageController.loadImage(userID, user, profilePicture);
+                    profileImageController.loadImage(userID, user, profilePic);}
                 else {
                     Log.d("HUHUUUUU","userID is null");
                 }
@@ -0,0 +1,68 @@
+package com.example.projectv2.Model;
+
+import java.util.Objects;
+
+/**
+ * Model class for Entrants
+ * <p>
+ * Represents one row of an event's entrant list: the user's ID and the display name
+ * resolved for it. Two entrants are equal when both fields are equal, which lets list
+ * diffs tell a renamed entrant apart from a different one.</p>
+ */
+public class Entrant {
+    private final String userId;
+    private final String name;
+
+    /**
+     * Constructs an Entrant with the given user ID and display name.
+     *
+     * @param userId the ID of the user
+     * @param name   the display name of the user
+     */
+    public Entrant(String userId, String name) {
+        this.userId = userId;
+        this.name = name;
+    }
+
+    /**
+     * Returns the ID of the user.
+     *
+     * @return the user ID
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the display name of the user.
+     *
+     * @return the display name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Compares this entrant with another object.
+     *
+     * @param o the object to compare with
+     * @return true if the other object is an Entrant with the same ID and name
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Entrant)) return false;
+        Entrant entrant = (Entrant) o;
+        return Objects.equals(userId, entrant.userId) && Objects.equals(name, entrant.name);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, name);
+    }
+}
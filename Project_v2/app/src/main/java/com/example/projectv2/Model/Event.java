@@ -9,6 +9,7 @@ package com.example.projectv2.Model;
 
 import android.net.Uri;
 import java.io.Serializable;
+import java.util.Locale;
 
 /**
  * Model class for Events
@@ -27,6 +28,13 @@ public class Event implements Serializable {
     private String ticketPrice;
     private Uri imageUri;
     private String facility;
+    private String entrantStatus;
+    private int waitingCount = -1;
+    private long deadlineAt = -1;
+    private long startAt = -1;
+    private long priceCents = -1;
+    private String posterUrl;
+    private long posterVersion;
 
     /**
      * Constructs an Event with specified details.
@@ -159,4 +167,155 @@ public class Event implements Serializable {
     public String getEventID() {
         return eventID;
     }
+
+    /**
+     * Returns the current user's entrant status in the event, resolved when the list was
+     * loaded.
+     *
+     * @return the entrant status, or null if it was not resolved
+     */
+    public String getEntrantStatus() {
+        return entrantStatus;
+    }
+
+    /**
+     * Sets the current user's entrant status in the event.
+     *
+     * @param entrantStatus the entrant status
+     */
+    public void setEntrantStatus(String entrantStatus) {
+        this.entrantStatus = entrantStatus;
+    }
+
+    /**
+     * Returns the number of entrants on the waiting list, resolved when the list was loaded.
+     *
+     * @return the waiting list size, or -1 if it was not resolved
+     */
+    public int getWaitingCount() {
+        return waitingCount;
+    }
+
+    /**
+     * Sets the number of entrants on the waiting list.
+     *
+     * @param waitingCount the waiting list size
+     */
+    public void setWaitingCount(int waitingCount) {
+        this.waitingCount = waitingCount;
+    }
+
+    /**
+     * Returns the moment the registration deadline passes, in epoch milliseconds.
+     *
+     * @return the deadline, or -1 if it is not known
+     */
+    public long getDeadlineAt() {
+        return deadlineAt;
+    }
+
+    /**
+     * Sets the moment the registration deadline passes.
+     *
+     * @param deadlineAt the deadline in epoch milliseconds, or -1 if it is not known
+     */
+    public void setDeadlineAt(long deadlineAt) {
+        this.deadlineAt = deadlineAt;
+    }
+
+    /**
+     * Returns the start of the event, in epoch milliseconds.
+     *
+     * @return the start of the event, or -1 if it is not known
+     */
+    public long getStartAt() {
+        return startAt;
+    }
+
+    /**
+     * Sets the start of the event.
+     *
+     * @param startAt the start of the event in epoch milliseconds, or -1 if it is not known
+     */
+    public void setStartAt(long startAt) {
+        this.startAt = startAt;
+    }
+
+    /**
+     * Returns the ticket price in cents.
+     *
+     * @return the ticket price in cents, or -1 if it is not known
+     */
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * Sets the ticket price in cents.
+     *
+     * @param priceCents the ticket price in cents, or -1 if it is not known
+     */
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
+    }
+
+    /**
+     * Returns the download URL of the event's poster.
+     *
+     * @return the poster URL, or null if it is not known
+     */
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    /**
+     * Sets the download URL of the event's poster.
+     *
+     * @param posterUrl the poster URL
+     */
+    public void setPosterUrl(String posterUrl) {
+        this.posterUrl = posterUrl;
+    }
+
+    /**
+     * Returns the version of the event's poster, which changes every time a poster is
+     * uploaded.
+     *
+     * @return the poster version, or 0 if it is not known
+     */
+    public long getPosterVersion() {
+        return posterVersion;
+    }
+
+    /**
+     * Sets the version of the event's poster.
+     *
+     * @param posterVersion the poster version
+     */
+    public void setPosterVersion(long posterVersion) {
+        this.posterVersion = posterVersion;
+    }
+
+    /**
+     * Checks whether the registration deadline has passed.
+     *
+     * @param now the current time in epoch milliseconds
+     * @return true if the deadline is known and has passed
+     */
+    public boolean isDeadlinePassed(long now) {
+        return deadlineAt >= 0 && now >= deadlineAt;
+    }
+
+    /**
+     * Returns the ticket price as shown on event cards. The typed price is used when it is
+     * known, and the entered price string otherwise.
+     *
+     * @return "Free" for a free event, or the price with a dollar sign
+     */
+    public String getDisplayPrice() {
+        if (priceCents >= 0) {
+            return priceCents == 0 ? "Free" : String.format(Locale.US, "$%d.%02d", priceCents / 100, priceCents % 100);
+        }
+        return ticketPrice != null && !ticketPrice.equals("0") ? "$" + ticketPrice : "Free";
+    }
 }
@@ -0,0 +1,318 @@
+/**
+ * Model class representing the summary of an event shown on list screens. Summaries are
+ * stored in the {@code eventSummaries} collection, one per event, and carry only the
+ * fields an event card needs.
+ *
+ * <p>Outstanding Issues: None currently identified.</p>
+ */
+package com.example.projectv2.Model;
+
+import com.google.firebase.Timestamp;
+
+/**
+ * Model class for Event Summaries
+ * <p>
+ * Represents the list view of an event: name, owner, description, dates, ticket price,
+ * image and facility. Entrant lists, rules and QR data stay on the full event document.
+ * The no-argument constructor and setters allow Firestore to map documents directly.</p>
+ */
+public class EventSummary {
+    private String eventID;
+    private String owner;
+    private String name;
+    private String detail;
+    private String deadline;
+    private String startDate;
+    private String ticketPrice;
+    private String imageUri;
+    private String facility;
+    private Timestamp deadlineAt;
+    private Timestamp startAt;
+    private Long priceCents;
+    private String posterUrl;
+    private long posterVersion;
+
+    /**
+     * Default constructor required for Firestore mapping.
+     */
+    public EventSummary() {}
+
+    /**
+     * Constructs an EventSummary with specified details.
+     *
+     * @param eventID     the unique identifier for the event
+     * @param owner       the owner or creator of the event
+     * @param name        the name of the event
+     * @param detail      a description of the event
+     * @param deadline    the registration deadline for the event
+     * @param startDate   the start date of the event
+     * @param ticketPrice the price of the event's ticket
+     * @param imageUri    the URL of the event's image, if any
+     * @param facility    the facility where the event is hosted
+     */
+    public EventSummary(String eventID, String owner, String name, String detail, String deadline,
+                        String startDate, String ticketPrice, String imageUri, String facility) {
+        this.eventID = eventID;
+        this.owner = owner;
+        this.name = name;
+        this.detail = detail;
+        this.deadline = deadline;
+        this.startDate = startDate;
+        this.ticketPrice = ticketPrice;
+        this.imageUri = imageUri;
+        this.facility = facility;
+    }
+
+    /**
+     * Returns the event ID.
+     *
+     * @return the event ID
+     */
+    public String getEventID() {
+        return eventID;
+    }
+
+    /**
+     * Sets the event ID.
+     *
+     * @param eventID the event ID
+     */
+    public void setEventID(String eventID) {
+        this.eventID = eventID;
+    }
+
+    /**
+     * Returns the owner of the event.
+     *
+     * @return the owner of the event
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Sets the owner of the event.
+     *
+     * @param owner the owner of the event
+     */
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the name of the event.
+     *
+     * @return the name of the event
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the event.
+     *
+     * @param name the name of the event
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the description of the event.
+     *
+     * @return the description of the event
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Sets the description of the event.
+     *
+     * @param detail the description of the event
+     */
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    /**
+     * Returns the registration deadline of the event.
+     *
+     * @return the deadline of the event
+     */
+    public String getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the registration deadline of the event.
+     *
+     * @param deadline the deadline of the event
+     */
+    public void setDeadline(String deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the start date of the event.
+     *
+     * @return the start date of the event
+     */
+    public String getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Sets the start date of the event.
+     *
+     * @param startDate the start date of the event
+     */
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    /**
+     * Returns the ticket price of the event.
+     *
+     * @return the ticket price of the event
+     */
+    public String getTicketPrice() {
+        return ticketPrice;
+    }
+
+    /**
+     * Sets the ticket price of the event.
+     *
+     * @param ticketPrice the ticket price of the event
+     */
+    public void setTicketPrice(String ticketPrice) {
+        this.ticketPrice = ticketPrice;
+    }
+
+    /**
+     * Returns the URL of the event image.
+     *
+     * @return the image URL, or null if the event has no image
+     */
+    public String getImageUri() {
+        return imageUri;
+    }
+
+    /**
+     * Sets the URL of the event image.
+     *
+     * @param imageUri the image URL
+     */
+    public void setImageUri(String imageUri) {
+        this.imageUri = imageUri;
+    }
+
+    /**
+     * Returns the facility hosting the event.
+     *
+     * @return the facility of the event
+     */
+    public String getFacility() {
+        return facility;
+    }
+
+    /**
+     * Sets the facility hosting the event.
+     *
+     * @param facility the facility of the event
+     */
+    public void setFacility(String facility) {
+        this.facility = facility;
+    }
+
+    /**
+     * Returns the moment the registration deadline passes.
+     *
+     * @return the deadline timestamp, or null if it is not stored
+     */
+    public Timestamp getDeadlineAt() {
+        return deadlineAt;
+    }
+
+    /**
+     * Sets the moment the registration deadline passes.
+     *
+     * @param deadlineAt the deadline timestamp
+     */
+    public void setDeadlineAt(Timestamp deadlineAt) {
+        this.deadlineAt = deadlineAt;
+    }
+
+    /**
+     * Returns the start of the event.
+     *
+     * @return the start timestamp, or null if it is not stored
+     */
+    public Timestamp getStartAt() {
+        return startAt;
+    }
+
+    /**
+     * Sets the start of the event.
+     *
+     * @param startAt the start timestamp
+     */
+    public void setStartAt(Timestamp startAt) {
+        this.startAt = startAt;
+    }
+
+    /**
+     * Returns the ticket price in cents.
+     *
+     * @return the ticket price in cents, or null if it is not stored
+     */
+    public Long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * Sets the ticket price in cents.
+     *
+     * @param priceCents the ticket price in cents
+     */
+    public void setPriceCents(Long priceCents) {
+        this.priceCents = priceCents;
+    }
+
+    /**
+     * Returns the download URL of the event's poster.
+     *
+     * @return the poster URL, or null if it is not stored
+     */
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    /**
+     * Sets the download URL of the event's poster.
+     *
+     * @param posterUrl the poster URL
+     */
+    public void setPosterUrl(String posterUrl) {
+        this.posterUrl = posterUrl;
+    }
+
+    /**
+     * Returns the version of the event's poster, which changes every time a poster is
+     * uploaded.
+     *
+     * @return the poster version, or 0 if it is not stored
+     */
+    public long getPosterVersion() {
+        return posterVersion;
+    }
+
+    /**
+     * Sets the version of the event's poster.
+     *
+     * @param posterVersion the poster version
+     */
+    public void setPosterVersion(long posterVersion) {
+        this.posterVersion = posterVersion;
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.projectv2.Model;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import com.example.projectv2.core.DateCodec;
+
+import java.time.ZoneId;
 
 /**
  * Model class for Notifications
@@ -30,7 +30,7 @@ public class Notification {
         this.content = content;
         this.isOrganiser = isOrganiser;
         this.isAdmin = isAdmin;
-        this.timeSent = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss", Locale.getDefault()).format(new Date());
+        this.timeSent = DateCodec.formatDateTime(System.currentTimeMillis(), ZoneId.systemDefault());
     }
 
     /**
@@ -8,6 +8,8 @@
  */
 package com.example.projectv2.Model;
 
+import com.google.firebase.firestore.Exclude;
+
 import java.util.ArrayList;
 import java.util.Map;
 
@@ -25,6 +27,7 @@ public class User {
     private boolean organizerNotif;
     private String phoneNumber;
     private String profileImage;
+    private long profileImageVersion;
     private String deviceID;
     private ArrayList<Map<String, Object>> adminNotifList;
     private ArrayList<Map<String, Object>> organizerNotifList;
@@ -167,20 +170,24 @@ public class User {
     }
 
     /**
-     * Returns the list of admin notifications for the user.
+     * Returns the list of admin notifications for the user. Notifications are now stored in
+     * the user's inbox subcollection, so this list is excluded from Firestore mapping.
      *
      * @return the list of admin notifications
      */
+    @Exclude
     public ArrayList<Map<String, Object>> getAdminNotifList() {
         if (adminNotifList == null) {return new ArrayList<>();}
         return adminNotifList;
     }
 
     /**
-     * Returns the list of organizer notifications for the user.
+     * Returns the list of organizer notifications for the user. Notifications are now stored in
+     * the user's inbox subcollection, so this list is excluded from Firestore mapping.
      *
      * @return the list of organizer notifications
      */
+    @Exclude
     public ArrayList<Map<String, Object>> getOrganizerNotifList() {
         if (organizerNotifList == null) {return new ArrayList<>();}
         return organizerNotifList;
@@ -269,6 +276,16 @@ public class User {
         this.phoneNumber = phoneNumber;
     }
 
+    /**
+     * Returns the version of the user's profile image. It changes every time the image is
+     * uploaded or removed, and is used to tell cached copies of the image apart.
+     *
+     * @return the version of the user's profile image, or 0 if it was never set
+     */
+    public long getProfileImageVersion() {
+        return profileImageVersion;
+    }
+
     /**
      * Sets the URI of the user's profile image.
      *
@@ -278,6 +295,15 @@ public class User {
         this.profileImage = imageLink;
     }
 
+    /**
+     * Sets the version of the user's profile image.
+     *
+     * @param profileImageVersion the version of the profile image
+     */
+    public void setProfileImageVersion(long profileImageVersion) {
+        this.profileImageVersion = profileImageVersion;
+    }
+
     /**
      * Sets the device ID associated with the user.
      *
@@ -292,6 +318,7 @@ public class User {
      *
      * @param adminNotifList the list of admin notifications
      */
+    @Exclude
     public void setAdminNotifList(ArrayList<Map<String, Object>> adminNotifList) {
         this.adminNotifList = adminNotifList;
     }
@@ -301,6 +328,7 @@ public class User {
      *
      * @param organizerNotifList the list of organizer notifications
      */
+    @Exclude
     public void setOrganizerNotifList(ArrayList<Map<String, Object>> organizerNotifList) {
         this.organizerNotifList = organizerNotifList;
     }
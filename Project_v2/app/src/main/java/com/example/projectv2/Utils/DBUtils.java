@@ -2,16 +2,14 @@ package com.example.projectv2.Utils;
 
 import android.util.Log;
 
+import com.example.projectv2.Controller.EntrantRepository;
 import com.example.projectv2.Model.User;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 /**
  * Utility class for interacting with the Firebase Firestore database.
@@ -27,78 +25,27 @@ public class DBUtils {
     }
 
     /**
-     * Add a user to the entrant list of an event.
+     * Move a user to the Cancelled list of an event.
      *
-     * @param userID  the ID of the user to add
-     * @param eventID the ID of the event to add the user to
+     * @param userID  the ID of the user to cancel
+     * @param eventID the ID of the event to cancel the user from
      */
     public static void removeUser(String userID, String eventID) {
-        db.collection("events").document(eventID)
-                .get().
-                addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        // Get the entrantList
-                        Map<String, List<String>> entrantList = (Map<String, List<String>>) documentSnapshot.get("entrantList");
-                        if (entrantList != null) {
-                            // Remove userID from all sublists
-                            entrantList.keySet().forEach(key -> Objects.requireNonNull(entrantList.get(key)).remove(userID));
-
-                            // Add userID to the Cancelled sublist
-                            List<String> cancelledList = entrantList.get("Cancelled");
-                            if (cancelledList == null) {
-                                cancelledList = new ArrayList<>();
-                                entrantList.put("Cancelled", cancelledList);
-                            }
-                            if (!cancelledList.contains(userID)) {
-                                cancelledList.add(userID);
-                            }
-
-                            // Update the event document
-                            db.collection("events").document(eventID)
-                                    .update("entrantList", entrantList)
-                                    .addOnSuccessListener(aVoid -> Log.d("Firebase", "User moved to Cancelled list successfully"))
-                                    .addOnFailureListener(e -> Log.e("Firebase", "Error updating entrant list", e));
-                        }
-                    }
-                }).addOnFailureListener(e -> Log.e("Firebase", "Error fetching event document", e));
+        new EntrantRepository().setStatus(eventID, userID, EntrantRepository.CANCELLED)
+                .addOnSuccessListener(aVoid -> Log.d("Firebase", "User moved to Cancelled list successfully"))
+                .addOnFailureListener(e -> Log.e("Firebase", "Error updating entrant list", e));
     }
 
     /**
-     * Add a user to the entrant list of an event.
+     * Move several users to the Cancelled list of an event.
      *
-     * @param userID  the ID of the user to add
-     * @param eventID the ID of the event to add the user to
+     * @param userIDs the IDs of the users to cancel
+     * @param eventID the ID of the event to cancel the users from
      */
     public static void removeUsers(List<String> userIDs, String eventID) {
-        db.collection("events").document(eventID)
-                .get().
-                addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        // Get the entrantList
-                        Map<String, List<String>> entrantList = (Map<String, List<String>>) documentSnapshot.get("entrantList");
-                        if (entrantList != null) {
-                            for (String userID: userIDs){
-                                // Remove userID from all sublists
-                                entrantList.keySet().forEach(key -> Objects.requireNonNull(entrantList.get(key)).remove(userID));
-
-                                // Add userID to the Cancelled sublist
-                                List<String> cancelledList = entrantList.get("Cancelled");
-                                if (cancelledList == null) {
-                                    cancelledList = new ArrayList<>();
-                                    entrantList.put("Cancelled", cancelledList);
-                                }
-                                if (!cancelledList.contains(userID)) {
-                                    cancelledList.add(userID);
-                                }
-                            }
-                            // Update the event document
-                            db.collection("events").document(eventID)
-                                    .update("entrantList", entrantList)
-                                    .addOnSuccessListener(aVoid -> Log.d("Firebase", "User moved to Cancelled list successfully"))
-                                    .addOnFailureListener(e -> Log.e("Firebase", "Error updating entrant list", e));
-                        }
-                    }
-                }).addOnFailureListener(e -> Log.e("Firebase", "Error fetching event document", e));
+        new EntrantRepository().setStatuses(eventID, userIDs, EntrantRepository.CANCELLED)
+                .addOnSuccessListener(aVoid -> Log.d("Firebase", "Users moved to Cancelled list successfully"))
+                .addOnFailureListener(e -> Log.e("Firebase", "Error updating entrant list", e));
     }
 
     public interface EventCallback {
@@ -127,6 +74,9 @@ public class DBUtils {
                             eventDetails.put("startDate", document.getString("startDate"));
                             eventDetails.put("price", document.getString("price"));
                             eventDetails.put("imageUri", document.getString("imageUri"));
+                            eventDetails.put("posterUrl", document.getString("posterUrl"));
+                            Long posterVersion = document.getLong("posterVersion");
+                            eventDetails.put("posterVersion", posterVersion != null ? posterVersion.toString() : null);
                             eventDetails.put("user", document.getString("owner"));
 
                             callback.onCallback(eventDetails);
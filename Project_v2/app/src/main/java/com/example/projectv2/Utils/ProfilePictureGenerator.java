@@ -6,63 +6,152 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.Typeface;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
 
-import com.example.projectv2.Controller.ProfileImageController;
+import com.example.projectv2.R;
+import com.example.projectv2.core.Initials;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Utility class for generating profile pictures with initials and random background colors.
+ * Utility class for generating profile pictures with initials on a coloured background.
+ *
+ * <p>Generated pictures are kept in a least recently used cache keyed by initials, size and
+ * colour, so users who share initials share one bitmap and a list rebinding its rows
+ * allocates nothing. Pictures are drawn with shared paints, in RGB_565 since they are fully
+ * opaque, and {@link #load(ImageView, String)} draws them at the size of the view on a
+ * background thread. Cached bitmaps are shared and must not be recycled or modified.</p>
  */
 public class ProfilePictureGenerator {
+    /** Size used when a view has not been measured and has no fixed size. */
+    public static final int DEFAULT_SIZE = 500;
+    /** Most memory the cached pictures may use. */
+    private static final int CACHE_BYTES = 4 * 1024 * 1024;
+    private static final int COLOR = Color.parseColor("#5669FF");
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ProfilePictureGenerator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Paint backgroundPaint = new Paint();
+    private static final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private static final Rect textBounds = new Rect();
+
+    static {
+        backgroundPaint.setStyle(Paint.Style.FILL);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
+        textPaint.setTextAlign(Paint.Align.CENTER);
+    }
 
     /**
-     * Generates a profile picture bitmap with initials and random background color.
+     * Returns a profile picture bitmap with a name's initials, drawing it only if it is not
+     * cached. The bitmap is shared and must not be recycled or modified.
      *
-     * @param name     the name of the user
+     * @param name      the name of the user
      * @param imageSize the size of the image in pixels
-     * @return the generated profile picture bitmap
+     * @return the profile picture bitmap
      */
-    public static Bitmap generateProfilePicture( String name, int imageSize) {
-        // Split the name to get initials
-        String[] nameParts = name.split(" ");
-        String initials = "";
-        for (String part : nameParts) {
-            if (!part.isEmpty() && initials.length() < 2) {
-                initials += part.charAt(0);
-            }
+    public static Bitmap generateProfilePicture(String name, int imageSize) {
+        String initials = Initials.of(name);
+        String key = key(initials, imageSize);
+        Bitmap bitmap = cache.get(key);
+        if (bitmap == null) {
+            bitmap = draw(initials, imageSize);
+            cache.put(key, bitmap);
         }
-        initials = initials.toUpperCase();
+        return bitmap;
+    }
+
+    /**
+     * Shows a profile picture with a name's initials in an image view, at the size of the
+     * view. A cached picture is shown at once; otherwise it is drawn on a background thread
+     * and shown if the view has not been given another picture in the meantime. Callers
+     * loading into the view with Glide should clear it first.
+     *
+     * @param imageView the image view to show the picture in
+     * @param name      the name of the user
+     */
+    public static void load(ImageView imageView, String name) {
+        String initials = Initials.of(name);
+        int size = sizeOf(imageView);
+        String key = key(initials, size);
+        imageView.setTag(R.id.generated_avatar_key, key);
 
-        // Create a Bitmap
-        Bitmap bitmap = Bitmap.createBitmap(imageSize, imageSize, Bitmap.Config.ARGB_8888);
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            imageView.setImageBitmap(cached);
+            return;
+        }
+        executor.execute(() -> {
+            Bitmap bitmap = generateProfilePicture(name, size);
+            imageView.post(() -> {
+                if (key.equals(imageView.getTag(R.id.generated_avatar_key))) {
+                    imageView.setImageBitmap(bitmap);
+                }
+            });
+        });
+    }
+
+    /**
+     * Draws a profile picture.
+     *
+     * @param initials  the initials to draw
+     * @param imageSize the size of the image in pixels
+     * @return the new bitmap
+     */
+    private static synchronized Bitmap draw(String initials, int imageSize) {
+        Bitmap bitmap = Bitmap.createBitmap(imageSize, imageSize, Bitmap.Config.RGB_565);
         Canvas canvas = new Canvas(bitmap);
 
-        // Generate a random background color
-        Paint backgroundPaint = new Paint();
-        backgroundPaint.setColor(getColor());
-        backgroundPaint.setStyle(Paint.Style.FILL);
+        backgroundPaint.setColor(COLOR);
         canvas.drawRect(0, 0, imageSize, imageSize, backgroundPaint);
 
-        // Draw the initials
-        Paint textPaint = new Paint();
-        textPaint.setColor(Color.WHITE);
-        textPaint.setTextSize(imageSize / 2);
-        textPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
-        textPaint.setTextAlign(Paint.Align.CENTER);
-
-        // Measure the text bounds
-        Rect textBounds = new Rect();
+        // Draw the initials centred on the measured text bounds
+        textPaint.setTextSize(imageSize / 2f);
         textPaint.getTextBounds(initials, 0, initials.length(), textBounds);
         float x = imageSize / 2f;
         float y = imageSize / 2f - textBounds.exactCenterY();
-
         canvas.drawText(initials, x, y, textPaint);
 
         return bitmap;
     }
 
-    // Generate a random color
-    private static int getColor() {
-//        Random random = new Random();
-        return Color.parseColor("#5669FF");
+    /**
+     * Returns the size to draw a picture at for a view.
+     *
+     * @param imageView the image view
+     * @return the larger side of the view, or {@link #DEFAULT_SIZE} if it is not known
+     */
+    private static int sizeOf(ImageView imageView) {
+        int size = Math.max(imageView.getWidth(), imageView.getHeight());
+        if (size <= 0) {
+            ViewGroup.LayoutParams params = imageView.getLayoutParams();
+            if (params != null) {
+                size = Math.max(params.width, params.height);
+            }
+        }
+        return size > 0 ? size : DEFAULT_SIZE;
+    }
+
+    /**
+     * Returns the cache key of a picture.
+     *
+     * @param initials  the initials on the picture
+     * @param imageSize the size of the picture in pixels
+     * @return the cache key
+     */
+    private static String key(String initials, int imageSize) {
+        return initials + "|" + imageSize + "|" + COLOR;
     }
 }
@@ -4,6 +4,7 @@ import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -14,6 +15,7 @@ import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.ArrayList;
 
@@ -23,10 +25,19 @@ import java.util.ArrayList;
  */
 public class AdminEventListActivity extends AppCompatActivity {
 
+    /** Number of events requested per page. */
+    private static final int PAGE_SIZE = 20;
+    /** Load the next page when the last visible row is this close to the end of the list. */
+    private static final int PREFETCH_DISTANCE = 5;
+
     private RecyclerView recyclerView;
     private AdminEventsAdapter adapter;
     private EventController eventController;
     private SwipeRefreshLayout swipeRefreshLayout;
+    private DocumentSnapshot lastDocument;
+    private boolean isLoading;
+    private boolean hasMore = true;
+    private int generation;
 
     /**
      * Initializes the UI layout and sets up the top bar with the title "Browse Events."
@@ -43,16 +54,27 @@ public class AdminEventListActivity extends AppCompatActivity {
 
         // Initialize RecyclerView
         recyclerView = findViewById(R.id.recyclerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new AdminEventsAdapter(this, new ArrayList<>());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
+        adapter = new AdminEventsAdapter(this);
         recyclerView.setAdapter(adapter);
 
+        // Load the next page as the admin scrolls near the end of the list
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
         // Initialize SwipeRefreshLayout
         swipeRefreshLayout = findViewById(R.id.swipe_refresh_layout);
         // Set up refresh listener
         swipeRefreshLayout.setOnRefreshListener(() -> {
             // Perform refresh actions, like reloading data
-            fetchEvents();
+            refreshEvents();
 
             // Stop the refreshing animation
             swipeRefreshLayout.setRefreshing(false);
@@ -61,32 +83,61 @@ public class AdminEventListActivity extends AppCompatActivity {
         // Initialize EventController
         eventController = new EventController(this);
 
-        // Fetch and display events
-        fetchEvents();
+        // Fetch and display the first page of events
+        refreshEvents();
     }
 
     /**
-     * Fetches the list of events from the database and updates the RecyclerView adapter.
+     * Reloads the list of events, starting again from the first page.
      */
-    private void fetchEvents() {
-        eventController.fetchEvents(new EventController.EventCallback() {
+    private void refreshEvents() {
+        generation++;
+        lastDocument = null;
+        hasMore = true;
+        isLoading = false;
+        loadPage(true);
+    }
 
-            // Callback methods for handling event list loading
-            @Override
-            public void onEventListLoaded(ArrayList<Event> events) {
-                Log.d("AdminFacilityListActivity", "Fetched " + events.size() + " events.");
-                adapter.updateEventList(events);
-            }
+    /**
+     * Loads the page after the last loaded event, if there is one and no load is running.
+     */
+    private void loadNextPage() {
+        if (!isLoading && hasMore) {
+            loadPage(false);
+        }
+    }
 
-            // Not needed in this activity
+    /**
+     * Loads a page of events and adds it to the adapter. Pages requested before the most
+     * recent refresh are discarded when they arrive.
+     *
+     * @param replace whether the page replaces the current list instead of extending it
+     */
+    private void loadPage(boolean replace) {
+        isLoading = true;
+        int requestGeneration = generation;
+        eventController.fetchEventsPage(lastDocument, PAGE_SIZE, new EventController.EventPageCallback() {
             @Override
-            public void onEventCreated(String eventId) {
-                // Not needed in this activity
+            public void onPageLoaded(ArrayList<Event> events, DocumentSnapshot last, boolean more) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                Log.d("AdminFacilityListActivity", "Fetched page of " + events.size() + " events.");
+                lastDocument = last;
+                hasMore = more;
+                isLoading = false;
+                if (replace) {
+                    adapter.updateEventList(events);
+                } else {
+                    adapter.appendEvents(events);
+                }
             }
 
-            // Not needed in this activity
             @Override
             public void onError(Exception e) {
+                if (requestGeneration == generation) {
+                    isLoading = false;
+                }
                 Log.e("AdminFacilityListActivity", "Error fetching events", e);
             }
         });
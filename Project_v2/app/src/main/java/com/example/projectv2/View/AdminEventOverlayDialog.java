@@ -9,6 +9,7 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.projectv2.Controller.EventController;
 import com.example.projectv2.Controller.ImageController;
 import com.example.projectv2.Controller.NotificationService;
 import com.example.projectv2.Utils.topBarUtils;
@@ -74,8 +75,7 @@ public class AdminEventOverlayDialog extends AppCompatActivity {
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         String owner = documentSnapshot.getString("owner");
-                        db.collection("events").document(eventID)
-                                .delete()
+                        new EventController(this).deleteEvent(eventID)
                                 .addOnSuccessListener(aVoid -> {
                                     Log.d("AdminEventOverlay", "Event successfully deleted!");
                                     sendOwnerNotification(owner, "Your event, " + eventName + ", has been deleted by an admin.");
@@ -145,7 +145,7 @@ public class AdminEventOverlayDialog extends AppCompatActivity {
     private void sendOwnerNotification(String ownerID, String message) {
         if (ownerID != null && !ownerID.isEmpty()) {
             Notification notification = new Notification(ownerID, message, false, true);
-            notificationService.sendNotification(this, notification, "-1");
+            notificationService.sendNotification(notification, "-1");
         } else {
             Log.w("AdminEventOverlay", "Owner ID is null or empty. Cannot send notification.");
         }
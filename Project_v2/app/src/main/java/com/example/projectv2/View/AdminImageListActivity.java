@@ -14,13 +14,11 @@ import com.example.projectv2.Controller.ImageController;
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.R;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class AdminImageListActivity extends AppCompatActivity {
 
     private EventImageAdapter adapter;
-    private List<String> imageFilenames;
     private SwipeRefreshLayout swipeRefreshLayout;
 
     /**
@@ -39,8 +37,7 @@ public class AdminImageListActivity extends AppCompatActivity {
         RecyclerView recyclerView = findViewById(R.id.recycler_view);
         recyclerView.setLayoutManager(new GridLayoutManager(this, 2)); // Grid layout with 2 columns
 
-        imageFilenames = new ArrayList<>();
-        adapter = new EventImageAdapter(this, imageFilenames);
+        adapter = new EventImageAdapter(this);
         recyclerView.setAdapter(adapter);
 
         // Initialize SwipeRefreshLayout
@@ -64,9 +61,7 @@ public class AdminImageListActivity extends AppCompatActivity {
             // Update the RecyclerView with the list of image filenames
             @Override
             public void onSuccess(List<String> filenames) {
-                imageFilenames.clear(); // Clear any existing data
-                imageFilenames.addAll(filenames); // Add the filtered filenames
-                adapter.notifyDataSetChanged();
+                adapter.updateImageList(filenames);
 
                 // Hide refresh animation
                 swipeRefreshLayout.setRefreshing(false);
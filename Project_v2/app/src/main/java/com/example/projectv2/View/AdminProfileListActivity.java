@@ -36,7 +36,6 @@ import java.util.Objects;
 public class AdminProfileListActivity extends AppCompatActivity {
 
     private AdminProfileAdapter adapter;
-    private List<User> userList;
     private SwipeRefreshLayout swipeRefreshLayout;
 
     /**
@@ -54,8 +53,7 @@ public class AdminProfileListActivity extends AppCompatActivity {
         RecyclerView adminProfileListRecycler = findViewById(R.id.adminProfileListRecycler);
         adminProfileListRecycler.setLayoutManager(new LinearLayoutManager(this));
 
-        userList = new ArrayList<>();
-        adapter = new AdminProfileAdapter(userList, (userID) -> showProfile(userID));
+        adapter = new AdminProfileAdapter((userID) -> showProfile(userID));
         adminProfileListRecycler.setAdapter(adapter);
 
         swipeRefreshLayout = findViewById(R.id.swipe_refresh_layout);
@@ -76,7 +74,7 @@ public class AdminProfileListActivity extends AppCompatActivity {
         db.collection("Users")
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
-                    userList.clear();
+                    List<User> userList = new ArrayList<>();
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                         User user = document.toObject(User.class);
                         if (user.getName() != null) {
@@ -84,7 +82,7 @@ public class AdminProfileListActivity extends AppCompatActivity {
                             userList.add(user);
                         }
                     }
-                    adapter.notifyDataSetChanged();
+                    adapter.updateUserList(userList);
                 })
                 .addOnFailureListener(e -> Toast.makeText(this, "Failed to load users", Toast.LENGTH_SHORT).show());
     }
@@ -16,8 +16,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.DialogFragment;
 
+import com.example.projectv2.Controller.EventController;
 import com.example.projectv2.Controller.ImageController;
 import com.example.projectv2.Controller.NotificationService;
+import com.example.projectv2.Controller.ProfileImageController;
 import com.example.projectv2.Model.Notification;
 import com.example.projectv2.R;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -82,7 +84,7 @@ public class AdminProfileOverlayDialog extends DialogFragment {
                 .addOnSuccessListener(aVoid -> {
                     if (!isChecked) {
                         Notification notification = new Notification(userID, "Your admin privileges have been revoked", false, true);
-                        notificationService.sendNotification(requireActivity(), notification, "-1");
+                        notificationService.sendNotification(notification, "-1");
 
                         SharedPreferences preferences = requireContext().getSharedPreferences("AppPreferences", MODE_PRIVATE);
                         SharedPreferences.Editor editor = preferences.edit();
@@ -90,7 +92,7 @@ public class AdminProfileOverlayDialog extends DialogFragment {
                         editor.apply();
                     } else {
                         Notification notification = new Notification(userID, "You are now an admin", false, true);
-                        notificationService.sendNotification(requireActivity(), notification, "-1");
+                        notificationService.sendNotification(notification, "-1");
                     }
                     Toast.makeText(requireContext(), "Admin status updated successfully", Toast.LENGTH_SHORT).show();
                     dismiss();
@@ -102,17 +104,17 @@ public class AdminProfileOverlayDialog extends DialogFragment {
 
         deleteProfile.setOnClickListener(v -> {
             Notification notification = new Notification(userID, "Your profile has been deleted by an admin. Please make a new profile.", false, true);
-            notificationService.sendNotification(requireActivity(), notification, "-2");
+            notificationService.sendNotification(notification, "-2");
 
             // Step 1: Delete all events with owner = userID and event poster (If any)
-            db.collection("events")
+            db.collection(EventController.SUMMARIES)
                     .whereEqualTo("owner", userID)
                     .get()
                     .addOnSuccessListener(eventSnapshot -> {
                         for (DocumentSnapshot document : eventSnapshot.getDocuments()) {
                             String eventID = document.getId();
                             String eventName = document.getString("name");
-                            db.collection("events").document(eventID).delete();
+                            new EventController(requireContext()).deleteEvent(eventID);
 
                             if (eventName != null && !eventName.isEmpty()) {
                                 String sanitizedEventName = sanitizeEventName(eventName);
@@ -164,8 +166,10 @@ public class AdminProfileOverlayDialog extends DialogFragment {
 
             imageRef.delete()
                     .addOnSuccessListener(aVoid -> {
+                        ProfileImageController.recordImage(userID, "");
+                        ImageController.deleteVariants(imagePath);
                         Notification notification = new Notification(userID, "Your profile picture has been removed by an admin", false, true);
-                        notificationService.sendNotification(requireActivity(), notification, "-1");
+                        notificationService.sendNotification(notification, "-1");
 
                         Toast.makeText(requireContext(), "Profile image has been removed", Toast.LENGTH_SHORT).show();
                         dismiss();
@@ -191,6 +195,7 @@ public class AdminProfileOverlayDialog extends DialogFragment {
 
         imageRef.delete()
                 .addOnSuccessListener(aVoid -> {
+                    ImageController.deleteVariants(imagePath);
                     Toast.makeText(requireContext(), "Profile image has been removed", Toast.LENGTH_SHORT).show();
                 })
                 .addOnFailureListener(e -> {
@@ -1,7 +1,6 @@
 package com.example.projectv2.View;
 
 import android.os.Bundle;
-import android.provider.Settings;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -17,6 +16,7 @@ import com.example.projectv2.Controller.AvailableEventsAdapter;
 import com.example.projectv2.Controller.EventController;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.ArrayList;
 
@@ -25,8 +25,17 @@ import java.util.ArrayList;
  */
 public class AvailableEventsFragment extends Fragment {
 
+    /** Number of events requested per page. */
+    private static final int PAGE_SIZE = 20;
+    /** Load the next page when the last visible row is this close to the end of the list. */
+    private static final int PREFETCH_DISTANCE = 5;
+
     private EventController eventController;
     public AvailableEventsAdapter adapter;
+    private DocumentSnapshot lastDocument;
+    private boolean isLoading;
+    private boolean hasMore = true;
+    private int generation;
 
     /**
      * Required empty public constructor
@@ -52,40 +61,85 @@ public class AvailableEventsFragment extends Fragment {
 
         // Initialize RecyclerView
         RecyclerView recyclerView = view.findViewById(R.id.recyclerViewAvailableEvents);
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        adapter = new AvailableEventsAdapter(getContext(), new ArrayList<>());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
+        adapter = new AvailableEventsAdapter(getContext());
         recyclerView.setAdapter(adapter);
 
+        // Load the next page as the user scrolls near the end of the list
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
         // Initialize EventController
         eventController = new EventController(getActivity());
 
-        // Fetch all events
+        // Fetch the first page of events
         refreshEventsFromFirestore();
 
         return view;
     }
 
     /**
-     * Refreshes the list of available events from Firestore.
+     * Refreshes the list of available events from Firestore, starting again from the
+     * first page.
      */
     public void refreshEventsFromFirestore() {
         Log.d("AvailableEventsFragment", "Refreshing available events...");
-        eventController.fetchEvents(new EventController.EventCallback() {
-            @Override
-            public void onEventListLoaded(ArrayList<Event> events) {
-                Log.d("AvailableEventsFragment", "Fetched " + events.size() + " events.");
-                adapter.updateEventList(events);
-            }
+        generation++;
+        lastDocument = null;
+        hasMore = true;
+        isLoading = false;
+        loadPage(true);
+    }
 
+    /**
+     * Loads the page after the last loaded event, if there is one and no load is running.
+     */
+    private void loadNextPage() {
+        if (!isLoading && hasMore) {
+            loadPage(false);
+        }
+    }
+
+    /**
+     * Loads a page of events and adds it to the adapter. Pages requested before the most
+     * recent refresh are discarded when they arrive.
+     *
+     * @param replace whether the page replaces the current list instead of extending it
+     */
+    private void loadPage(boolean replace) {
+        isLoading = true;
+        int requestGeneration = generation;
+        eventController.fetchEventsPage(lastDocument, PAGE_SIZE, new EventController.EventPageCallback() {
             @Override
-            public void onEventCreated(String eventId) {
-                // Not used for refreshing
+            public void onPageLoaded(ArrayList<Event> events, DocumentSnapshot last, boolean more) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                Log.d("AvailableEventsFragment", "Fetched page of " + events.size() + " events.");
+                lastDocument = last;
+                hasMore = more;
+                isLoading = false;
+                if (replace) {
+                    adapter.updateEventList(events);
+                } else {
+                    adapter.appendEvents(events);
+                }
             }
 
             @Override
             public void onError(Exception e) {
-                Log.e("AvailableEventsFragment", "Error refreshing events", e);
+                if (requestGeneration == generation) {
+                    isLoading = false;
+                }
+                Log.e("AvailableEventsFragment", "Error loading events", e);
             }
         });
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,5 @@
 package com.example.projectv2.View;
 
-import android.app.Activity;
-import android.content.Context;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -14,42 +12,33 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.DialogFragment;
 
+import com.example.projectv2.Controller.LotteryDrawEngine;
 import com.example.projectv2.Controller.NotificationService;
 import com.example.projectv2.Model.Notification;
 import com.example.projectv2.R;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Dialog fragment for choosing attendees for an event.
  *
- * <p>This dialog allows event organizers to select attendees from a waiting list,
- * notify them, and update Firestore with the selected and remaining waiting lists.</p>
+ * <p>This dialog allows event organizers to draw attendees from a waiting list
+ * and notify both the selected and the not selected entrants.</p>
  */
 public class ChooseAttendeeDialog extends DialogFragment {
 
-    private FirebaseFirestore db;
-    private int attendeesLimit;
     private String eventID, eventName;
-    private Activity parentActivity;
 
     /**
      * Creates a new instance of ChooseAttendeeDialog.
      *
-     * @param activity The parent activity from which this dialog is launched.
      * @param eventId  The ID of the event.
      * @param eventName The name of the event.
      * @return A new instance of {@link ChooseAttendeeDialog}.
      */
-    public static ChooseAttendeeDialog newInstance(Activity activity, String eventId, String eventName) {
+    public static ChooseAttendeeDialog newInstance(String eventId, String eventName) {
         ChooseAttendeeDialog fragment = new ChooseAttendeeDialog();
-        fragment.parentActivity = activity;
         Bundle args = new Bundle();
         args.putString("eventId", eventId);
         args.putString("eventName", eventName);
@@ -57,18 +46,6 @@ public class ChooseAttendeeDialog extends DialogFragment {
         return fragment;
     }
 
-    /**
-     * Called when the dialog is attached to the context.
-     * Initializes Firebase Firestore.
-     *
-     * @param context The context to which the dialog is attached.
-     */
-    @Override
-    public void onAttach(@NonNull Context context) {
-        super.onAttach(context);
-        db = FirebaseFirestore.getInstance();
-    }
-
     /**
      * Inflates the layout for the dialog and sets up button click listeners.
      *
@@ -96,7 +73,8 @@ public class ChooseAttendeeDialog extends DialogFragment {
     }
 
     /**
-     * Handles the selection of attendees from the waiting list and updates the Firestore database.
+     * Draws attendees from the waiting list with {@link LotteryDrawEngine} and notifies
+     * both the selected and the not selected entrants once the draw has been committed.
      *
      * @param eventID The ID of the event.
      * @param eventName The name of the event.
@@ -104,78 +82,44 @@ public class ChooseAttendeeDialog extends DialogFragment {
     private void setSelectedList(String eventID, String eventName) {
         Log.d("EventEditDialogFragment", "Button clicked");
 
-        DocumentReference eventRef = db.collection("events").document(eventID);
-        eventRef.get().addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                DocumentSnapshot document = task.getResult();
-                if (document.exists()) {
-                    attendeesLimit = Integer.parseInt(document.getString("attendees"));
-                    List<String> waitingList = (List<String>) document.get("entrantList.Waiting");
-                    List<String> attendeeList = (List<String>) document.get("entrantList.Attendee");
-                    List<String> selectedAttendees;
-
-                    Log.d("EventEditDialogFragment", "Attendee limit: " + attendeesLimit);
-                    Log.d("EventEditDialogFragment", "Waiting List: " + waitingList);
-
-                    if (waitingList != null && !waitingList.isEmpty()) {
-                        Collections.shuffle(waitingList);
-
-                        Log.d("EventEditDialogFragment", "Waiting list size: " + waitingList.size());
-
-                        if (attendeeList != null) {
-                            Log.d("EventEditDialogFragment", "Attendee list size: " + attendeeList.size());
-                            if (attendeeList.size() < attendeesLimit) {
-                                if (waitingList.size() >= attendeesLimit) {
-                                    selectedAttendees = waitingList.subList(0, attendeesLimit);
-                                } else {
-                                    selectedAttendees = new ArrayList<>(waitingList);
-                                }
-                            } else {
-                                selectedAttendees = Collections.emptyList();
-                                Toast.makeText(requireContext(), "Attendee limit reached!", Toast.LENGTH_SHORT).show();
-                            }
-                        } else {
-                            selectedAttendees = Collections.emptyList();
-                        }
-
-                        NotificationService notificationService = new NotificationService();
-
-                        // Notify selected attendees
-                        for (String id : selectedAttendees) {
-                            Notification notification = new Notification(id, "Congratulations! You have been chosen to attend " + eventName, true, false);
-                            notificationService.sendNotification(parentActivity, notification, eventID);
-                        }
-
-                        // Notify non-selected attendees
-                        for (String id: waitingList) {
-                            if (!selectedAttendees.contains(id)) {
-                                Notification notification = new Notification(id, "You were unfortunately not selected for " + eventName + ", Don't worry. You may get another chance. Keep alert!", true, false);
-                                notificationService.sendNotification(parentActivity, notification, eventID);
-                            }
-                        }
-
-                        // Update Firestore with selected attendees
-                        eventRef.update("entrantList.Selected", FieldValue.arrayUnion(selectedAttendees.toArray()))
-                                .addOnSuccessListener(aVoid -> {
-                                    for (String attendee : selectedAttendees) {
-                                        eventRef.update("entrantList.Waiting", FieldValue.arrayRemove(attendee))
-                                                .addOnSuccessListener(innerVoid -> Log.d("EventEditDialogFragment", "Attendee moved successfully: " + attendee))
-                                                .addOnFailureListener(e -> Log.e("EventEditDialogFragment", "Error removing attendee: ", e));
-                                    }
-                                    Toast.makeText(requireContext(), "Attendees chosen successfully!", Toast.LENGTH_SHORT).show();
-                                })
-                                .addOnFailureListener(e -> {
-                                    Toast.makeText(requireContext(), "Failed to update selected attendees: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                                    Log.e("EventEditDialogFragment", "Error updating selected list: ", e);
-                                });
-                    } else {
-                        Toast.makeText(requireContext(), "No users in the waiting list to select.", Toast.LENGTH_SHORT).show();
+        new LotteryDrawEngine().draw(eventID, new LotteryDrawEngine.DrawCallback() {
+            @Override
+            public void onDrawComplete(List<String> selectedAttendees, List<String> notSelected) {
+                List<Notification> notifications = new ArrayList<>();
+
+                // Notify selected attendees
+                for (String id : selectedAttendees) {
+                    notifications.add(new Notification(id, "Congratulations! You have been chosen to attend " + eventName, true, false));
+                }
+
+                // Notify non-selected attendees
+                for (String id : notSelected) {
+                    notifications.add(new Notification(id, "You were unfortunately not selected for " + eventName + ", Don't worry. You may get another chance. Keep alert!", true, false));
+                }
+
+                new NotificationService().sendNotifications(notifications, eventID, new NotificationService.BulkSendCallback() {
+                    @Override
+                    public void onNotificationsSent(int delivered, int failed) {
+                        Log.d("EventEditDialogFragment", "Draw notifications: " + delivered + " delivered, " + failed + " failed");
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e("EventEditDialogFragment", "Error notifying entrants: ", e);
                     }
-                } else {
-                    Toast.makeText(requireContext(), "Event not found.", Toast.LENGTH_SHORT).show();
+                });
+
+                if (isAdded()) {
+                    Toast.makeText(requireContext(), "Attendees chosen successfully!", Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e("EventEditDialogFragment", "Error drawing attendees: ", e);
+                if (isAdded()) {
+                    Toast.makeText(requireContext(), e.getMessage(), Toast.LENGTH_SHORT).show();
                 }
-            } else {
-                Toast.makeText(requireContext(), "Failed to fetch event: " + task.getException().getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
     }
@@ -23,6 +23,7 @@ import android.widget.Toast;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.projectv2.Controller.EventController;
 import com.example.projectv2.Controller.ImageController;
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.R;
@@ -93,7 +94,7 @@ public class CreateEventActivity extends AppCompatActivity {
             }
 
             // Check uniqueness of the event name in Firestore
-            db.collection("events").whereEqualTo("name", eventName).get()
+            db.collection(EventController.SUMMARIES).whereEqualTo("name", eventName).get()
                     .addOnCompleteListener(task -> {
                         if (task.isSuccessful()) {
                             if (!task.getResult().isEmpty()) {
@@ -135,7 +136,7 @@ public class CreateEventActivity extends AppCompatActivity {
 
 
 
-        imageController.uploadImage(imageUri, filePath, new ImageController.ImageUploadCallback() {
+        imageController.uploadImage(this, imageUri, filePath, new ImageController.ImageUploadCallback() {
             // Handle image upload success
             @Override
             public void onUploadSuccess(String downloadUrl) {
@@ -21,9 +21,11 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.projectv2.Controller.EventController;
+import com.example.projectv2.Controller.PosterCache;
 import com.example.projectv2.MainActivity;
 import com.example.projectv2.Model.Event;
 import com.example.projectv2.R;
+import com.example.projectv2.core.DateCodec;
 
 import java.util.ArrayList;
 
@@ -36,9 +38,8 @@ public class CreateEventOptionsActivity extends AppCompatActivity {
 
     private EditText eventDeadline, eventAttendees, eventEntrants, eventStartDate, eventTicketPrice;
     private CheckBox geolocationCheckbox, notificationsCheckbox;
-    private String name, detail, rules, facility, imageUri;
+    private String name, detail, rules, facility, imageUri, posterUrl;
 
-    private static final String DATE_PATTERN = "^\\d{2}-\\d{2}-\\d{4}$";
     private EventController eventController;
 
     /**
@@ -66,6 +67,7 @@ public class CreateEventOptionsActivity extends AppCompatActivity {
         rules = getIntent().getStringExtra("rules");
         facility = getIntent().getStringExtra("facility");
         imageUri = getIntent().getStringExtra("imageUri");
+        posterUrl = getIntent().getStringExtra("imageUrl");
 
         // Initialize EventController
         eventController = new EventController(this);
@@ -130,6 +132,10 @@ public class CreateEventOptionsActivity extends AppCompatActivity {
                     @Override
                     public void onEventCreated(String eventId) {
                         Log.d("CreateEventOptions", "Event created with ID: " + eventId);
+                        if (posterUrl != null) {
+                            // The poster was uploaded before the event existed
+                            PosterCache.getInstance(CreateEventOptionsActivity.this).remember(eventId, posterUrl);
+                        }
                         Toast.makeText(CreateEventOptionsActivity.this, "Event created successfully!", Toast.LENGTH_SHORT).show();
 
                         // Navigate back to the home screen
@@ -153,13 +159,13 @@ public class CreateEventOptionsActivity extends AppCompatActivity {
     }
 
     /**
-     * Validates if the provided date string matches the expected date format (DD-MM-YYYY).
+     * Validates if the provided date string is a real date in the expected format (DD-MM-YYYY).
      *
      * @param date the date string to validate
-     * @return true if the date matches the expected pattern, false otherwise
+     * @return true if the date is valid, false otherwise
      */
     private boolean isValidDate(String date) {
-        return date.matches(DATE_PATTERN);
+        return DateCodec.parseEpochDay(date) != DateCodec.INVALID;
     }
 
     /**
@@ -170,24 +176,6 @@ public class CreateEventOptionsActivity extends AppCompatActivity {
      * @return true if the deadline is before the start date, false otherwise
      */
     private boolean isDeadlineBeforeStartDate(String deadline, String startDate) {
-        try {
-            String[] deadlineParts = deadline.split("-");
-            String[] startDateParts = startDate.split("-");
-
-            int deadlineYear = Integer.parseInt(deadlineParts[2]);
-            int deadlineMonth = Integer.parseInt(deadlineParts[1]);
-            int deadlineDay = Integer.parseInt(deadlineParts[0]);
-
-            int startYear = Integer.parseInt(startDateParts[2]);
-            int startMonth = Integer.parseInt(startDateParts[1]);
-            int startDay = Integer.parseInt(startDateParts[0]);
-
-            if (startYear > deadlineYear) return true;
-            if (startYear == deadlineYear && startMonth > deadlineMonth) return true;
-            return startYear == deadlineYear && startMonth == deadlineMonth && startDay > deadlineDay;
-        } catch (Exception e) {
-            Log.e("DateValidation", "Error parsing dates: " + e.getMessage());
-            return false;
-        }
+        return DateCodec.parseEpochDay(deadline) < DateCodec.parseEpochDay(startDate);
     }
-}
\ No newline at end of file
+}
@@ -23,15 +23,23 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.projectv2.Utils.DBUtils;
 import com.example.projectv2.Controller.EntrantListAdapter;
+import com.example.projectv2.Controller.EntrantRepository;
 import com.example.projectv2.Controller.NotificationService;
+import com.example.projectv2.Controller.UserDirectory;
 import com.example.projectv2.Utils.topBarUtils;
+import com.example.projectv2.Model.Entrant;
 import com.example.projectv2.Model.Notification;
 import com.example.projectv2.R;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * EntrantListActivity displays and manages different entrant lists for an event,
@@ -48,9 +56,9 @@ public class EntrantListActivity extends AppCompatActivity {
     private Button sendNotifAllView, removeAllEntrants, sendNotifView;
     private List<String> documentIds = new ArrayList<>();
     private List<String> waitingList = new ArrayList<>();
-    private List<String> selectedList = new ArrayList<>();
-    private List<String> cancelledList = new ArrayList<>();
-    private List<String> attendees = new ArrayList<>();
+    private final UserDirectory userDirectory = new UserDirectory();
+    /** The status of the list being shown, so responses for an earlier filter can be dropped. */
+    private String currentStatus;
 
 
     /**
@@ -72,7 +80,7 @@ public class EntrantListActivity extends AppCompatActivity {
 
         // Initialize Firestore database instance and the adapter with an empty list
         db = FirebaseFirestore.getInstance();
-        adapter = new EntrantListAdapter(this, new ArrayList<>(), new ArrayList<>());
+        adapter = new EntrantListAdapter(this);
         entrantRecyclerView.setAdapter(adapter);
 
         filterSpinner = findViewById(R.id.entrant_list_dropdown);
@@ -143,16 +151,16 @@ public class EntrantListActivity extends AppCompatActivity {
                 String selectedOption = (String) parent.getItemAtPosition(position);
                 switch (selectedOption) {
                     case "Waiting List":
-                        loadWaitingList(sendNotifAllView);
+                        loadList(EntrantRepository.WAITING, selectedOption);
                         break;
                     case "Selected List":
-                        loadSelectedList(sendNotifAllView);
+                        loadList(EntrantRepository.SELECTED, selectedOption);
                         break;
                     case "Cancelled List":
-                        loadCancelled(sendNotifAllView);
+                        loadList(EntrantRepository.CANCELLED, selectedOption);
                         break;
                     case "Attendee List":
-                        loadAttendeeList(sendNotifAllView);
+                        loadList(EntrantRepository.ATTENDEE, selectedOption);
                         break;
                 }
             }
@@ -164,141 +172,91 @@ public class EntrantListActivity extends AppCompatActivity {
              */
             @Override
             public void onNothingSelected(AdapterView<?> parent) {
-                loadWaitingList(sendNotifAllView);
+                loadList(EntrantRepository.WAITING, "Waiting List");
             }
         });
     }
 
     /**
-     * Loads the waiting list from Firestore for the event and updates the RecyclerView adapter.
-     * Sends a notification to all users in the waiting list.
+     * Loads one of the event's entrant lists and shows it in the RecyclerView. Names are
+     * resolved in bulk through the {@link UserDirectory}; entrants whose names cannot be
+     * resolved are left out, but never stop the rest of the list from showing. Loading the
+     * selected list also notifies the selected and remaining waiting list users.
      *
-     * @param sendNotifAll the button to trigger sending notifications to all waiting list users
+     * @param status the status of the entrants to show
+     * @param label  the name of the list, used in messages
      */
-    private void loadWaitingList(Button sendNotifAll) {
+    private void loadList(String status, String label) {
+        currentStatus = status;
         String eventId = getIntent().getStringExtra("eventId");
 
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        documentIds = (List<String>) documentSnapshot.get("entrantList.Waiting");
-                        Log.d("FetchNames", "loadWaitingListIDs: " + documentIds);
-
-                        db = FirebaseFirestore.getInstance();
-                        waitingList.clear();
-
-                        // Counter to track completed Firestore tasks
-                        final int[] completedTasks = {0};
-
-                        for (String documentId : documentIds) {
-                            db.collection("Users").document(documentId)
-                                    .get()
-                                    .addOnCompleteListener(task -> {
-                                        if (!task.isSuccessful()) {
-                                            Log.e("FetchNames", "Error fetching document for ID: " + documentId, task.getException());
-                                            return;
-                                        }
-
-                                        DocumentSnapshot document = task.getResult();
-                                        String name = document != null ? document.getString("name") : null;
-                                        if (name != null) {
-                                            waitingList.add(name);
-                                            Log.d("FetchNames", "Name: " + name);
-                                        } else {
-                                            Log.d("FetchNames", "Document not found or name is null for ID: " + documentId);
-                                        }
-
-                                        // Increment completed tasks
-                                        completedTasks[0]++;
-
-                                        // When all tasks are done, update the adapter
-                                        if (completedTasks[0] == documentIds.size()) {
-                                            Log.d("FetchNames", "All names fetched: " + waitingList);
-                                            if (!waitingList.isEmpty()) {
-                                                adapter.updateEntrantList(waitingList, documentIds);
-                                            } else {
-                                                Toast.makeText(this, "No entrants in Waiting List.", Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-                                    });
-                        }
-                        if (waitingList != null) {
-                            adapter.updateEntrantList(waitingList, documentIds);
-                        } else {
-                            Toast.makeText(this, "No attendees found.", Toast.LENGTH_SHORT).show();
-                        }
+        CollectionReference entrantsRef = db.collection("events").document(eventId).collection("entrants");
+        Task<QuerySnapshot> listed = entrantsRef.whereEqualTo("status", status).get();
+        // The remaining waiting list is only needed to notify it once the selected list is shown
+        Task<QuerySnapshot> waiting = EntrantRepository.SELECTED.equals(status)
+                ? entrantsRef.whereEqualTo("status", EntrantRepository.WAITING).get()
+                : Tasks.forResult(null);
+
+        Tasks.whenAllSuccess(listed, waiting)
+                .addOnSuccessListener(results -> {
+                    if (!status.equals(currentStatus)) {
+                        return;
                     }
-                })
-                .addOnFailureListener(e -> Log.e(TAG, "Error loading Waiting List", e));
-    }
+                    documentIds = idsOf(listed.getResult());
+                    if (waiting.getResult() != null) {
+                        waitingList = idsOf(waiting.getResult());
+                    }
+                    Log.d(TAG, "Loading " + documentIds.size() + " entrants for " + label);
 
-    /**
-     * Loads the selected list from Firestore for the event and updates the RecyclerView adapter.
-     * Sends a notification to all selected users.
-     *
-     * @param sendNotifAll the button to trigger sending notifications to all selected users
-     */
-    private void loadSelectedList(Button sendNotifAll) {
-        String eventId = getIntent().getStringExtra("eventId");
+                    if (documentIds.isEmpty()) {
+                        adapter.updateEntrantList(new ArrayList<>());
+                        Toast.makeText(this, "No entrants in " + label + ".", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
 
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        documentIds = (List<String>) documentSnapshot.get("entrantList.Selected");
-                        waitingList = (List<String>) documentSnapshot.get("entrantList.Waiting");
-
-                        db = FirebaseFirestore.getInstance();
-                        selectedList.clear();
-
-                        // Counter to track completed Firestore tasks
-                        final int[] completedTasks = {0};
-
-                        for (String documentId : documentIds) {
-                            db.collection("Users").document(documentId)
-                                    .get()
-                                    .addOnCompleteListener(task -> {
-                                        if (!task.isSuccessful()) {
-                                            Log.e("FetchNames", "Error fetching document for ID: " + documentId, task.getException());
-                                            return;
-                                        }
-
-                                        DocumentSnapshot document = task.getResult();
-                                        String name = document != null ? document.getString("name") : null;
-                                        if (name != null) {
-                                            selectedList.add(name);
-                                            Log.d("FetchNames", "Name: " + name);
-                                        } else {
-                                            Log.d("FetchNames", "Document not found or name is null for ID: " + documentId);
-                                        }
-
-                                        // Increment completed tasks
-                                        completedTasks[0]++;
-
-                                        // When all tasks are done, update the adapter
-                                        if (completedTasks[0] == documentIds.size()) {
-                                            Log.d("FetchNames", "All names fetched: " + selectedList);
-                                            if (!selectedList.isEmpty()) {
-                                                adapter.updateEntrantList(selectedList, documentIds);
-                                                sendNotificationsToSelectedAndWaitingLists(eventId);
-                                            } else {
-                                                Toast.makeText(this, "No entrants in Waiting List.", Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-                                    });
+                    userDirectory.resolveNames(documentIds, new UserDirectory.NamesCallback() {
+                        @Override
+                        public void onNamesResolved(Map<String, String> names) {
+                            if (!status.equals(currentStatus)) {
+                                return;
+                            }
+                            List<Entrant> entrants = new ArrayList<>();
+                            for (Map.Entry<String, String> entry : names.entrySet()) {
+                                entrants.add(new Entrant(entry.getKey(), entry.getValue()));
+                            }
+                            adapter.updateEntrantList(entrants);
+                            if (EntrantRepository.SELECTED.equals(status) && !entrants.isEmpty()) {
+                                sendNotificationsToSelectedAndWaitingLists(eventId);
+                            }
                         }
-                        if (selectedList != null) {
-                            adapter.updateEntrantList(selectedList, documentIds);
-                        } else {
-                            Toast.makeText(this, "No attendees found.", Toast.LENGTH_SHORT).show();
+
+                        @Override
+                        public void onError(Exception e) {
+                            Log.e(TAG, "Error resolving names for " + label, e);
+                            Toast.makeText(EntrantListActivity.this, "Failed to load " + label, Toast.LENGTH_SHORT).show();
                         }
-                    }
+                    });
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading selected list", e);
-                    Toast.makeText(this, "Failed to load selected list", Toast.LENGTH_SHORT).show();
+                    Log.e(TAG, "Error loading " + label, e);
+                    Toast.makeText(this, "Failed to load " + label, Toast.LENGTH_SHORT).show();
                 });
     }
 
+    /**
+     * Collects the user IDs of a query over entrant documents.
+     *
+     * @param snapshot the query result
+     * @return the IDs of the users
+     */
+    private static List<String> idsOf(QuerySnapshot snapshot) {
+        List<String> ids = new ArrayList<>(snapshot.size());
+        for (DocumentSnapshot entrant : snapshot.getDocuments()) {
+            ids.add(entrant.getId());
+        }
+        return ids;
+    }
+
     /**
      * Sends notifications to all users in the selected list and remaining users in the waiting list.
      *
@@ -310,13 +268,12 @@ public class EntrantListActivity extends AppCompatActivity {
             return;
         }
 
-        NotificationService notificationService = new NotificationService();
         String eventName = getIntent().getStringExtra("name");
+        List<Notification> notifications = new ArrayList<>();
 
         // Notify users in the selected list
         for (String userId : documentIds) {
-            Notification notification = new Notification(userId, "Congratulations! You have been chosen to attend " + eventName, true, false);
-            notificationService.sendNotification(this, notification, eventId);
+            notifications.add(new Notification(userId, "Congratulations! You have been chosen to attend " + eventName, true, false));
         }
 
         // Notify remaining users in the waiting list
@@ -325,140 +282,21 @@ public class EntrantListActivity extends AppCompatActivity {
             remainingWaitingList.removeAll(documentIds);
 
             for (String userId : remainingWaitingList) {
-                Notification notification = new Notification(userId, "You were not selected for " + eventName + ". Don't worry, you may get another chance. Stay tuned!", true, false);
-                notificationService.sendNotification(this, notification, eventId);
+                notifications.add(new Notification(userId, "You were not selected for " + eventName + ". Don't worry, you may get another chance. Stay tuned!", true, false));
             }
         }
 
-        Log.d(TAG, "Notifications sent to selected and remaining waiting list users.");
-    }
-
-    /**
-     * Loads the cancelled list from Firestore for the event and updates the RecyclerView adapter.
-     * Sends a notification to all users in the cancelled list.
-     *
-     * @param sendNotifAll the button to trigger sending notifications to all cancelled users
-     */
-    private void loadCancelled(Button sendNotifAll) {
-        String eventId = getIntent().getStringExtra("eventId");
-
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        documentIds = (List<String>) documentSnapshot.get("entrantList.Cancelled");
-
-                        db = FirebaseFirestore.getInstance();
-                        cancelledList.clear();
-
-                        // Counter to track completed Firestore tasks
-                        final int[] completedTasks = {0};
-
-                        for (String documentId : documentIds) {
-                            db.collection("Users").document(documentId)
-                                    .get()
-                                    .addOnCompleteListener(task -> {
-                                        if (!task.isSuccessful()) {
-                                            Log.e("FetchNames", "Error fetching document for ID: " + documentId, task.getException());
-                                            return;
-                                        }
-
-                                        DocumentSnapshot document = task.getResult();
-                                        String name = document != null ? document.getString("name") : null;
-                                        if (name != null) {
-                                            cancelledList.add(name);
-                                            Log.d("FetchNames", "Name: " + name);
-                                        } else {
-                                            Log.d("FetchNames", "Document not found or name is null for ID: " + documentId);
-                                        }
-
-                                        // Increment completed tasks
-                                        completedTasks[0]++;
-
-                                        // When all tasks are done, update the adapter
-                                        if (completedTasks[0] == documentIds.size()) {
-                                            Log.d("FetchNames", "All names fetched: " + cancelledList);
-                                            if (!cancelledList.isEmpty()) {
-                                                adapter.updateEntrantList(cancelledList, documentIds);
-                                            } else {
-                                                Toast.makeText(this, "No entrants in Waiting List.", Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-                                    });
-                        }
-
-                        if (cancelledList != null) {
-                            adapter.updateEntrantList(cancelledList, documentIds);
-                        } else {
-                            Toast.makeText(this, "No attendees found.", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading cancelled list", e);
-                    Toast.makeText(this, "Failed to load cancelled list", Toast.LENGTH_SHORT).show();
-                });
-    }
-
-    /**
-     * Loads the attendee list from Firestore for the event and updates the RecyclerView adapter.
-     * Sends a notification to all attendees in the list.
-     *
-     * @param sendNotifAll the button to trigger sending notifications to all attendees
-     */
-    private void loadAttendeeList(Button sendNotifAll) {
-        String eventId = getIntent().getStringExtra("eventId");
-
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        documentIds = (List<String>) documentSnapshot.get("entrantList.Attendee");
-
-                        db = FirebaseFirestore.getInstance();
-                        attendees.clear();
-
-                        // Counter to track completed Firestore tasks
-                        final int[] completedTasks = {0};
-
-                        for (String documentId : documentIds) {
-                            db.collection("Users").document(documentId)
-                                    .get()
-                                    .addOnCompleteListener(task -> {
-                                        if (!task.isSuccessful()) {
-                                            Log.e("FetchNames", "Error fetching document for ID: " + documentId, task.getException());
-                                            return;
-                                        }
-
-                                        DocumentSnapshot document = task.getResult();
-                                        String name = document != null ? document.getString("name") : null;
-                                        if (name != null) {
-                                            attendees.add(name);
-                                            Log.d("FetchNames", "Name: " + name);
-                                        } else {
-                                            Log.d("FetchNames", "Document not found or name is null for ID: " + documentId);
-                                        }
-
-                                        // Increment completed tasks
-                                        completedTasks[0]++;
-
-                                        // When all tasks are done, update the adapter
-                                        if (completedTasks[0] == documentIds.size()) {
-                                            Log.d("FetchNames", "All names fetched: " + attendees);
-                                            if (!attendees.isEmpty()) {
-                                                adapter.updateEntrantList(attendees, documentIds);
-                                            } else {
-                                                Toast.makeText(this, "No entrants in Waiting List.", Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-                                    });
-                        }
+        new NotificationService().sendNotifications(notifications, eventId, new NotificationService.BulkSendCallback() {
+            @Override
+            public void onNotificationsSent(int delivered, int failed) {
+                Log.d(TAG, "Notifications sent to selected and remaining waiting list users: "
+                        + delivered + " delivered, " + failed + " failed.");
+            }
 
-                        if (attendees != null) {
-                            adapter.updateEntrantList(attendees, documentIds);
-                        } else {
-                            Toast.makeText(this, "No attendees found.", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                })
-                .addOnFailureListener(e -> Log.e(TAG, "Error loading attendees", e));
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Error notifying selected and waiting list users", e);
+            }
+        });
     }
 }
@@ -18,6 +18,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.signature.ObjectKey;
 import com.example.projectv2.Controller.ImageController;
+import com.example.projectv2.Controller.PosterCache;
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.R;
 
@@ -33,6 +34,7 @@ public class EventEditActivity extends AppCompatActivity {
     private ImageView eventPosterImageView;
     private Uri selectedImageUri;
     private String eventName;
+    private String eventID;
     private ImageController imageController;
     private ProgressDialog progressDialog;
 
@@ -58,6 +60,7 @@ public class EventEditActivity extends AppCompatActivity {
 
         // Retrieve event name from intent
         eventName = getIntent().getStringExtra("name"); // Match the key used in the sending activity
+        eventID = getIntent().getStringExtra("eventID");
 
 
         if (eventName == null || eventName.isEmpty()) {
@@ -165,15 +168,10 @@ public class EventEditActivity extends AppCompatActivity {
         progressDialog.setMessage("Updating event poster...");
         progressDialog.show();
 
-        // Replace special characters and spaces with underscores
-        String sanitizedEventName = eventName.trim()
-                .replaceAll("[/\\-?!@#$%^Z&*()]+", "_") // Replace special characters with underscores
-                .replaceAll("\\s+", "_");
-
-        String filePath = "event_posters/event_posters_" + sanitizedEventName + ".jpg";
+        String filePath = ImageController.posterPath(eventName);
 
         // Upload the new image and overwrite the existing file
-        imageController.uploadImage(selectedImageUri, filePath, new ImageController.ImageUploadCallback() {
+        imageController.uploadImage(this, selectedImageUri, filePath, new ImageController.ImageUploadCallback() {
 
             // Callbacks for image upload
             @Override
@@ -181,6 +179,9 @@ public class EventEditActivity extends AppCompatActivity {
                 progressDialog.dismiss();
                 Toast.makeText(EventEditActivity.this, "Poster updated successfully", Toast.LENGTH_SHORT).show();
                 Log.d(TAG, "Poster updated successfully: " + downloadUrl);
+                if (eventID != null) {
+                    PosterCache.getInstance(EventEditActivity.this).remember(eventID, downloadUrl);
+                }
 
                 // Refresh the image in the ImageView
                 Glide.with(EventEditActivity.this)
@@ -19,8 +19,7 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.bumptech.glide.Glide;
-import com.example.projectv2.Controller.ImageController;
+import com.example.projectv2.Controller.PosterCache;
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.R;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -37,6 +36,8 @@ public class EventLandingPageOrganizerActivity extends AppCompatActivity {
     private TextView eventNameView, eventDetailsView, eventRulesView, eventDeadlineView, eventPriceView, eventCountdownView;
     private Button qrcodeButton;
     private String eventName;
+    private String eventID;
+    private long posterVersion;
 
     /**
      * Called when the activity is created. Sets up UI elements with event data and
@@ -83,7 +84,8 @@ public class EventLandingPageOrganizerActivity extends AppCompatActivity {
         String startDate = intent.getStringExtra("startDate");
         String price = intent.getStringExtra("price");
         String imageUriString = intent.getStringExtra("imageUri");
-        String eventID = intent.getStringExtra("eventID");
+        eventID = intent.getStringExtra("eventID");
+        posterVersion = intent.getLongExtra("posterVersion", 0);
 
         if (eventName == null || eventName.isEmpty()) {
             Toast.makeText(this, "Invalid event name", Toast.LENGTH_SHORT).show();
@@ -159,41 +161,21 @@ public class EventLandingPageOrganizerActivity extends AppCompatActivity {
     }
 
     /**
-     * Load the event poster using the ImageController.
+     * Loads the event poster from the poster cache. The cached URL is used rather than
+     * one passed in, and the poster cache keeps the newer of the passed and remembered
+     * versions, so a poster edited from this screen shows the new image.
      *
      * @param eventName The name of the event.
      */
     private void loadEventPoster(String eventName) {
-        ImageController imageController = new ImageController();
-        imageController.retrieveImage(eventName, new ImageController.ImageRetrieveCallback() {
-
-            // Callbacks for image retrieval
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                // Use Glide to load the image into the ImageView
-                Glide.with(EventLandingPageOrganizerActivity.this)
-                        .load(downloadUrl)
-                        .placeholder(R.drawable.placeholder_event) // Placeholder while loading
-                        .error(R.drawable.placeholder_event) // Placeholder if loading fails
-                        .centerCrop()
-                        .into(eventImageView);
-            }
-
-            // If the image retrieval fails, log the error and show the placeholder image
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                // Log the error and show the placeholder image
-                Log.e("EventLandingPage", "Failed to load image for event: " + eventName, e);
-                eventImageView.setImageResource(R.drawable.placeholder_event);
-            }
-        });
+        PosterCache.getInstance(this).load(eventImageView, eventID, eventName, null, posterVersion);
     }
 
     /**
      * Displays a popup dialog with additional event options.
      */
     private void showPopup(String eventId, String eventName) {
-        ChooseAttendeeDialog dialogFragment = ChooseAttendeeDialog.newInstance(this, eventId, eventName);
+        ChooseAttendeeDialog dialogFragment = ChooseAttendeeDialog.newInstance(eventId, eventName);
         dialogFragment.show(getSupportFragmentManager(), "EventEditDialogFragment");
     }
 
@@ -209,6 +191,11 @@ public class EventLandingPageOrganizerActivity extends AppCompatActivity {
         firestore.collection("events").document(eventID).get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
+                        // List screens pass no rules, so they are read with the rest of the event
+                        String rules = documentSnapshot.getString("rules");
+                        if (rules != null) {
+                            eventRulesView.setText(rules);
+                        }
                         Boolean geolocationEnabled = documentSnapshot.getBoolean("geolocationEnabled");
                         if (geolocationEnabled != null && geolocationEnabled) {
                             locationButton.setVisibility(View.VISIBLE); // Show the button
@@ -5,7 +5,6 @@
  * <p>Outstanding Issues: None currently identified.</p>
  */
 package com.example.projectv2.View;
-import com.bumptech.glide.Glide;
 
 import android.annotation.SuppressLint;
 import android.app.AlertDialog;
@@ -25,7 +24,10 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 
-import com.example.projectv2.Controller.ImageController;
+import com.example.projectv2.Controller.EntrantRepository;
+import com.example.projectv2.Controller.EventController;
+import com.example.projectv2.Controller.PosterCache;
+import com.example.projectv2.Controller.LotteryDrawEngine;
 import com.example.projectv2.Utils.DBUtils;
 import com.example.projectv2.Controller.NotificationService;
 import com.example.projectv2.Utils.topBarUtils;
@@ -34,14 +36,12 @@ import com.example.projectv2.R;
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
 import com.google.android.material.snackbar.Snackbar;
+import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,15 +63,15 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
     private TextView eventNameView, eventDetailsView, eventRulesView, eventDeadlineView, eventPriceView, eventCountdownView, geolocationWarningView;
     private Button joinEventButton, accept_button, decline_button, leaveEventButton;
     private FirebaseFirestore db;
-    private int entrantsNum;
-    private int entrantListSize;
     private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
     private View currentView;
     private String currentEventID;
     private String currentUserID;
 
-    String eventID, name, details, rules, deadline, startDate, price, imageUriString,userID;
+    String eventID, name, details, rules, deadline, startDate, price, imageUriString, posterUrl, userID;
+    long posterVersion;
     DBUtils dbUtils = new DBUtils();
+    private final EntrantRepository entrantRepository = new EntrantRepository();
 
     /**
      * Called when the activity is created. Initializes views with event data and configures buttons
@@ -114,45 +114,32 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
             details = intent.getStringExtra("details");
             rules = intent.getStringExtra("rules");
             deadline = intent.getStringExtra("deadline");
+            deadlineAt = intent.getLongExtra("deadlineAt", -1);
             startDate = intent.getStringExtra("startDate");
             price = intent.getStringExtra("price");
             imageUriString = intent.getStringExtra("imageUri");
+            posterUrl = intent.getStringExtra("posterUrl");
+            posterVersion = intent.getLongExtra("posterVersion", 0);
             userID = intent.getStringExtra("user");}
 
         // Check if the deadline has passed and update the UI
-        if (deadline != null) {
-            checkDeadlinePassed(deadline);
-        }
+        checkDeadlinePassed();
 
         checkGeolocationEnabled(eventID);
 
         @SuppressLint("HardwareIds")
         String deviceID = Settings.Secure.getString(getContentResolver(), Settings.Secure.ANDROID_ID);
 
-        isEntrant(deviceID, isEntrant -> {
-            isOwner(deviceID, isOwner -> {
-                if (!(isEntrant || isOwner)) {
-                    Log.d("Result", "Device is not an entrant/owner");
-                    joinEventButton.setVisibility(View.VISIBLE);
-                }
-            });
-        });
-
-        isWaiting(deviceID, isWaiting -> {
-            if (isWaiting) {
-                Log.d("Result", "Device is waiting");
-                joinEventButton.setVisibility(View.GONE);
-                leaveEventButton.setVisibility(View.VISIBLE);
+        entrantRepository.fetchStatus(eventID, deviceID, new EntrantRepository.StatusCallback() {
+            @Override
+            public void onStatusLoaded(String status) {
+                showEntrantStatus(deviceID, status);
             }
-        });
 
-        isSelected(deviceID, isSelected -> {
-            if (isSelected) {
-                Log.d("Result", "Device is selected");
-                joinEventButton.setVisibility(View.GONE);
-                leaveEventButton.setVisibility(View.GONE);
-                accept_button.setVisibility(View.VISIBLE);
-                decline_button.setVisibility(View.VISIBLE);
+            @Override
+            public void onError(Exception e) {
+                Log.d("Entrant", "Error fetching entrant status", e);
+                showEntrantStatus(deviceID, null);
             }
         });
 
@@ -181,107 +168,35 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
 
     }
 
-    public interface EntrantCallback {
-        void onEntrantResult(boolean isEntrant);
-    }
-
-    public interface SelectedCallback {
-        void onSelectedResult(boolean isSelected);
-    }
-
-    public interface WaitingCallback {
-        void onWaitingResult(boolean isWaiting);
-    }
-
     public interface OwnerCallback {
         void onOwnerResult(boolean isOwner);
     }
 
     /**
-     * Checks if the device ID is an entrant for the event.
+     * Shows the buttons that match the device's entrant status.
      *
-     * @param deviceID the device ID to check
-     * @param callback the callback to return the result
+     * @param deviceID the device ID of the current user
+     * @param status   the entrant status, or null if the device is not an entrant
      */
-    private void isEntrant(String deviceID, EntrantCallback callback) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-        db.collection("events").document(eventID).get()
-                .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        // Check sublists in entrantList
-                        Map<String, Object> entrantList = (Map<String, Object>) document.get("entrantList");
-                        if (entrantList != null) {
-                            for (String key : entrantList.keySet()) {
-                                List<String> sublist = (List<String>) entrantList.get(key);
-                                if (sublist != null && sublist.contains(deviceID)) {
-                                    Log.d("Entrant", "DeviceID found in sublist: " + key);
-                                    callback.onEntrantResult(true);
-                                    return; // Exit after finding the deviceID
-                                }
-                            }
-                        }
-                        Log.d("Entrant", "DeviceID not found in any sublist");
-                        callback.onEntrantResult(false);
-                    } else {
-                        Log.d("Entrant", "Document does not exist");
-                        callback.onEntrantResult(false);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.d("Entrant", "Error fetching document", e);
-                    callback.onEntrantResult(false);
-                });
-    }
-
-    /**
-     * Checks if the device ID is selected for the event.
-     *
-     * @param deviceID the device ID to check
-     * @param callback the callback to return the result
-     */
-    private void isSelected(String deviceID, SelectedCallback callback) {
-        db.collection("events").document(eventID).get()
-                .addOnSuccessListener(document -> {
-                    List<String> selectedList = (List<String>) document.get("entrantList.Selected");
-
-                    if (selectedList != null && selectedList.contains(deviceID)) {
-                        Log.d("Selected", "Value exists in the list");
-                        callback.onSelectedResult(true);
-                    } else {
-                        Log.d("Selected", "Value does not exist in the list");
-                        callback.onSelectedResult(false);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.d("Selected", "Error fetching document", e);
-                    callback.onSelectedResult(false);
-                });
-    }
-
-    /**
-     * Checks if the device ID is waiting for the event.
-     *
-     * @param deviceID the device ID to check
-     * @param callback the callback to return the result
-     */
-    private void isWaiting(String deviceID, WaitingCallback callback) {
-        db.collection("events").document(eventID).get()
-                .addOnSuccessListener(document -> {
-                    List<String> waitingList = (List<String>) document.get("entrantList.Waiting");
-
-                    if (waitingList != null && waitingList.contains(deviceID)) {
-                        Log.d("Waiting", "Value exists in the list");
-                        callback.onWaitingResult(true);
-                    } else {
-                        Log.d("Waiting", "Value does not exist in the list");
-                        callback.onWaitingResult(false);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.d("Waiting", "Error fetching document", e);
-                    callback.onWaitingResult(false);
-                });
+    private void showEntrantStatus(String deviceID, String status) {
+        if (status == null) {
+            Log.d("Result", "Device is not an entrant");
+            isOwner(deviceID, isOwner -> {
+                if (!isOwner) {
+                    joinEventButton.setVisibility(View.VISIBLE);
+                }
+            });
+        } else if (EntrantRepository.WAITING.equals(status)) {
+            Log.d("Result", "Device is waiting");
+            joinEventButton.setVisibility(View.GONE);
+            leaveEventButton.setVisibility(View.VISIBLE);
+        } else if (EntrantRepository.SELECTED.equals(status)) {
+            Log.d("Result", "Device is selected");
+            joinEventButton.setVisibility(View.GONE);
+            leaveEventButton.setVisibility(View.GONE);
+            accept_button.setVisibility(View.VISIBLE);
+            decline_button.setVisibility(View.VISIBLE);
+        }
     }
 
     /**
@@ -318,20 +233,14 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
     private void addAttendee(String eventID, String userID) {
         Log.d("Selected", "addAttendee: " + userID);
 
-        db.collection("events").document(eventID)
-                .update("entrantList.Attendee", FieldValue.arrayUnion(userID))
-                .addOnSuccessListener(aVoid -> Log.d("Selected", "User added to Attendee list"))
-                .addOnFailureListener(e -> Log.d("Selected", "Error adding user", e));
-
-        db.collection("events").document(eventID)
-                .update("entrantList.Selected", FieldValue.arrayRemove(userID))
-                .addOnSuccessListener(aVoid -> Log.d("Selected", "User removed from Selected list"))
-                .addOnFailureListener(e -> Log.d("Selected", "Error removing user", e));
+        entrantRepository.setStatus(eventID, userID, EntrantRepository.ATTENDEE)
+                .addOnSuccessListener(aVoid -> Log.d("Selected", "User moved from Selected to Attendee list"))
+                .addOnFailureListener(e -> Log.d("Selected", "Error moving user to Attendee list", e));
 
         NotificationService notificationService = new NotificationService();
         String eventName = getIntent().getStringExtra("name");
         Notification notification = new Notification(userID, "Welcome to " + eventName, true, false);
-        notificationService.sendNotification(this, notification, eventID);
+        notificationService.sendNotification(notification, eventID);
 
         accept_button.setVisibility(View.INVISIBLE);
         decline_button.setVisibility(View.INVISIBLE);
@@ -346,57 +255,44 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
     private void addCancelled(String eventID, String userID) {
         Log.d("Selected", "addCancelled: " + userID);
 
-        // Add the rejecting user to the Cancelled list
-        db.collection("events").document(eventID)
-                .update("entrantList.Cancelled", FieldValue.arrayUnion(userID))
-                .addOnSuccessListener(aVoid -> Log.d("Selected", "User added to Cancelled list"))
-                .addOnFailureListener(e -> Log.d("Selected", "Error adding user to Cancelled list", e));
-
-        // Remove the rejecting user from the Selected list
-        db.collection("events").document(eventID)
-                .update("entrantList.Selected", FieldValue.arrayRemove(userID))
+        // Move the rejecting user to the Cancelled list, then draw a replacement for the freed slot
+        entrantRepository.setStatus(eventID, userID, EntrantRepository.CANCELLED)
                 .addOnSuccessListener(aVoid -> {
-                    Log.d("Selected", "User removed from Selected list");
-
-                    // Fetch the current waiting list
-                    db.collection("events").document(eventID).get()
-                            .addOnSuccessListener(document -> {
-                                List<String> waitingList = (List<String>) document.get("entrantList.Waiting");
-
-                                if (waitingList != null && !waitingList.isEmpty()) {
-                                    // Select a random user from the waiting list
-                                    String newSelectedUser = waitingList.get((int) (Math.random() * waitingList.size()));
-
-                                    // Add the new user to the Selected list
-                                    db.collection("events").document(eventID)
-                                            .update("entrantList.Selected", FieldValue.arrayUnion(newSelectedUser))
-                                            .addOnSuccessListener(innerVoid -> {
-                                                Log.d("Selected", "New user added to Selected list: " + newSelectedUser);
-
-                                                // Remove the new user from the Waiting list
-                                                db.collection("events").document(eventID)
-                                                        .update("entrantList.Waiting", FieldValue.arrayRemove(newSelectedUser))
-                                                        .addOnSuccessListener(innerInnerVoid -> Log.d("Selected", "New user removed from Waiting list: " + newSelectedUser))
-                                                        .addOnFailureListener(e -> Log.d("Selected", "Error removing new user from Waiting list", e));
-
-                                                NotificationService notificationService = new NotificationService();
-                                                String eventName = getIntent().getStringExtra("name");
-                                                Notification notification = new Notification(newSelectedUser, "Congratulations! You have been chosen to attend " + eventName, true, false);
-                                                notificationService.sendNotification(this, notification, eventID);
-                                            })
-                                            .addOnFailureListener(e -> Log.d("Selected", "Error adding new user to Selected list", e));
-                                } else {
-                                    Log.d("Selected", "No users left in the Waiting list to move to Selected list");
+                    Log.d("Selected", "User moved from Selected to Cancelled list");
+                    new LotteryDrawEngine().draw(eventID, new LotteryDrawEngine.DrawCallback() {
+                        @Override
+                        public void onDrawComplete(List<String> selected, List<String> notSelected) {
+                            String eventName = getIntent().getStringExtra("name");
+                            List<Notification> notifications = new ArrayList<>();
+                            for (String newSelectedUser : selected) {
+                                Log.d("Selected", "New user added to Selected list: " + newSelectedUser);
+                                notifications.add(new Notification(newSelectedUser, "Congratulations! You have been chosen to attend " + eventName, true, false));
+                            }
+                            new NotificationService().sendNotifications(notifications, eventID, new NotificationService.BulkSendCallback() {
+                                @Override
+                                public void onNotificationsSent(int delivered, int failed) {
+                                    Log.d("Selected", "Replacement notifications: " + delivered + " delivered, " + failed + " failed");
                                 }
-                            })
-                            .addOnFailureListener(e -> Log.d("Selected", "Error fetching Waiting list", e));
+
+                                @Override
+                                public void onError(Exception e) {
+                                    Log.e("Selected", "Error notifying replacements", e);
+                                }
+                            });
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            Log.d("Selected", "No replacement drawn from the Waiting list", e);
+                        }
+                    });
                 })
-                .addOnFailureListener(e -> Log.d("Selected", "Error removing user from Selected list", e));
+                .addOnFailureListener(e -> Log.d("Selected", "Error moving user to Cancelled list", e));
 
         NotificationService notificationService = new NotificationService();
         String eventName = getIntent().getStringExtra("name");
         Notification notification = new Notification(userID, "Your cancellation of " + eventName + " is confirmed.", true, false);
-        notificationService.sendNotification(this, notification, eventID);
+        notificationService.sendNotification(notification, eventID);
 
         // Hide the accept and decline buttons
         accept_button.setVisibility(View.INVISIBLE);
@@ -404,27 +300,19 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
     }
 
     private boolean isDeadlinePassed = false;
+    private long deadlineAt = -1; // When the deadline passes, in epoch milliseconds
 
     /**
-     * Checks if the event deadline has passed and displays a toast message if it has.
-     *
-     * @param deadline the deadline of the event in "dd-MM-yyyy" format
+     * Checks if the event deadline has passed by comparing the deadline timestamp with the
+     * current time. If the event was opened without a timestamp, it is worked out once from
+     * the deadline string.
      */
-    private void checkDeadlinePassed(String deadline) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
-        try {
-            Date deadlineDate = dateFormat.parse(deadline);
-            Date currentDate = dateFormat.parse(dateFormat.format(new Date()));
-
-            if (currentDate.equals(deadlineDate) || currentDate.before(deadlineDate)) {
-                isDeadlinePassed = false;
-            } else {
-                isDeadlinePassed = true;
-            }
-        } catch (ParseException e) {
-            e.printStackTrace();
-            Log.e("DeadlineCheck", "Error parsing deadline date: " + e.getMessage());
+    private void checkDeadlinePassed() {
+        if (deadlineAt < 0 && deadline != null) {
+            Timestamp parsed = EventController.deadlineAt(deadline);
+            deadlineAt = parsed != null ? parsed.toDate().getTime() : -1;
         }
+        isDeadlinePassed = deadlineAt >= 0 && System.currentTimeMillis() >= deadlineAt;
     }
 
     /**
@@ -443,6 +331,9 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
                 startDate = eventDetails.get("startDate");
                 price = eventDetails.get("price");
                 imageUriString = eventDetails.get("imageUri");
+                posterUrl = eventDetails.get("posterUrl");
+                String version = eventDetails.get("posterVersion");
+                posterVersion = version != null ? Long.parseLong(version) : 0;
                 userID = eventDetails.get("user");
 
                 // Update UI with the fetched data
@@ -450,35 +341,21 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
                     setEventData(name, details, rules, deadline, startDate, price, imageUriString);
 
                     // Check if the deadline has passed and update the UI
-                    if (deadline != null) {
-                        checkDeadlinePassed(deadline);
-                    }
+                    checkDeadlinePassed();
 
                     // Configure the join event button after data is loaded
                     checkGeolocationEnabled(eventID);
 
-                    isEntrant(userID, isEntrant -> {
-                        if (!isEntrant) {
-                            Log.d("Result", "Device is not an entrant");
-                            joinEventButton.setVisibility(View.VISIBLE);
+                    entrantRepository.fetchStatus(eventID, userID, new EntrantRepository.StatusCallback() {
+                        @Override
+                        public void onStatusLoaded(String status) {
+                            showEntrantStatus(userID, status);
                         }
-                    });
 
-                    isWaiting(userID, isWaiting -> {
-                        if (isWaiting) {
-                            Log.d("Result", "Device is waiting");
-                            joinEventButton.setVisibility(View.GONE);
-                            leaveEventButton.setVisibility(View.VISIBLE);
-                        }
-                    });
-
-                    isSelected(userID, isSelected -> {
-                        if (isSelected) {
-                            Log.d("Result", "Device is selected");
-                            joinEventButton.setVisibility(View.GONE);
-                            leaveEventButton.setVisibility(View.GONE);
-                            accept_button.setVisibility(View.VISIBLE);
-                            decline_button.setVisibility(View.VISIBLE);
+                        @Override
+                        public void onError(Exception e) {
+                            Log.d("Entrant", "Error fetching entrant status", e);
+                            showEntrantStatus(userID, null);
                         }
                     });
 
@@ -513,6 +390,11 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
 
         eventRef.get().addOnSuccessListener(documentSnapshot -> {
             if (documentSnapshot.exists()) {
+                // List screens pass no rules, so they are read with the rest of the event
+                if (rules == null) {
+                    rules = documentSnapshot.getString("rules");
+                    eventRulesView.setText(rules != null ? rules : "No rules provided");
+                }
                 Boolean geolocationEnabled = documentSnapshot.getBoolean("geolocationEnabled");
                 if (geolocationEnabled != null && geolocationEnabled) {
                     geolocationWarningView.setVisibility(View.VISIBLE);
@@ -546,64 +428,19 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
 
             FusedLocationProviderClient fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
             fusedLocationClient.getLastLocation().addOnSuccessListener(location -> {
-                DocumentReference eventRef = db.collection("events").document(eventID);
-                DocumentReference userRef = db.collection("Users").document(userID);
-
-                eventRef.get().addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        DocumentSnapshot document = task.getResult();
-                        if (document.exists()) {
-                            String entrantsString = document.getString("entrants");
-                            entrantsNum = entrantsString != null && !entrantsString.isEmpty()
-                                    ? Integer.parseInt(entrantsString)
-                                    : Integer.MAX_VALUE;
-
-                            List<String> waitingList = (List<String>) document.get("entrantList.Waiting");
-                            entrantListSize = (waitingList != null) ? waitingList.size() : 0;
-
-                            if (entrantListSize <= (entrantsNum - 1)) {
-                                // Update user location if location is available
-                                if (location != null) {
-                                    Map<String, Object> locationUpdate = new HashMap<>();
-                                    locationUpdate.put("latitude", location.getLatitude());
-                                    locationUpdate.put("longitude", location.getLongitude());
-
-                                    userRef.update(locationUpdate)
-                                            .addOnSuccessListener(aVoid -> {
-                                                // After updating location, add user to event waiting list
-                                                eventRef.update("entrantList.Waiting", FieldValue.arrayUnion(userID))
-                                                        .addOnSuccessListener(v -> showJoinSuccess(view))
-                                                        .addOnFailureListener(e -> showJoinFailure(view, e));
-                                            })
-                                            .addOnFailureListener(e -> {
-                                                Log.e("Location", "Failed to update user location", e);
-                                                // Still proceed with adding to event if location update fails
-                                                eventRef.update("entrantList.Waiting", FieldValue.arrayUnion(userID))
-                                                        .addOnSuccessListener(v -> showJoinSuccess(view))
-                                                        .addOnFailureListener(failE -> showJoinFailure(view, failE));
-                                            });
-                                } else {
-                                    // No location available, just add to waiting list
-                                    eventRef.update("entrantList.Waiting", FieldValue.arrayUnion(userID))
-                                            .addOnSuccessListener(v -> showJoinSuccess(view))
-                                            .addOnFailureListener(e -> showJoinFailure(view, e));
-                                }
-                                joinEventButton.setVisibility(View.GONE);
-                                leaveEventButton.setVisibility(View.VISIBLE);
-                            } else {
-
-                                Snackbar.make(view, "Waiting list is full. Try again later.", Snackbar.LENGTH_LONG).show();
-                            }
-                        }
-                    }
-                });
+                if (location != null) {
+                    // Record the user's location; joining goes ahead even if this fails
+                    Map<String, Object> locationUpdate = new HashMap<>();
+                    locationUpdate.put("latitude", location.getLatitude());
+                    locationUpdate.put("longitude", location.getLongitude());
+                    db.collection("Users").document(userID).update(locationUpdate)
+                            .addOnFailureListener(e -> Log.e("Location", "Failed to update user location", e));
+                }
+                addToWaitingList(view, eventID, userID);
             }).addOnFailureListener(e -> {
                 Log.e("Location", "Error getting location", e);
                 // Fallback to adding to event without location
-                DocumentReference eventRef = db.collection("events").document(eventID);
-                eventRef.update("entrantList.Waiting", FieldValue.arrayUnion(userID))
-                        .addOnSuccessListener(v -> showJoinSuccess(view))
-                        .addOnFailureListener(failE -> showJoinFailure(view, failE));
+                addToWaitingList(view, eventID, userID);
             });
         } else {
             // Request location permissions if not granted
@@ -613,6 +450,31 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Adds the user to the waiting list. The capacity check and the add run in one
+     * transaction on a shard of the event's entrant counter, so a full list rejects the join.
+     *
+     * @param view    the view triggering the action
+     * @param eventID the event ID
+     * @param userID  the user ID
+     */
+    private void addToWaitingList(View view, String eventID, String userID) {
+        entrantRepository.setStatus(eventID, userID, EntrantRepository.WAITING)
+                .addOnSuccessListener(v -> {
+                    showJoinSuccess(view);
+                    joinEventButton.setVisibility(View.GONE);
+                    leaveEventButton.setVisibility(View.VISIBLE);
+                })
+                .addOnFailureListener(e -> {
+                    if (e instanceof FirebaseFirestoreException && ((FirebaseFirestoreException) e).getCode()
+                            == FirebaseFirestoreException.Code.FAILED_PRECONDITION) {
+                        Snackbar.make(view, EntrantRepository.WAITING_LIST_FULL, Snackbar.LENGTH_LONG).show();
+                    } else {
+                        showJoinFailure(view, e);
+                    }
+                });
+    }
+
     // Add this method to handle permission results
     @Override
     public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
@@ -652,9 +514,7 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
      * @param userID  the user ID
      */
     private void leaveEvent(View view, String eventID, String userID) {
-        DocumentReference eventRef = db.collection("events").document(eventID);
-
-        eventRef.update("entrantList.Waiting", FieldValue.arrayRemove(userID))
+        entrantRepository.setStatus(eventID, userID, null)
                 .addOnSuccessListener(aVoid -> showLeaveSuccess(view))
                 .addOnFailureListener(e -> showLeaveFailure(view, e));
 
@@ -695,31 +555,12 @@ public class EventLandingPageUserActivity extends AppCompatActivity {
         loadEventImage(name);
     }
     /**
-     * Loads the event image using the ImageController.
+     * Loads the event poster, using the poster URL stored on the event when it is known.
      *
      * @param eventName The name of the event.
      */
     private void loadEventImage(String eventName) {
-        ImageController imageController = new ImageController();
-        imageController.retrieveImage(eventName, new ImageController.ImageRetrieveCallback() {
-            @Override
-            public void onRetrieveSuccess(String downloadUrl) {
-                // Use Glide to load the image into the ImageView
-                Glide.with(EventLandingPageUserActivity.this)
-                        .load(downloadUrl)
-                        .placeholder(R.drawable.placeholder_event) // Placeholder while loading
-                        .error(R.drawable.placeholder_event) // Placeholder if loading fails
-                        .centerCrop()
-                        .into(eventImageView);
-            }
-
-            @Override
-            public void onRetrieveFailure(Exception e) {
-                // Log the error and show the placeholder image
-                Log.e("EventLandingPageUser", "Failed to load image for event: " + eventName, e);
-                eventImageView.setImageResource(R.drawable.placeholder_event);
-            }
-        });
+        PosterCache.getInstance(this).load(eventImageView, eventID, eventName, posterUrl, posterVersion);
     }
     /**
      * Shows a success message when the user successfully joins the event.
@@ -29,7 +29,6 @@ public class EventStatusFragment extends Fragment {
     private RecyclerView recyclerView;
     private EventStatusAdapter adapter;
     private EventController eventController;
-    private ArrayList<Event> eventList;
 
     /**
      * Default constructor for the fragment.
@@ -56,11 +55,8 @@ public class EventStatusFragment extends Fragment {
         recyclerView = view.findViewById(R.id.recyclerViewEventStatus);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
 
-        // Initialize Event List
-        eventList = new ArrayList<>();
-
         // Initialize Adapter
-        adapter = new EventStatusAdapter(getContext(), eventList);
+        adapter = new EventStatusAdapter(getContext());
         recyclerView.setAdapter(adapter);
 
         // Initialize EventController
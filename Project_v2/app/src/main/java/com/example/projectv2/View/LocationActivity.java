@@ -11,6 +11,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.projectv2.Controller.EntrantRepository;
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.R;
 import com.google.android.gms.maps.CameraUpdateFactory;
@@ -19,6 +20,7 @@ import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.io.IOException;
@@ -84,23 +86,17 @@ public class LocationActivity extends AppCompatActivity {
      * Fetches participant locations for the specified event and displays them on the map.
      */
     private void fetchParticipantLocations() {
-        firestore.collection("events").document(eventId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        // Safely retrieve the participant list
-                        List<String> participantIds = (List<String>) documentSnapshot.get("entrantList.Waiting");
-
-                        if (participantIds != null && !participantIds.isEmpty()) {
-                            for (String userId : participantIds) {
-                                fetchUserLocation(userId); // Fetch and map each user's location
-                            }
-                        } else {
-                            Log.w(TAG, "No participants found in 'Waiting' list.");
-                            Toast.makeText(this, "No participants found for this event.", Toast.LENGTH_SHORT).show();
+        firestore.collection("events").document(eventId).collection("entrants")
+                .whereEqualTo("status", EntrantRepository.WAITING)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    if (!snapshot.isEmpty()) {
+                        for (DocumentSnapshot participant : snapshot.getDocuments()) {
+                            fetchUserLocation(participant.getId()); // Fetch and map each user's location
                         }
                     } else {
-                        Log.w(TAG, "Event document not found.");
-                        Toast.makeText(this, "Event not found.", Toast.LENGTH_SHORT).show();
+                        Log.w(TAG, "No participants found in 'Waiting' list.");
+                        Toast.makeText(this, "No participants found for this event.", Toast.LENGTH_SHORT).show();
                     }
                 })
                 .addOnFailureListener(e -> {
@@ -1,6 +1,5 @@
 package com.example.projectv2.View;
 
-import android.net.ParseException;
 import android.os.Bundle;
 import android.provider.Settings;
 import android.util.Log;
@@ -8,35 +7,59 @@ import android.view.View;
 
 import com.example.projectv2.Utils.topBarUtils;
 import com.example.projectv2.Model.Notification;
+import com.example.projectv2.Controller.InboxRepository;
 import com.example.projectv2.Controller.NotificationAdapter;
 import com.example.projectv2.R;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.QuerySnapshot;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 /**
  * Activity for displaying notifications to the user in a RecyclerView.
- * Retrieves notifications for a specified user from Firestore and displays them in a list.
+ * Retrieves notifications for a specified user from their Firestore inbox and displays them
+ * in a list, newest first, loading older notifications a page at a time as the user scrolls.
+ * While the activity is started, a snapshot listener on the newest page inserts incoming
+ * notifications at the top of the list as they arrive.
  */
 public class NotificationActivity extends AppCompatActivity {
 
     private static final String TAG = "NotificationActivity"; // Tag for logging
+    private static final int PAGE_SIZE = 20; // Notifications loaded per page
+    private static final int PREFETCH_DISTANCE = 5; // Load the next page this many rows before the end
     private FirebaseFirestore db; // FireStore instance for database operations
+    private InboxRepository inboxRepository; // Access to the user's notification inbox
     private List<Notification> notificationList; // List of notifications to display
     private NotificationAdapter adapter; // Adapter for managing notifications in RecyclerView
     private SwipeRefreshLayout swipeRefreshLayout;
+    private String userId;
+    private boolean showAdmin; // Whether the user has admin notifications enabled
+    private boolean showOrganiser; // Whether the user has organiser notifications enabled
+    private boolean preferencesLoaded = false; // Whether the listener can be attached
+    private ListenerRegistration inboxListener; // Listener on the newest page, while started
+    private final Set<String> loadedIds = new HashSet<>(); // Inbox documents already added to the list
+    private DocumentSnapshot lastDocument; // Cursor for the next page
+    private boolean hasMore = true;
+    private boolean isLoading = false;
+    private int generation = 0; // Incremented on refresh so pages from an earlier load are dropped
 
     /**
      * Called when the activity is first created.
@@ -53,35 +76,59 @@ public class NotificationActivity extends AppCompatActivity {
         swipeRefreshLayout = findViewById(R.id.notification_swipe_refresh);
 
         RecyclerView recyclerView = findViewById(R.id.notification_recylcerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
 
         db = FirebaseFirestore.getInstance();
+        inboxRepository = new InboxRepository();
         notificationList = new ArrayList<>();
         adapter = new NotificationAdapter(notificationList);
         recyclerView.setAdapter(adapter);
 
-//        NotificationService notificationService = new NotificationService();
-//        Notification notification = new Notification("1d0e750f99dbaaab", "Org notif test", true, false);
-//        notificationService.sendNotification(notification);
-//        notification = new Notification("1d0e750f99dbaaab", "Admin notif test", false, true);
-//        notificationService.sendNotification(notification);
-//        NotificationAdapter adapter = new NotificationAdapter(notificationList);
-//        recyclerView.setAdapter(adapter);
+        // Load older notifications as the user scrolls near the end of the list
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
 
-        String deviceID = Settings.Secure.getString(getContentResolver(), Settings.Secure.ANDROID_ID);
-        loadNotifications(deviceID); // Figure out who to display notifications for
+        userId = Settings.Secure.getString(getContentResolver(), Settings.Secure.ANDROID_ID);
+        loadNotifications(userId); // Figure out who to display notifications for
 
-        // Set up swipe-to-refresh functionality
+        // New notifications arrive through the listener, so a swipe only rebuilds the list
+        // when the user asks for it, for example to update the relative times
         swipeRefreshLayout.setOnRefreshListener(() -> {
-            notificationList.clear(); // Clear existing notifications
-            loadNotifications(deviceID); // Reload notifications
+            if (preferencesLoaded) {
+                refreshNotifications(); // Rebuild from the newest notification
+            }
             swipeRefreshLayout.setRefreshing(false); // Stop refreshing animation
         });
     }
 
     /**
-     * Loads notifications for a specific user from FireStore and updates the RecyclerView.
-     * Retrieves notifications for the user based on their role (admin or organiser).
+     * Attaches the inbox listener when the activity becomes visible.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        startListening();
+    }
+
+    /**
+     * Detaches the inbox listener when the activity is no longer visible.
+     */
+    @Override
+    protected void onStop() {
+        stopListening();
+        super.onStop();
+    }
+
+    /**
+     * Loads the user's notification preferences, moves any notifications still stored on
+     * the user document into the inbox, and then starts listening to the inbox.
      *
      * @param userId The ID of the user whose notifications are to be loaded
      */
@@ -89,30 +136,15 @@ public class NotificationActivity extends AppCompatActivity {
         db.collection("Users").document(userId).get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        Boolean isAdmin = documentSnapshot.getBoolean("adminNotif");
-                        Boolean isOrganiser = documentSnapshot.getBoolean("organizerNotif");
-
-                        if (Boolean.TRUE.equals(isAdmin)) {
-                            List<Map<String, Object>> adminNotifs = (List<Map<String, Object>>) documentSnapshot.get("adminNotifList");
-                            if (adminNotifs != null) {
-                                for (Map<String, Object> notifData : adminNotifs) {
-                                    Notification notification = mapToNotification(notifData, true, false);
-                                    notificationList.add(notification);
-                                }
-                            }
-                        }
-
-                        if (Boolean.TRUE.equals(isOrganiser)) {
-                            List<Map<String, Object>> orgNotifs = (List<Map<String, Object>>) documentSnapshot.get("organizerNotifList");
-                            if (orgNotifs != null) {
-                                for (Map<String, Object> notifData : orgNotifs) {
-                                    Notification notification = mapToNotification(notifData, false, true);
-                                    notificationList.add(notification);
-                                }
-                            }
-                        }
-
-                        adapter.notifyDataSetChanged();
+                        showAdmin = Boolean.TRUE.equals(documentSnapshot.getBoolean("adminNotif"));
+                        showOrganiser = Boolean.TRUE.equals(documentSnapshot.getBoolean("organizerNotif"));
+
+                        inboxRepository.migrateLegacy(documentSnapshot)
+                                .addOnFailureListener(e -> Log.e(TAG, "Error moving notifications into the inbox", e))
+                                .addOnCompleteListener(task -> {
+                                    preferencesLoaded = true;
+                                    refreshNotifications();
+                                });
                     } else {
                         Log.d(TAG, "No such document.");
                     }
@@ -121,56 +153,195 @@ public class NotificationActivity extends AppCompatActivity {
     }
 
     /**
-     * Maps a FireStore document's data to a Notification object.
+     * Clears the notification list and listens again from the newest notification.
+     */
+    private void refreshNotifications() {
+        generation++;
+        stopListening();
+        loadedIds.clear();
+        notificationList.clear();
+        adapter.notifyDataSetChanged();
+        lastDocument = null;
+        hasMore = true;
+        isLoading = false;
+        startListening();
+    }
+
+    /**
+     * Registers a snapshot listener on the newest page of the inbox, if the preferences
+     * are loaded, the activity is started and no listener is registered yet.
+     */
+    private void startListening() {
+        if (!preferencesLoaded || inboxListener != null
+                || !getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            return;
+        }
+        // Metadata-only changes (a write being acknowledged, a cached result confirmed by
+        // the server) are excluded, so each notification is rendered once
+        inboxListener = inboxRepository.newestFirst(userId).limit(PAGE_SIZE)
+                .addSnapshotListener(MetadataChanges.EXCLUDE, (snapshot, e) -> {
+                    if (e != null) {
+                        Log.d(TAG, "Error listening to notifications: ", e);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        applySnapshot(snapshot);
+                    }
+                });
+    }
+
+    /**
+     * Removes the inbox listener, if one is registered.
+     */
+    private void stopListening() {
+        if (inboxListener != null) {
+            inboxListener.remove();
+            inboxListener = null;
+        }
+    }
+
+    /**
+     * Inserts the notifications added since the previous snapshot into the list. Inbox
+     * documents are never edited, and a removal only means a document fell out of the
+     * newest page, so only added documents are handled. Each one is inserted at its
+     * position among the shown notifications of the page, so the list stays newest first.
      *
-     * @param notifData   The map containing notification data retrieved from FireStore
-     * @param isAdmin     True if the notification is for admins, false otherwise
-     * @param isOrganiser True if the notification is for organisers, false otherwise
-     * @return A new Notification object with data populated from the map
+     * @param snapshot The latest snapshot of the newest page
      */
-    private Notification mapToNotification(Map<String, Object> notifData, boolean isAdmin, boolean isOrganiser) {
-        String sendTo = (String) notifData.get("sendTo");
-        String content = (String) notifData.get("content");
-        String timeSent = (String) notifData.get("timeSent");
+    private void applySnapshot(QuerySnapshot snapshot) {
+        Set<String> addedIds = new HashSet<>();
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            if (change.getType() == DocumentChange.Type.ADDED) {
+                addedIds.add(change.getDocument().getId());
+            }
+        }
+
+        int position = 0;
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            if (!isShown(document)) {
+                loadedIds.add(document.getId());
+                continue;
+            }
+            if (addedIds.contains(document.getId()) && loadedIds.add(document.getId())) {
+                notificationList.add(position, mapToNotification(document));
+                adapter.notifyItemInserted(position);
+            }
+            position++;
+        }
+
+        // The first snapshot also provides the cursor for paging older notifications
+        if (lastDocument == null && !snapshot.isEmpty()) {
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            lastDocument = documents.get(documents.size() - 1);
+            hasMore = documents.size() == PAGE_SIZE;
+        }
+    }
+
+    /**
+     * Loads the page after the last loaded notification, if there is one and no load is running.
+     */
+    private void loadNextPage() {
+        if (!isLoading && hasMore && lastDocument != null) {
+            loadPage();
+        }
+    }
+
+    /**
+     * Loads a page of older notifications and appends it to the list. Notifications of a
+     * kind the user has turned off, and notifications already in the list, are skipped.
+     * Pages requested before the most recent refresh are discarded when they arrive.
+     */
+    private void loadPage() {
+        isLoading = true;
+        int requestGeneration = generation;
+        inboxRepository.fetchPage(userId, lastDocument, PAGE_SIZE, new InboxRepository.InboxPageCallback() {
+            @Override
+            public void onPageLoaded(List<DocumentSnapshot> notifications, DocumentSnapshot last, boolean more) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                lastDocument = last;
+                hasMore = more;
+                isLoading = false;
+
+                List<Notification> page = new ArrayList<>();
+                for (DocumentSnapshot document : notifications) {
+                    if (loadedIds.add(document.getId()) && isShown(document)) {
+                        page.add(mapToNotification(document));
+                    }
+                }
+
+                int start = notificationList.size();
+                notificationList.addAll(page);
+                adapter.notifyItemRangeInserted(start, page.size());
+            }
+
+            @Override
+            public void onError(Exception e) {
+                if (requestGeneration == generation) {
+                    isLoading = false;
+                }
+                Log.d(TAG, "Error fetching notifications: ", e);
+            }
+        });
+    }
+
+    /**
+     * Checks whether an inbox document is of a kind the user has enabled.
+     *
+     * @param document The inbox document
+     * @return True if the notification should be shown
+     */
+    private boolean isShown(DocumentSnapshot document) {
+        boolean isAdmin = Boolean.TRUE.equals(document.getBoolean("isAdmin"));
+        boolean isOrganiser = Boolean.TRUE.equals(document.getBoolean("isOrganiser"));
+        return (isAdmin && showAdmin) || (isOrganiser && showOrganiser);
+    }
+
+    /**
+     * Maps an inbox document to a Notification object.
+     *
+     * @param document The inbox document retrieved from FireStore
+     * @return A new Notification object with data populated from the document
+     */
+    private Notification mapToNotification(DocumentSnapshot document) {
+        boolean isAdmin = Boolean.TRUE.equals(document.getBoolean("isAdmin"));
+        boolean isOrganiser = Boolean.TRUE.equals(document.getBoolean("isOrganiser"));
+        String content = document.getString("content");
+        Timestamp sentAt = document.getTimestamp("sentAt", DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
 
         // Compute relative time
-        String relativeTime = getRelativeTime(timeSent);
+        String relativeTime = sentAt != null ? getRelativeTime(sentAt.toDate()) : "Unknown time";
 
         // Return a notification object with the relative time instead of the raw time
-        return new Notification(sendTo, content, relativeTime, isOrganiser, isAdmin);
+        return new Notification(userId, content, relativeTime, isOrganiser, isAdmin);
     }
 
-    private String getRelativeTime(String timeSent) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss", Locale.getDefault());
-        try {
-            Date sentTime = dateFormat.parse(timeSent);
-            if (sentTime == null) return "Unknown time";
-
-            long timeDiffMillis = System.currentTimeMillis() - sentTime.getTime();
-            long seconds = TimeUnit.MILLISECONDS.toSeconds(timeDiffMillis);
-            long minutes = TimeUnit.MILLISECONDS.toMinutes(timeDiffMillis);
-            long hours = TimeUnit.MILLISECONDS.toHours(timeDiffMillis);
-            long days = TimeUnit.MILLISECONDS.toDays(timeDiffMillis);
-
-            String rel_time;
-
-            if (seconds < 60) {
-                rel_time = seconds + " sec ago";
-            } else if (minutes < 60) {
-                rel_time = (minutes == 1) ? minutes + " min ago" : minutes + " mins ago";
-            } else if (hours < 24) {
-                rel_time = (hours == 1) ? hours + " hr ago" : hours + " hrs ago";
-            } else {
-                rel_time = (days == 1) ? days + " day ago" : days + " days ago";
-            }
+    /**
+     * Formats how long ago a notification was sent.
+     *
+     * @param sentTime The time the notification was sent
+     * @return The elapsed time, such as "5 mins ago"
+     */
+    private String getRelativeTime(Date sentTime) {
+        long timeDiffMillis = Math.max(0, System.currentTimeMillis() - sentTime.getTime());
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(timeDiffMillis);
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(timeDiffMillis);
+        long hours = TimeUnit.MILLISECONDS.toHours(timeDiffMillis);
+        long days = TimeUnit.MILLISECONDS.toDays(timeDiffMillis);
 
-            return rel_time;
+        String rel_time;
 
-        } catch (ParseException e) {
-            e.printStackTrace();
-            return "Unknown time";
-        } catch (java.text.ParseException e) {
-            throw new RuntimeException(e);
+        if (seconds < 60) {
+            rel_time = seconds + " sec ago";
+        } else if (minutes < 60) {
+            rel_time = (minutes == 1) ? minutes + " min ago" : minutes + " mins ago";
+        } else if (hours < 24) {
+            rel_time = (hours == 1) ? hours + " hr ago" : hours + " hrs ago";
+        } else {
+            rel_time = (days == 1) ? days + " day ago" : days + " days ago";
         }
+
+        return rel_time;
     }
 }
@@ -2,6 +2,7 @@ package com.example.projectv2.View;
 
 import android.app.Activity;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -18,6 +19,7 @@ import com.example.projectv2.Model.Notification;
 import com.example.projectv2.R;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Dialog fragment for sending notifications to users.
@@ -70,14 +72,27 @@ public class SendNotificationOverlay extends DialogFragment {
                 TextView sendContent = view.findViewById(R.id.send_notification_overlay_content);
                 String content = sendContent.getText().toString();
 
-                NotificationService notificationService = new NotificationService();
-
+                List<Notification> notifications = new ArrayList<>();
                 for (String userId : documentIds) {
-                    Notification notification = new Notification(userId, content, true, false);
-                    notificationService.sendNotification(parentActivity, notification, eventId);
+                    notifications.add(new Notification(userId, content, true, false));
                 }
 
-                Toast.makeText(parentActivity, "Sending notifications for Event ID: " + eventId + " to: " + documentIds, Toast.LENGTH_SHORT).show();
+                Activity activity = parentActivity;
+                new NotificationService().sendNotifications(notifications, eventId, new NotificationService.BulkSendCallback() {
+                    @Override
+                    public void onNotificationsSent(int delivered, int failed) {
+                        String message = failed == 0
+                                ? "Notifications sent to " + delivered + " entrants!"
+                                : "Notifications sent to " + delivered + " entrants, " + failed + " failed.";
+                        Toast.makeText(activity, message, Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e("SendNotificationOverlay", "Error sending notifications", e);
+                        Toast.makeText(activity, "Failed to send notifications!", Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
             dismiss();
         });
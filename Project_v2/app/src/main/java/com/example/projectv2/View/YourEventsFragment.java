@@ -38,7 +38,6 @@ public class YourEventsFragment extends Fragment {
     private RecyclerView recyclerView;
     private YourEventsAdapter adapter;
     private EventController eventController;
-    private ArrayList<Event> eventList;
 
     /**
      * Default constructor for the YourEventsFragment.
@@ -66,11 +65,8 @@ public class YourEventsFragment extends Fragment {
         recyclerView = view.findViewById(R.id.recyclerViewYourEvents);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
 
-        // Initialize Event List
-        eventList = new ArrayList<>();
-
         // Initialize Adapter
-        adapter = new YourEventsAdapter(getContext(), eventList);
+        adapter = new YourEventsAdapter(getContext());
         recyclerView.setAdapter(adapter);
 
         // Initialize EventController
@@ -0,0 +1,48 @@
+package com.example.projectv2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.example.projectv2.Model.Entrant;
+
+/**
+ * Unit tests for the {@link Entrant} class.
+ *
+ * <p>This class tests the accessors and the equality used when entrant lists are diffed.</p>
+ */
+public class EntrantTest {
+
+    /**
+     * Tests that the constructor stores the user ID and name.
+     */
+    @Test
+    public void testConstructorAndGetters() {
+        Entrant entrant = new Entrant("user123", "Jane Doe");
+
+        assertEquals("user123", entrant.getUserId());
+        assertEquals("Jane Doe", entrant.getName());
+    }
+
+    /**
+     * Tests that entrants with the same ID and name are equal and share a hash code.
+     */
+    @Test
+    public void testEqualEntrants() {
+        Entrant first = new Entrant("user123", "Jane Doe");
+        Entrant second = new Entrant("user123", "Jane Doe");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    /**
+     * Tests that a renamed entrant is not equal to the original, so its row is rebound.
+     */
+    @Test
+    public void testRenamedEntrantIsNotEqual() {
+        Entrant original = new Entrant("user123", "Jane Doe");
+        Entrant renamed = new Entrant("user123", "Jane Smith");
+
+        assertNotEquals(original, renamed);
+    }
+}
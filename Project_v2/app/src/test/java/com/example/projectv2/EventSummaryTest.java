@@ -0,0 +1,66 @@
+package com.example.projectv2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.example.projectv2.Model.EventSummary;
+
+/**
+ * Unit tests for the {@link EventSummary} class.
+ *
+ * <p>This class tests the behavior of the EventSummary model class, ensuring that the
+ * constructors, getters, and setters function as expected.</p>
+ */
+public class EventSummaryTest {
+
+    /**
+     * Tests the full constructor of the {@link EventSummary} class.
+     * Verifies that all attributes are properly initialized when provided.
+     */
+    @Test
+    public void testFullConstructor() {
+        EventSummary summary = new EventSummary(
+                "event123",
+                "John Doe",
+                "Summer Festival",
+                "A fun summer event",
+                "01-07-2024",
+                "15-07-2024",
+                "50.00",
+                "https://example.com/poster.jpg",
+                "Community Center"
+        );
+
+        assertEquals("event123", summary.getEventID());
+        assertEquals("John Doe", summary.getOwner());
+        assertEquals("Summer Festival", summary.getName());
+        assertEquals("A fun summer event", summary.getDetail());
+        assertEquals("01-07-2024", summary.getDeadline());
+        assertEquals("15-07-2024", summary.getStartDate());
+        assertEquals("50.00", summary.getTicketPrice());
+        assertEquals("https://example.com/poster.jpg", summary.getImageUri());
+        assertEquals("Community Center", summary.getFacility());
+    }
+
+    /**
+     * Tests the default constructor used by Firestore mapping.
+     * Verifies that all attributes start unset and can be filled in with setters.
+     */
+    @Test
+    public void testDefaultConstructorAndSetters() {
+        EventSummary summary = new EventSummary();
+        assertNull(summary.getEventID());
+        assertNull(summary.getImageUri());
+        assertNull(summary.getPosterUrl());
+
+        summary.setEventID("event456");
+        summary.setName("Winter Gala");
+        summary.setTicketPrice("0");
+        summary.setPosterUrl("https://example.com/poster.jpg");
+
+        assertEquals("event456", summary.getEventID());
+        assertEquals("Winter Gala", summary.getName());
+        assertEquals("https://example.com/poster.jpg", summary.getPosterUrl());
+        assertEquals("0", summary.getTicketPrice());
+    }
+}
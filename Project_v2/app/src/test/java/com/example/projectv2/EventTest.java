@@ -156,4 +156,40 @@ public class EventTest {
         assertEquals(mockUri, event.getImageUri());
         assertEquals("Community Center", event.getFacility());
     }
+
+    /**
+     * Tests that the typed deadline is compared with the current time, and that an event
+     * without a typed deadline is never reported as passed.
+     */
+    @Test
+    public void testDeadlinePassed() {
+        Event event = new Event("event123", "John Doe", "01-07-2024", "15-07-2024");
+        assertFalse(event.isDeadlinePassed(1_000L));
+
+        event.setDeadlineAt(1_000L);
+        assertFalse(event.isDeadlinePassed(999L));
+        assertTrue(event.isDeadlinePassed(1_000L));
+        assertTrue(event.isDeadlinePassed(5_000L));
+    }
+
+    /**
+     * Tests that the displayed price uses the typed price in cents when it is known and
+     * falls back to the entered price string otherwise.
+     */
+    @Test
+    public void testDisplayPrice() {
+        Event event = new Event("event123", "John Doe", "Summer Festival", "A fun summer event",
+                "No outside food", "01-07-2024", "15-07-2024", "0", null, "Community Center");
+        assertEquals("Free", event.getDisplayPrice());
+
+        event.setPriceCents(1250);
+        assertEquals("$12.50", event.getDisplayPrice());
+
+        event.setPriceCents(0);
+        assertEquals("Free", event.getDisplayPrice());
+
+        Event legacy = new Event("event456", "John Doe", "Summer Festival", "A fun summer event",
+                "No outside food", "01-07-2024", "15-07-2024", "50.00", null, "Community Center");
+        assertEquals("$50.00", legacy.getDisplayPrice());
+    }
 }
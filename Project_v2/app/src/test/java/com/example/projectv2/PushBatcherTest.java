@@ -0,0 +1,130 @@
+package com.example.projectv2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.example.projectv2.Controller.PushBatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the {@link PushBatcher} class.
+ *
+ * <p>A recording sender stands in for the multicast endpoint, so these tests check how
+ * pushes are grouped and split without any network calls.</p>
+ */
+public class PushBatcherTest {
+
+    /**
+     * Records every multicast request instead of sending it.
+     */
+    private static class RecordingSender implements PushBatcher.Sender {
+        final List<List<String>> tokens = Collections.synchronizedList(new ArrayList<>());
+        final List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(List<String> batch, String eventID, String body) {
+            tokens.add(batch);
+            bodies.add(body);
+        }
+    }
+
+    /**
+     * Tests that pushes with the same event and body are shipped as one request.
+     */
+    @Test
+    public void testSameMessageIsCoalesced() {
+        RecordingSender sender = new RecordingSender();
+        PushBatcher batcher = new PushBatcher(sender, 10_000);
+
+        batcher.enqueue("token1", "event1", "You were selected");
+        batcher.enqueue("token2", "event1", "You were selected");
+        batcher.enqueue("token3", "event1", "You were selected");
+        batcher.flush();
+
+        assertEquals(1, sender.tokens.size());
+        assertEquals(Arrays.asList("token1", "token2", "token3"), sender.tokens.get(0));
+    }
+
+    /**
+     * Tests that different messages are shipped as separate requests.
+     */
+    @Test
+    public void testDifferentMessagesAreSeparate() {
+        RecordingSender sender = new RecordingSender();
+        PushBatcher batcher = new PushBatcher(sender, 10_000);
+
+        batcher.enqueue("token1", "event1", "You were selected");
+        batcher.enqueue("token2", "event1", "You were not selected");
+        batcher.flush();
+
+        assertEquals(2, sender.tokens.size());
+        assertTrue(sender.bodies.contains("You were selected"));
+        assertTrue(sender.bodies.contains("You were not selected"));
+    }
+
+    /**
+     * Tests that a lottery result for 1,200 entrants goes out in three requests, none of
+     * them over the multicast limit.
+     */
+    @Test
+    public void testLargeGroupIsSplitAtLimit() {
+        RecordingSender sender = new RecordingSender();
+        PushBatcher batcher = new PushBatcher(sender, 10_000);
+
+        for (int i = 0; i < 1200; i++) {
+            batcher.enqueue("token" + i, "event1", "You were selected");
+        }
+        batcher.flush();
+
+        assertEquals(3, sender.tokens.size());
+        int total = 0;
+        for (List<String> batch : sender.tokens) {
+            assertTrue(batch.size() <= PushBatcher.MAX_TOKENS_PER_REQUEST);
+            total += batch.size();
+        }
+        assertEquals(1200, total);
+    }
+
+    /**
+     * Tests that duplicate and null tokens are not sent.
+     */
+    @Test
+    public void testDuplicateAndNullTokensAreDropped() {
+        RecordingSender sender = new RecordingSender();
+        PushBatcher batcher = new PushBatcher(sender, 10_000);
+
+        batcher.enqueue("token1", "event1", "Hello");
+        batcher.enqueue("token1", "event1", "Hello");
+        batcher.enqueue(null, "event1", "Hello");
+        batcher.flush();
+
+        assertEquals(1, sender.tokens.size());
+        assertEquals(Collections.singletonList("token1"), sender.tokens.get(0));
+    }
+
+    /**
+     * Tests that queued pushes are shipped on their own once the window closes.
+     *
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    public void testWindowFlushesAutomatically() throws InterruptedException {
+        CountDownLatch sent = new CountDownLatch(1);
+        List<String> received = new ArrayList<>();
+        PushBatcher batcher = new PushBatcher((tokens, eventID, body) -> {
+            received.addAll(tokens);
+            sent.countDown();
+        }, 50);
+
+        batcher.enqueue("token1", "event1", "Hello");
+
+        assertTrue(sent.await(2, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("token1"), received);
+    }
+}
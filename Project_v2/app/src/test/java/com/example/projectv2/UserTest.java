@@ -30,6 +30,7 @@ public class UserTest {
         assertFalse(user.isAdmin());
         assertFalse(user.isOrganizer());
         assertEquals("", user.getProfileImage());
+        assertEquals(0, user.getProfileImageVersion());
         assertEquals(0.0, user.getLatitude(), 0.0001);
         assertEquals(0.0, user.getLongitude(), 0.0001);
         assertNotNull(user.getAdminNotifList());
@@ -98,6 +99,7 @@ public class UserTest {
         user.setOrganizerNotif(true);
         user.setPhoneNumber("1234567890");
         user.setProfileImage("http://example.com/profile.jpg");
+        user.setProfileImageVersion(42L);
         user.setDeviceID("device789");
         user.setLatitude(51.5074);
         user.setLongitude(0.1278);
@@ -125,6 +127,7 @@ public class UserTest {
         assertTrue(user.isOrganizerNotif());
         assertEquals("1234567890", user.getPhoneNumber());
         assertEquals("http://example.com/profile.jpg", user.getProfileImage());
+        assertEquals(42L, user.getProfileImageVersion());
         assertEquals("device789", user.getDeviceID());
         assertEquals(51.5074, user.getLatitude(), 0.0001);
         assertEquals(0.1278, user.getLongitude(), 0.0001);
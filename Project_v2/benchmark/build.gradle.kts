@@ -0,0 +1,25 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+// Run with ./gradlew :benchmark:jmh, results are written to build/results/jmh/results.json
+// so they can be compared across releases. The gc profiler reports allocation per draw
+// as gc.alloc.rate.norm (bytes/op).
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    profilers.add("gc")
+}
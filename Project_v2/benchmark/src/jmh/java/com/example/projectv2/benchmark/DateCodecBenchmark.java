@@ -0,0 +1,111 @@
+package com.example.projectv2.benchmark;
+
+import com.example.projectv2.core.DateCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deadline checks and notification time formatting.
+ *
+ * <p>The {@code legacy} benchmarks are the previous approach of creating a
+ * {@link SimpleDateFormat} per call and formatting then re-parsing the current date to
+ * drop its time, and are kept as a baseline. The {@code codec} benchmarks use
+ * {@link DateCodec}, and {@link #codecDeadlineCheckStored()} is the check made against the
+ * {@code deadlineAt} moment stored on events. Run with the gc profiler to get allocation per call.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateCodecBenchmark {
+
+    private final String deadline = "01-07-2024";
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long deadlineAt;
+    private long now;
+
+    /**
+     * Computes the stored deadline moment once per trial, as the start of the day after
+     * the deadline.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        deadlineAt = DateCodec.startOfDayMillis(DateCodec.parseEpochDay(deadline) + 1, zone);
+    }
+
+    /**
+     * Reads the clock once per iteration so every call checks the same moment.
+     */
+    @Setup(Level.Iteration)
+    public void readClock() {
+        now = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks the deadline the way the app used to.
+     *
+     * @return Whether the deadline has passed.
+     * @throws ParseException If the deadline cannot be parsed.
+     */
+    @Benchmark
+    public boolean legacyDeadlineCheck() throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy");
+        Date deadlineDate = sdf.parse(deadline);
+        Date currentDate = sdf.parse(sdf.format(new Date(now)));
+        return currentDate.after(deadlineDate);
+    }
+
+    /**
+     * Parses the deadline with the shared formatter and compares the current time with
+     * the start of the following day.
+     *
+     * @return Whether the deadline has passed.
+     */
+    @Benchmark
+    public boolean codecDeadlineCheck() {
+        return now >= DateCodec.startOfDayMillis(DateCodec.parseEpochDay(deadline) + 1, zone);
+    }
+
+    /**
+     * Compares the current time with a deadline moment computed earlier, as stored on events.
+     *
+     * @return Whether the deadline has passed.
+     */
+    @Benchmark
+    public boolean codecDeadlineCheckStored() {
+        return now >= deadlineAt;
+    }
+
+    /**
+     * Formats a notification time the way the app used to.
+     *
+     * @return The formatted time.
+     */
+    @Benchmark
+    public String legacyFormatTime() {
+        return new SimpleDateFormat("dd-MM-yyyy HH:mm:ss", Locale.getDefault()).format(new Date(now));
+    }
+
+    /**
+     * Formats a notification time with the shared formatter.
+     *
+     * @return The formatted time.
+     */
+    @Benchmark
+    public String codecFormatTime() {
+        return DateCodec.formatDateTime(now, zone);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.projectv2.benchmark;
+
+import com.example.projectv2.core.LotteryDraw;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a lottery draw for waiting lists of 10 to 1M entrants.
+ *
+ * <p>{@link #seededDraw()} is the draw used by the app. {@link #shuffleDraw()} is the
+ * previous approach of shuffling a copy of the whole waiting list and is kept as a
+ * baseline. Run with the gc profiler to get allocation per draw.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LotteryDrawBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int entrants;
+
+    @Param({"10", "500"})
+    public int winners;
+
+    private List<String> waitingList;
+    private long seed;
+
+    /**
+     * Builds the waiting list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        waitingList = new ArrayList<>(entrants);
+        for (int i = 0; i < entrants; i++) {
+            waitingList.add("device" + i);
+        }
+    }
+
+    /**
+     * Draws winners with the seeded partial Fisher-Yates selection. The seed changes on
+     * every call so no draw is repeated; bumping it inline avoids per-invocation setup,
+     * which JMH warns distorts benchmarks this short.
+     *
+     * @return The winners, returned so the JIT cannot eliminate the draw.
+     */
+    @Benchmark
+    public List<String> seededDraw() {
+        return LotteryDraw.draw(waitingList, winners, seed++);
+    }
+
+    /**
+     * Draws winners by shuffling a copy of the whole waiting list.
+     *
+     * @return The winners, returned so the JIT cannot eliminate the draw.
+     */
+    @Benchmark
+    public List<String> shuffleDraw() {
+        List<String> copy = new ArrayList<>(waitingList);
+        Collections.shuffle(copy, new Random(seed++));
+        return new ArrayList<>(copy.subList(0, Math.min(winners, copy.size())));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.projectv2.core;
+
+/**
+ * CounterShards splits a capacity across the shards of a distributed counter.
+ *
+ * <p>Each shard holds a slice of the capacity and only accepts increments while its own
+ * count is under its slice, so a shard can be checked and incremented without reading the
+ * others, and the sum of the counts never exceeds the capacity. The slices differ by at
+ * most one and add up to the capacity exactly.</p>
+ */
+public final class CounterShards {
+
+    private CounterShards() {
+    }
+
+    /**
+     * Returns the slice of a capacity held by one shard.
+     *
+     * @param capacity The total capacity, at least 0.
+     * @param shards   The number of shards, at least 1.
+     * @param shard    The index of the shard, from 0 to {@code shards - 1}.
+     * @return The most the shard may count.
+     * @throws IllegalArgumentException If an argument is out of range.
+     */
+    public static long slice(long capacity, int shards, int shard) {
+        if (capacity < 0 || shards < 1 || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("Invalid slice " + shard + " of " + shards + " for " + capacity);
+        }
+        return capacity / shards + (shard < capacity % shards ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the shard probed after another, wrapping around.
+     *
+     * @param shard  The index of the current shard.
+     * @param shards The number of shards.
+     * @return The index of the next shard.
+     */
+    public static int next(int shard, int shards) {
+        return shard + 1 == shards ? 0 : shard + 1;
+    }
+}
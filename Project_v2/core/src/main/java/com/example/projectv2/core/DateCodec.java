@@ -0,0 +1,104 @@
+package com.example.projectv2.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+
+/**
+ * DateCodec converts between the date strings stored by the app and epoch values.
+ *
+ * <p>Dates are entered as {@code dd-MM-yyyy} and notification times are stored as
+ * {@code dd-MM-yyyy HH:mm:ss}. The formatters are immutable and thread-safe, so they are
+ * built once and shared, unlike {@link java.text.SimpleDateFormat}, which had to be
+ * created for every call. Event dates are handled as epoch days, the number of days since
+ * 1970-01-01, and every conversion between a day and a moment takes a {@link ZoneId}.
+ * The app reaches {@code java.time} below API 26 through core library desugaring.</p>
+ */
+public final class DateCodec {
+
+    /** Returned by the parse methods when the text is not a valid date. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /** Format of event dates, such as deadlines and start dates. */
+    public static final DateTimeFormatter DATE =
+            DateTimeFormatter.ofPattern("dd-MM-uuuu", Locale.ROOT).withResolverStyle(ResolverStyle.STRICT);
+
+    /** Format of notification times. */
+    public static final DateTimeFormatter DATE_TIME =
+            DateTimeFormatter.ofPattern("dd-MM-uuuu HH:mm:ss", Locale.ROOT).withResolverStyle(ResolverStyle.STRICT);
+
+    private DateCodec() {
+    }
+
+    /**
+     * Parses an event date into an epoch day.
+     *
+     * @param text The date, formatted as dd-MM-yyyy.
+     * @return The epoch day, or {@link #INVALID} if the text is not a valid date.
+     */
+    public static long parseEpochDay(String text) {
+        if (text == null) {
+            return INVALID;
+        }
+        try {
+            return LocalDate.parse(text.trim(), DATE).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Formats an epoch day as an event date.
+     *
+     * @param epochDay The epoch day.
+     * @return The date, formatted as dd-MM-yyyy.
+     */
+    public static String formatEpochDay(long epochDay) {
+        return DATE.format(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * Parses a notification time.
+     *
+     * @param text The time, formatted as dd-MM-yyyy HH:mm:ss.
+     * @param zone The time zone the time was written in.
+     * @return The time in epoch milliseconds, or {@link #INVALID} if the text is not a valid time.
+     */
+    public static long parseDateTimeMillis(String text, ZoneId zone) {
+        if (text == null) {
+            return INVALID;
+        }
+        try {
+            return LocalDateTime.parse(text.trim(), DATE_TIME).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Formats a moment as a notification time.
+     *
+     * @param epochMillis The moment in epoch milliseconds.
+     * @param zone        The time zone to format in.
+     * @return The time, formatted as dd-MM-yyyy HH:mm:ss.
+     */
+    public static String formatDateTime(long epochMillis, ZoneId zone) {
+        return DATE_TIME.format(Instant.ofEpochMilli(epochMillis).atZone(zone));
+    }
+
+    /**
+     * Returns the first moment of an epoch day in a time zone.
+     *
+     * @param epochDay The epoch day.
+     * @param zone     The time zone.
+     * @return The start of the day in epoch milliseconds.
+     */
+    public static long startOfDayMillis(long epochDay, ZoneId zone) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.projectv2.core;
+
+/**
+ * ImageSizing works out how far an image is scaled down before it is uploaded.
+ *
+ * <p>An image is fitted inside a bounding box, keeping its aspect ratio and never being
+ * scaled up. It is first decoded at a power of two subsample that is still at least as
+ * large as the fitted size, so a large camera photo is never held in memory at full
+ * resolution, and then scaled the rest of the way.</p>
+ */
+public final class ImageSizing {
+
+    private ImageSizing() {
+    }
+
+    /**
+     * Returns the size of an image fitted inside a bounding box.
+     *
+     * @param width     The width of the image, at least 1.
+     * @param height    The height of the image, at least 1.
+     * @param maxWidth  The width of the bounding box, at least 1.
+     * @param maxHeight The height of the bounding box, at least 1.
+     * @return The fitted width and height, each at least 1.
+     * @throws IllegalArgumentException If a size is not positive.
+     */
+    public static int[] fit(int width, int height, int maxWidth, int maxHeight) {
+        if (width < 1 || height < 1 || maxWidth < 1 || maxHeight < 1) {
+            throw new IllegalArgumentException("Invalid size " + width + "x" + height
+                    + " for bounds " + maxWidth + "x" + maxHeight);
+        }
+        double scale = Math.min(1.0, Math.min((double) maxWidth / width, (double) maxHeight / height));
+        return new int[] {
+                Math.max(1, (int) Math.round(width * scale)),
+                Math.max(1, (int) Math.round(height * scale))
+        };
+    }
+
+    /**
+     * Returns the subsample to decode an image at, for {@code BitmapFactory.Options.inSampleSize}.
+     *
+     * @param width     The width of the image, at least 1.
+     * @param height    The height of the image, at least 1.
+     * @param maxWidth  The width of the bounding box, at least 1.
+     * @param maxHeight The height of the bounding box, at least 1.
+     * @return The largest power of two that keeps the decoded image at least as large as
+     *         its fitted size.
+     * @throws IllegalArgumentException If a size is not positive.
+     */
+    public static int sampleSize(int width, int height, int maxWidth, int maxHeight) {
+        int[] fitted = fit(width, height, maxWidth, maxHeight);
+        int sample = 1;
+        while (width / (sample * 2) >= fitted[0] && height / (sample * 2) >= fitted[1]) {
+            sample *= 2;
+        }
+        return sample;
+    }
+}
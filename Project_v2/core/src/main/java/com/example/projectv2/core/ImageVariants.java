@@ -0,0 +1,67 @@
+package com.example.projectv2.core;
+
+/**
+ * ImageVariants names the smaller copies of an uploaded image and picks one for a view.
+ *
+ * <p>Every poster and profile picture is uploaded at its full size and as a thumbnail for
+ * each of {@link #SIZES}, fitted inside a square of that size. A thumbnail of
+ * {@code dir/name.jpg} is stored at {@code dir/thumbs/name_{size}.jpg}, so the thumbnails
+ * are not listed with the originals. A view is given the smallest thumbnail that still
+ * covers it, or the original if none does.</p>
+ *
+ * <p>There is no separate 1080 variant: the original is already capped by the upload
+ * pipeline at 1080 pixels wide for posters and 512 for profile pictures, so it serves as
+ * the largest size. The 512 thumbnail sits between 256 and that capped original, for
+ * views too large for 256 that do not need the full poster.</p>
+ */
+public final class ImageVariants {
+
+    /** Sizes of the thumbnails, smallest first. */
+    public static final int[] SIZES = {128, 256, 512};
+    /** Size passed for the original image. */
+    public static final int ORIGINAL = 0;
+
+    private ImageVariants() {
+    }
+
+    /**
+     * Returns the path of a thumbnail of an image.
+     *
+     * @param path The path of the original image.
+     * @param size One of {@link #SIZES}, or {@link #ORIGINAL}.
+     * @return The path of the thumbnail, or the path itself for {@link #ORIGINAL}.
+     */
+    public static String path(String path, int size) {
+        if (size == ORIGINAL) {
+            return path;
+        }
+        int slash = path.lastIndexOf('/');
+        String dir = path.substring(0, slash + 1);
+        String file = path.substring(slash + 1);
+        int dot = file.lastIndexOf('.');
+        String base = dot > 0 ? file.substring(0, dot) : file;
+        String extension = dot > 0 ? file.substring(dot) : "";
+        return dir + "thumbs/" + base + "_" + size + extension;
+    }
+
+    /**
+     * Picks the size of image to load into a view.
+     *
+     * @param width  The width of the view in pixels, or 0 or less if it is not known.
+     * @param height The height of the view in pixels, or 0 or less if it is not known.
+     * @return The smallest of {@link #SIZES} at least as large as both sides of the view,
+     *         or {@link #ORIGINAL} if none is or the view size is not known.
+     */
+    public static int pick(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return ORIGINAL;
+        }
+        int needed = Math.max(width, height);
+        for (int size : SIZES) {
+            if (size >= needed) {
+                return size;
+            }
+        }
+        return ORIGINAL;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.projectv2.core;
+
+import java.util.Locale;
+
+/**
+ * Initials works out the letters shown on a generated profile picture.
+ *
+ * <p>The initials are the first letter of each of the first two words of a name, in upper
+ * case, independent of the device locale. They are also part of the key generated
+ * pictures are cached under, so users who share initials share one picture.</p>
+ */
+public final class Initials {
+
+    private Initials() {
+    }
+
+    /**
+     * Returns the initials of a name.
+     *
+     * @param name The name, which may be null.
+     * @return Up to two upper case initials, or an empty string if the name has no words.
+     */
+    public static String of(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder initials = new StringBuilder(2);
+        for (String part : name.trim().split("\\s+")) {
+            if (!part.isEmpty() && initials.length() < 2) {
+                initials.appendCodePoint(part.codePointAt(0));
+            }
+        }
+        return initials.toString().toUpperCase(Locale.ROOT);
+    }
+}
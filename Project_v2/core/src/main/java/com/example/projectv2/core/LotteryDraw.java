@@ -0,0 +1,97 @@
+package com.example.projectv2.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * LotteryDraw picks winners from a pool of entrants with a seeded, reproducible selection.
+ *
+ * <p>The selection is a partial Fisher-Yates that only records the positions it has
+ * swapped, so drawing k winners takes O(k) time and memory no matter how large the pool
+ * is. Randomness comes from {@link Random}, whose algorithm is fixed by the Java
+ * specification, so the same seed and the same pool always produce the same winners on
+ * any JVM or Android device. A draw can be audited from its seed and the
+ * {@link #poolHash(List)} of the pool it was made from.</p>
+ */
+public final class LotteryDraw {
+
+    private LotteryDraw() {
+    }
+
+    /**
+     * Draws up to k distinct entries from the pool.
+     *
+     * @param pool The entrants to draw from, in a stable order.
+     * @param k    The number of winners to draw.
+     * @param seed The seed that identifies this draw.
+     * @param <T>  The type of the entries.
+     * @return The winners in draw order.
+     */
+    public static <T> List<T> draw(List<T> pool, int k, long seed) {
+        int[] indices = drawIndices(pool.size(), k, seed);
+        List<T> winners = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            winners.add(pool.get(index));
+        }
+        return winners;
+    }
+
+    /**
+     * Returns a SHA-256 hash of a pool in its draw order, recorded with each draw so the
+     * pool a draw was made from can be checked later.
+     *
+     * @param pool The entrants drawn from, in the order they were drawn from.
+     * @return The hash as lower case hexadecimal.
+     */
+    public static String poolHash(List<String> pool) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (String entry : pool) {
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            // Entries are IDs without line breaks, so a newline separates them unambiguously
+            digest.update((byte) '\n');
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Draws up to k distinct indices in the range [0, n).
+     *
+     * @param n    The size of the pool.
+     * @param k    The number of indices to draw.
+     * @param seed The seed that identifies this draw.
+     * @return The drawn indices in draw order.
+     */
+    public static int[] drawIndices(int n, int k, long seed) {
+        if (n < 0 || k < 0) {
+            throw new IllegalArgumentException("Pool size and winner count must not be negative");
+        }
+        int count = Math.min(k, n);
+        Random random = new Random(seed);
+        Map<Integer, Integer> swapped = new HashMap<>(count * 2);
+        int[] indices = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(n - i);
+            Integer valueAtJ = swapped.get(j);
+            Integer valueAtI = swapped.get(i);
+            swapped.put(j, valueAtI != null ? valueAtI : i);
+            indices[i] = valueAtJ != null ? valueAtJ : j;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Plain Java logic shared by the app and its benchmarks: date handling, counter shard
+ * capacities, image sizing and variants, lottery draws and initials.
+ *
+ * <p>The package has no Android dependencies, so it is unit tested and benchmarked on the
+ * JVM.</p>
+ */
+package com.example.projectv2.core;
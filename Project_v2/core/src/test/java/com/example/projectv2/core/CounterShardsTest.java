@@ -0,0 +1,60 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link CounterShards} class.
+ *
+ * <p>This class tests that a capacity is split evenly across shards without losing or
+ * adding any slots, and that probing wraps around the shards.</p>
+ */
+public class CounterShardsTest {
+
+    /**
+     * Tests that the slices of a capacity add up to it and differ by at most one.
+     */
+    @Test
+    public void testSlicesAddUpToCapacity() {
+        for (long capacity : new long[] {0, 1, 9, 10, 11, 1234}) {
+            long total = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int shard = 0; shard < 10; shard++) {
+                long slice = CounterShards.slice(capacity, 10, shard);
+                total += slice;
+                min = Math.min(min, slice);
+                max = Math.max(max, slice);
+            }
+            assertEquals(capacity, total);
+            assertTrue(max - min <= 1);
+        }
+    }
+
+    /**
+     * Tests that a capacity smaller than the number of shards leaves some shards empty.
+     */
+    @Test
+    public void testSmallCapacity() {
+        assertEquals(1, CounterShards.slice(3, 10, 2));
+        assertEquals(0, CounterShards.slice(3, 10, 3));
+    }
+
+    /**
+     * Tests that out of range arguments are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShard() {
+        CounterShards.slice(10, 10, 10);
+    }
+
+    /**
+     * Tests that probing moves to the next shard and wraps back to the first.
+     */
+    @Test
+    public void testNextWraps() {
+        assertEquals(1, CounterShards.next(0, 10));
+        assertEquals(0, CounterShards.next(9, 10));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link DateCodec} class.
+ *
+ * <p>This class tests that dates round-trip through the stored formats, that invalid
+ * dates are rejected, and that deadlines pass at the end of their day.</p>
+ */
+public class DateCodecTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    /**
+     * Tests that an event date parses to its epoch day and formats back to the same text.
+     */
+    @Test
+    public void testEpochDayRoundTrip() {
+        long day = DateCodec.parseEpochDay("01-07-2024");
+        assertEquals(LocalDate.of(2024, 7, 1).toEpochDay(), day);
+        assertEquals("01-07-2024", DateCodec.formatEpochDay(day));
+    }
+
+    /**
+     * Tests that malformed and impossible dates are reported as invalid.
+     */
+    @Test
+    public void testInvalidDates() {
+        assertEquals(DateCodec.INVALID, DateCodec.parseEpochDay(null));
+        assertEquals(DateCodec.INVALID, DateCodec.parseEpochDay("2024-07-01"));
+        assertEquals(DateCodec.INVALID, DateCodec.parseEpochDay("31-02-2024"));
+        assertEquals(DateCodec.INVALID, DateCodec.parseDateTimeMillis("not a time", UTC));
+    }
+
+    /**
+     * Tests that a notification time round-trips through the stored format.
+     */
+    @Test
+    public void testDateTimeRoundTrip() {
+        long millis = DateCodec.parseDateTimeMillis("15-07-2024 13:45:10", UTC);
+        assertEquals("15-07-2024 13:45:10", DateCodec.formatDateTime(millis, UTC));
+    }
+
+    /**
+     * Tests that the start of a day follows the time zone offset and days before 1970.
+     */
+    @Test
+    public void testStartOfDay() {
+        assertEquals(0, DateCodec.startOfDayMillis(0, UTC));
+        assertEquals(-86_400_000L, DateCodec.startOfDayMillis(-1, UTC));
+        assertEquals(5 * 3_600_000L, DateCodec.startOfDayMillis(0, ZoneOffset.ofHours(-5)));
+    }
+
+    /**
+     * Tests that a deadline stays open for the whole of its day, until the start of the
+     * next day, the moment stored as its {@code deadlineAt}.
+     */
+    @Test
+    public void testDeadlineEndsAtNextMidnight() {
+        long deadline = DateCodec.parseEpochDay("01-07-2024");
+        long deadlineAt = DateCodec.startOfDayMillis(deadline + 1, UTC);
+        assertEquals("01-07-2024 23:59:59", DateCodec.formatDateTime(deadlineAt - 1000, UTC));
+        assertEquals("02-07-2024 00:00:00", DateCodec.formatDateTime(deadlineAt, UTC));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link ImageSizing} class.
+ *
+ * <p>This class tests that images are fitted inside their bounds without being stretched
+ * or scaled up, and that the decode subsample never drops below the fitted size.</p>
+ */
+public class ImageSizingTest {
+
+    /**
+     * Tests that a large photo is fitted to the width of a poster, keeping its aspect ratio.
+     */
+    @Test
+    public void testFitKeepsAspectRatio() {
+        assertArrayEquals(new int[] {1080, 810}, ImageSizing.fit(4032, 3024, 1080, 1920));
+        assertArrayEquals(new int[] {512, 384}, ImageSizing.fit(4032, 3024, 512, 512));
+    }
+
+    /**
+     * Tests that an image already inside its bounds is left at its own size.
+     */
+    @Test
+    public void testFitNeverScalesUp() {
+        assertArrayEquals(new int[] {300, 200}, ImageSizing.fit(300, 200, 1080, 1920));
+    }
+
+    /**
+     * Tests that the subsample is the largest power of two above the fitted size.
+     */
+    @Test
+    public void testSampleSize() {
+        // 4032 / 2 = 2016 and 4032 / 4 = 1008, which is narrower than 1080
+        assertEquals(2, ImageSizing.sampleSize(4032, 3024, 1080, 1920));
+        assertEquals(4, ImageSizing.sampleSize(4032, 3024, 512, 512));
+        assertEquals(1, ImageSizing.sampleSize(300, 200, 1080, 1920));
+    }
+
+    /**
+     * Tests that sizes that are not positive are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        ImageSizing.fit(0, 100, 512, 512);
+    }
+}
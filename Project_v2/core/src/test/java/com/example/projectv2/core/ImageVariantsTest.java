@@ -0,0 +1,47 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link ImageVariants} class.
+ *
+ * <p>This class tests the path scheme of thumbnails and that a view is given the smallest
+ * thumbnail that covers it.</p>
+ */
+public class ImageVariantsTest {
+
+    /**
+     * Tests that thumbnails are stored in a thumbs folder beside the original.
+     */
+    @Test
+    public void testPath() {
+        assertEquals("event_posters/thumbs/event_posters_Gala_128.jpg",
+                ImageVariants.path("event_posters/event_posters_Gala.jpg", 128));
+        assertEquals("/profile_pictures/thumbs/user_abc_256.jpg",
+                ImageVariants.path("/profile_pictures/user_abc.jpg", 256));
+        assertEquals("thumbs/poster_128", ImageVariants.path("poster", 128));
+    }
+
+    /**
+     * Tests that the original size keeps the original path.
+     */
+    @Test
+    public void testOriginalPath() {
+        assertEquals("event_posters/a.jpg", ImageVariants.path("event_posters/a.jpg", ImageVariants.ORIGINAL));
+    }
+
+    /**
+     * Tests that the smallest covering thumbnail is picked, and the original for large or
+     * unknown view sizes.
+     */
+    @Test
+    public void testPick() {
+        assertEquals(128, ImageVariants.pick(96, 128));
+        assertEquals(256, ImageVariants.pick(200, 129));
+        assertEquals(512, ImageVariants.pick(400, 300));
+        assertEquals(ImageVariants.ORIGINAL, ImageVariants.pick(1080, 600));
+        assertEquals(ImageVariants.ORIGINAL, ImageVariants.pick(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link Initials} class.
+ *
+ * <p>This class tests that the initials of a name are its first two words' first letters,
+ * and that missing or blank names give no initials.</p>
+ */
+public class InitialsTest {
+
+    /**
+     * Tests that the first letters of the first two words are used, in upper case.
+     */
+    @Test
+    public void testTwoWords() {
+        assertEquals("JD", Initials.of("john doe"));
+        assertEquals("AB", Initials.of("Ann Beth Carter"));
+    }
+
+    /**
+     * Tests that extra spaces between and around words are ignored.
+     */
+    @Test
+    public void testExtraSpaces() {
+        assertEquals("JD", Initials.of("  John   Doe "));
+        assertEquals("J", Initials.of("John"));
+    }
+
+    /**
+     * Tests that a missing or blank name has no initials.
+     */
+    @Test
+    public void testNoName() {
+        assertEquals("", Initials.of(null));
+        assertEquals("", Initials.of("   "));
+    }
+
+    /**
+     * Tests that the upper case initials do not depend on the default locale, where a
+     * Turkish locale would turn "i" into a dotted capital I.
+     */
+    @Test
+    public void testLocaleIndependent() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("ID", Initials.of("ian doe"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
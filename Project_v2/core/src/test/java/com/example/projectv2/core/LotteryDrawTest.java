@@ -0,0 +1,92 @@
+package com.example.projectv2.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@link LotteryDraw} class.
+ *
+ * <p>This class tests that draws are reproducible for a given seed and that the
+ * winners are always distinct members of the pool.</p>
+ */
+public class LotteryDrawTest {
+
+    private static List<String> pool(int size) {
+        List<String> pool = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pool.add("user" + i);
+        }
+        return pool;
+    }
+
+    /**
+     * Tests that the same seed and pool always produce the same winners.
+     */
+    @Test
+    public void testSameSeedSameWinners() {
+        List<String> pool = pool(1000);
+        assertEquals(LotteryDraw.draw(pool, 25, 42L), LotteryDraw.draw(pool, 25, 42L));
+    }
+
+    /**
+     * Tests that different seeds produce different winners.
+     */
+    @Test
+    public void testDifferentSeedDifferentWinners() {
+        List<String> pool = pool(1000);
+        assertNotEquals(LotteryDraw.draw(pool, 25, 1L), LotteryDraw.draw(pool, 25, 2L));
+    }
+
+    /**
+     * Tests that winners are distinct and taken from the pool.
+     */
+    @Test
+    public void testWinnersAreDistinctPoolMembers() {
+        List<String> pool = pool(500);
+        List<String> winners = LotteryDraw.draw(pool, 100, 7L);
+        assertEquals(100, winners.size());
+        assertEquals(100, new HashSet<>(winners).size());
+        assertTrue(pool.containsAll(winners));
+    }
+
+    /**
+     * Tests that asking for more winners than entrants returns the whole pool.
+     */
+    @Test
+    public void testDrawLargerThanPool() {
+        List<String> pool = pool(10);
+        List<String> winners = LotteryDraw.draw(pool, 50, 3L);
+        assertEquals(10, winners.size());
+        assertEquals(new HashSet<>(pool), new HashSet<>(winners));
+    }
+
+    /**
+     * Tests that an empty pool or a zero winner count produces no winners.
+     */
+    @Test
+    public void testEmptyDraw() {
+        assertTrue(LotteryDraw.draw(pool(0), 5, 1L).isEmpty());
+        assertTrue(LotteryDraw.draw(pool(10), 0, 1L).isEmpty());
+    }
+
+    /**
+     * Tests that the pool hash depends on the entries and their order, and matches the
+     * known SHA-256 of an empty pool.
+     */
+    @Test
+    public void testPoolHash() {
+        List<String> pool = pool(3);
+        List<String> reversed = new ArrayList<>(pool);
+        Collections.reverse(reversed);
+        assertEquals(LotteryDraw.poolHash(pool), LotteryDraw.poolHash(new ArrayList<>(pool)));
+        assertNotEquals(LotteryDraw.poolHash(pool), LotteryDraw.poolHash(reversed));
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                LotteryDraw.poolHash(new ArrayList<>()));
+    }
+}
@@ -5,14 +5,40 @@ const cors = require('cors');
 
 require('dotenv').config();
 
-// Initialize Firebase Admin SDK using environment variables
-admin.initializeApp({
-    credential: admin.credential.cert({
-        projectId: process.env.FIREBASE_PROJECT_ID,
-        privateKey: process.env.FIREBASE_PRIVATE_KEY.replace(/\\n/g, '\n'), // Handle escaped newlines
-        clientEmail: process.env.FIREBASE_CLIENT_EMAIL,
-    }),
-});
+// FCM accepts at most 500 tokens in a single multicast message
+const MAX_MULTICAST_TOKENS = 500;
+
+// Set MESSAGING_STUB=true to run locally without Firebase credentials.
+// Messages are logged and reported as delivered instead of being sent.
+const useStub = process.env.MESSAGING_STUB === 'true';
+
+const stubMessaging = {
+    send: (message) => {
+        console.log('[stub] send:', JSON.stringify(message));
+        return Promise.resolve('stub-message-id');
+    },
+    sendEachForMulticast: (message) => {
+        console.log(`[stub] sendEachForMulticast to ${message.tokens.length} tokens:`, JSON.stringify(message.notification));
+        return Promise.resolve({
+            successCount: message.tokens.length,
+            failureCount: 0,
+            responses: message.tokens.map(() => ({ success: true })),
+        });
+    },
+};
+
+if (!useStub) {
+    // Initialize Firebase Admin SDK using environment variables
+    admin.initializeApp({
+        credential: admin.credential.cert({
+            projectId: process.env.FIREBASE_PROJECT_ID,
+            privateKey: process.env.FIREBASE_PRIVATE_KEY.replace(/\\n/g, '\n'), // Handle escaped newlines
+            clientEmail: process.env.FIREBASE_CLIENT_EMAIL,
+        }),
+    });
+}
+
+const messaging = () => (useStub ? stubMessaging : admin.messaging());
 
 const app = express();
 app.use(bodyParser.json());
@@ -39,7 +65,7 @@ app.post('/sendNotification', (req, res) => {
         token: token,
     };
 
-    admin.messaging().send(message)
+    messaging().send(message)
         .then((response) => {
             console.log('Successfully sent message:', response);
             res.status(200).send({ success: true, response });
@@ -50,6 +76,45 @@ app.post('/sendNotification', (req, res) => {
         });
 });
 
+// Endpoint to send one notification to many devices
+app.post('/sendMulticast', (req, res) => {
+    const { tokens, eventID, title, body } = req.body;
+
+    if (!Array.isArray(tokens) || tokens.length === 0) {
+        return res.status(400).send({ success: false, error: 'tokens must be a non-empty array' });
+    }
+    if (tokens.length > MAX_MULTICAST_TOKENS) {
+        return res.status(400).send({ success: false, error: `at most ${MAX_MULTICAST_TOKENS} tokens per request` });
+    }
+
+    const message = {
+        data: {
+            eventID: eventID,
+        },
+
+        notification: {
+            title: title || "Notification",
+            body: body || "No body provided",
+        },
+
+        tokens: tokens,
+    };
+
+    messaging().sendEachForMulticast(message)
+        .then((response) => {
+            console.log(`Multicast sent: ${response.successCount} succeeded, ${response.failureCount} failed`);
+            res.status(200).send({
+                success: true,
+                successCount: response.successCount,
+                failureCount: response.failureCount,
+            });
+        })
+        .catch((error) => {
+            console.error('Error sending multicast:', error);
+            res.status(500).send({ success: false, error });
+        });
+});
+
 const PORT = process.env.PORT || 3000;
 app.listen(PORT, () => {
     console.log(`Server is running on http://localhost:${PORT}`);